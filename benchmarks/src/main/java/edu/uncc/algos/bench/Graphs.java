@@ -0,0 +1,119 @@
+package edu.uncc.algos.bench;
+
+import edu.uncc.algos.graph.weighted.CsrGraph;
+import edu.uncc.algos.util.GraphGenerator;
+import edu.uncc.algos.util.TopologyUtil;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Graphs the benchmarks run on. A graph is named by a benchmark parameter:
+ * <p>
+ * resources/k - the k-th graph in resources, same as Main option k, read from the working directory
+ * <p>
+ * synthetic/e - a seeded G(n, p) with about e edges over e / 8 vertices, integer weights 1 - 10
+ *
+ * @author venky
+ */
+public final class Graphs {
+    public static final long SEED = 0x5EEDL;
+
+    private static final int AVERAGE_DEGREE = 16;
+    private static final int MAX_WEIGHT = 10;
+
+    private Graphs() {
+    }
+
+    /**
+     * Builds the CSR snapshot of the named graph.
+     *
+     * @param name
+     *         resources/k or synthetic/e
+     *
+     * @return the snapshot
+     *
+     * @throws IOException
+     *         if a resources graph can't be read
+     */
+    public static CsrGraph<Integer> load(String name) throws IOException {
+        if ( name.startsWith ("resources/") ) {
+            return TopologyUtil.loadCsrGraph (Integer.parseInt (name.substring ("resources/".length ())));
+        }
+        if ( name.startsWith ("synthetic/") ) {
+            return synthetic (Long.parseLong (name.substring ("synthetic/".length ())), SEED);
+        }
+        throw new IllegalArgumentException ("Unknown graph " + name);
+    }
+
+    /**
+     * Seeded G(n, p) with about edges edges over edges / 8 vertices, integer weights 1 - 10.
+     * Runtime - O(e log e)
+     *
+     * @param edges
+     *         expected number of edges
+     * @param seed
+     *         random seed
+     *
+     * @return the snapshot
+     */
+    public static CsrGraph<Integer> synthetic(long edges, long seed) {
+        if ( edges < 1 || edges > Integer.MAX_VALUE / 2 ) {
+            throw new IllegalArgumentException ("Invalid edge count " + edges);
+        }
+        int n = ( int ) Math.max (2, edges * 2 / AVERAGE_DEGREE);
+        GraphGenerator generator = new GraphGenerator (seed);
+        generator.setMaxWeight (MAX_WEIGHT);
+        return generator.erdosRenyi (n, Math.min (1, edges / (( double ) n * (n - 1) / 2)));
+    }
+
+    /**
+     * The same graph with every weight 1, for the hop count engines.
+     * Runtime - O(v + e)
+     *
+     * @param graph
+     *         the graph
+     *
+     * @return a snapshot sharing the rows of graph
+     */
+    public static CsrGraph<Integer> unweighted(CsrGraph<Integer> graph) {
+        double[] weights = new double[graph.targets ().length];
+        Arrays.fill (weights, 1);
+        return CsrGraph.wrap (graph.offsets (), graph.targets (), weights, graph.edgesCount (), graph.vertices ());
+    }
+
+    /**
+     * Writes a snapshot as a node file and an edge file in the resources format.
+     *
+     * @param graph
+     *         the graph
+     * @param nodeFile
+     *         node file to write
+     * @param edgeFile
+     *         edge file to write
+     *
+     * @throws IOException
+     *         if a file can't be written
+     */
+    public static void write(CsrGraph<Integer> graph, Path nodeFile, Path edgeFile) throws IOException {
+        int[] offsets = graph.offsets ();
+        int[] targets = graph.targets ();
+        double[] weights = graph.weights ();
+        try ( BufferedWriter nodes = Files.newBufferedWriter (nodeFile);
+              BufferedWriter out = Files.newBufferedWriter (edgeFile) ) {
+            for ( int u = 0 ; u < graph.verticesCount () ; u++ ) {
+                nodes.write (Integer.toString (graph.label (u)));
+                nodes.newLine ();
+                for ( int i = offsets[u] ; i < offsets[u + 1] ; i++ ) {
+                    if ( targets[i] > u ) {
+                        out.write (graph.label (u) + " " + graph.label (targets[i]) + " " + (long) weights[i]);
+                        out.newLine ();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package edu.uncc.algos.bench;
+
+import edu.uncc.algos.graph.weighted.ConcurrentUndirectedGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Edge insertion into ConcurrentUndirectedGraph from many threads, run once per -t N for ingest scaling. Every
+ * iteration starts from a graph with all vertices and no edges.
+ *
+ * @author venky
+ */
+@BenchmarkMode (Mode.Throughput)
+@OutputTimeUnit (TimeUnit.MILLISECONDS)
+@Warmup (iterations = 3, time = 1)
+@Measurement (iterations = 5, time = 1)
+@Fork (1)
+public class IngestBenchmark {
+
+    @State (Scope.Benchmark)
+    public static class Shared {
+        @Param ( {"100000"})
+        public int vertices;
+
+        ConcurrentUndirectedGraph<Integer> graph;
+
+        @Setup (Level.Iteration)
+        public void setUp() {
+            this.graph = new ConcurrentUndirectedGraph<> ();
+            for ( int v = 0 ; v < this.vertices ; v++ ) {
+                this.graph.addVertex (v);
+            }
+        }
+    }
+
+    @State (Scope.Thread)
+    public static class Writer {
+        SplittableRandom random;
+
+        @Setup (Level.Iteration)
+        public void setUp() {
+            this.random = new SplittableRandom (Thread.currentThread ().getId ());
+        }
+    }
+
+    @Benchmark
+    public void addEdge(Shared shared, Writer writer) {
+        shared.graph.addEdge (writer.random.nextInt (shared.vertices), writer.random.nextInt (shared.vertices), 1);
+    }
+}
@@ -0,0 +1,88 @@
+package edu.uncc.algos.bench;
+
+import edu.uncc.algos.graph.weighted.CsrGraph;
+import edu.uncc.algos.graph.weighted.UndirectedGraph;
+import edu.uncc.algos.util.BinaryGraphFile;
+import edu.uncc.algos.util.EdgeListParser;
+import edu.uncc.algos.util.TopologyUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Graph loading: the Scanner loader behind Main, the parallel EdgeListParser and the memory-mapped binary format, on
+ * the same files. The files are written once per trial into a temporary directory.
+ *
+ * @author venky
+ */
+@State (Scope.Benchmark)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.MILLISECONDS)
+@Warmup (iterations = 3, time = 2)
+@Measurement (iterations = 5, time = 2)
+@Fork (1)
+public class LoadBenchmark {
+    @Param ( {"resources/2", "synthetic/1000", "synthetic/10000", "synthetic/100000", "synthetic/1000000"})
+    public String graph;
+
+    private Path directory;
+    private Path nodeFile;
+    private Path edgeFile;
+    private Path binaryFile;
+    private EdgeListParser parser;
+
+    @Setup (Level.Trial)
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory ("topology-bench");
+        this.nodeFile = this.directory.resolve ("nodes.txt");
+        this.edgeFile = this.directory.resolve ("edges.txt");
+        this.binaryFile = this.directory.resolve ("graph.csr");
+        CsrGraph<Integer> csr = Graphs.load (this.graph);
+        Graphs.write (csr, this.nodeFile, this.edgeFile);
+        BinaryGraphFile.write (csr, this.binaryFile);
+        this.parser = new EdgeListParser ();
+    }
+
+    @TearDown (Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists (this.nodeFile);
+        Files.deleteIfExists (this.edgeFile);
+        Files.deleteIfExists (this.binaryFile);
+        Files.deleteIfExists (this.directory);
+    }
+
+    @Benchmark
+    public UndirectedGraph<Integer> scanner() throws IOException {
+        return TopologyUtil.loadGraph (this.nodeFile.toFile (), this.edgeFile.toFile ());
+    }
+
+    @Benchmark
+    public CsrGraph<Integer> scannerThenFreeze() throws IOException {
+        return TopologyUtil.loadGraph (this.nodeFile.toFile (), this.edgeFile.toFile ()).freeze ();
+    }
+
+    @Benchmark
+    public CsrGraph<Integer> edgeListParser() throws IOException {
+        return this.parser.load (this.nodeFile, this.edgeFile);
+    }
+
+    @Benchmark
+    public CsrGraph<Integer> binaryFile() throws IOException {
+        return BinaryGraphFile.load (this.binaryFile);
+    }
+}
@@ -0,0 +1,82 @@
+package edu.uncc.algos.bench;
+
+import edu.uncc.algos.graph.weighted.CsrGraph;
+import edu.uncc.algos.topology.AllPairsPathLength;
+import edu.uncc.algos.topology.NetworkTopology;
+import edu.uncc.algos.topology.SsspMode;
+import edu.uncc.algos.topology.TopologyReport;
+import edu.uncc.algos.topology.TriangleCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exact all-pairs work: the characteristic path length and the full analyze() report. These run one search per
+ * vertex, so the synthetic graphs stop at 10^5 edges. Run with -p parallelism=1,2,4,8 for thread scaling.
+ * Mode BFS runs on the graph with every weight 1, see Graphs.unweighted.
+ *
+ * @author venky
+ */
+@State (Scope.Benchmark)
+@BenchmarkMode (Mode.SingleShotTime)
+@OutputTimeUnit (TimeUnit.MILLISECONDS)
+@Warmup (iterations = 2)
+@Measurement (iterations = 5)
+@Fork (1)
+public class PathLengthBenchmark {
+    @Param ( {"resources/1", "resources/2", "resources/3", "resources/4", "synthetic/1000", "synthetic/10000",
+            "synthetic/100000"})
+    public String graph;
+
+    @Param ( {"1", "4"})
+    public int parallelism;
+
+    @Param ( {"DIJKSTRA", "DIAL", "BFS"})
+    public SsspMode mode;
+
+    private CsrGraph<Integer> csr;
+    private ForkJoinPool pool;
+    private AllPairsPathLength pathLength;
+    private NetworkTopology topology;
+
+    @Setup (Level.Trial)
+    public void setUp() throws IOException {
+        this.csr = Graphs.load (this.graph);
+        if ( this.mode == SsspMode.BFS ) {
+            this.csr = Graphs.unweighted (this.csr);
+        }
+        this.pool = new ForkJoinPool (this.parallelism);
+        this.pathLength = new AllPairsPathLength (this.pool);
+        this.pathLength.setMode (this.mode);
+        this.topology = new NetworkTopology (this.pathLength, new TriangleCounter (this.pool));
+    }
+
+    @TearDown (Level.Trial)
+    public void tearDown() {
+        this.pool.shutdown ();
+    }
+
+    @Benchmark
+    public double characteristicPathLength() {
+        return this.pathLength.characteristicPathLength (this.csr);
+    }
+
+    @Benchmark
+    public TopologyReport analyze() {
+        return this.topology.analyze (this.csr);
+    }
+}
@@ -0,0 +1,128 @@
+package edu.uncc.algos.bench;
+
+import edu.uncc.algos.graph.weighted.CsrGraph;
+import edu.uncc.algos.topology.Estimate;
+import edu.uncc.algos.topology.HyperAnf;
+import edu.uncc.algos.topology.NeighbourhoodFunction;
+import edu.uncc.algos.topology.NetworkTopology;
+import edu.uncc.algos.topology.PowerLawFit;
+import edu.uncc.algos.topology.PowerLawFitter;
+import edu.uncc.algos.topology.SampledPathLength;
+import edu.uncc.algos.topology.TriangleCounter;
+import edu.uncc.algos.topology.TriangleCounts;
+import edu.uncc.algos.topology.WedgeSampler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The topology engines that scale to large graphs: exact triangle counting, wedge sampling, sampled path length,
+ * HyperANF and the power law fit, and the degree, strength and scale free properties of NetworkTopology on their own.
+ * The property methods print their results, System.out is discarded while they run so the terminal isn't measured.
+ * parallelism sizes the pool of the parallel engines, run with -p parallelism=1,2,4,8 for thread scaling.
+ *
+ * @author venky
+ */
+@State (Scope.Benchmark)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.MILLISECONDS)
+@Warmup (iterations = 2, time = 5)
+@Measurement (iterations = 5, time = 5)
+@Fork (value = 1, jvmArgsAppend = "-Xmx4g")
+public class TopologyBenchmark {
+    @Param ( {"resources/2", "synthetic/1000", "synthetic/10000", "synthetic/100000", "synthetic/1000000",
+            "synthetic/10000000"})
+    public String graph;
+
+    @Param ( {"1", "4"})
+    public int parallelism;
+
+    private CsrGraph<Integer> csr;
+    private ForkJoinPool pool;
+    private TriangleCounter sequentialCounter;
+    private TriangleCounter parallelCounter;
+    private SampledPathLength sampledPathLength;
+    private PowerLawFitter powerLawFitter;
+    private NetworkTopology topology;
+    private PrintStream out;
+
+    @Setup (Level.Trial)
+    public void setUp() throws IOException {
+        this.csr = Graphs.load (this.graph);
+        this.pool = new ForkJoinPool (this.parallelism);
+        this.sequentialCounter = new TriangleCounter ();
+        this.parallelCounter = new TriangleCounter (this.pool);
+        this.sampledPathLength = new SampledPathLength (this.pool, Graphs.SEED);
+        this.powerLawFitter = new PowerLawFitter (this.pool);
+        this.topology = new NetworkTopology (this.pool);
+        this.out = System.out;
+        System.setOut (new PrintStream (OutputStream.nullOutputStream ()));
+    }
+
+    @TearDown (Level.Trial)
+    public void tearDown() {
+        System.setOut (this.out);
+        this.pool.shutdown ();
+    }
+
+    @Benchmark
+    public void degreeDistribution() {
+        this.topology.degreeDistribution (this.csr);
+    }
+
+    @Benchmark
+    public void strengthDistribution() {
+        this.topology.strengthDistribution (this.csr);
+    }
+
+    @Benchmark
+    public void scaleFreeNetwork() {
+        this.topology.scaleFreeNetwork (this.csr);
+    }
+
+    @Benchmark
+    public PowerLawFit powerLawFit() {
+        return this.powerLawFitter.fit (this.csr);
+    }
+
+    @Benchmark
+    public TriangleCounts trianglesSequential() {
+        return this.sequentialCounter.count (this.csr);
+    }
+
+    @Benchmark
+    public TriangleCounts trianglesParallel() {
+        return this.parallelCounter.count (this.csr);
+    }
+
+    @Benchmark
+    public Estimate wedgeSampling() {
+        return new WedgeSampler (Graphs.SEED).averageClustering (this.csr, 0.01, 0.95);
+    }
+
+    @Benchmark
+    public Estimate sampledPathLength() {
+        return this.sampledPathLength.estimate (this.csr, SampledPathLength.Sampling.STRATIFIED, 256, 0.01, 0.95);
+    }
+
+    @Benchmark
+    public NeighbourhoodFunction hyperAnf() {
+        return new HyperAnf (HyperAnf.DEFAULT_LOG2M, Graphs.SEED).run (this.csr, 64);
+    }
+}
@@ -0,0 +1,107 @@
+package edu.uncc.algos.bench;
+
+import edu.uncc.algos.graph.weighted.CsrGraph;
+import edu.uncc.algos.graph.weighted.UndirectedGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-vertex queries over every vertex: degree, strength and the local clustering coefficient, on the hash based
+ * UndirectedGraph and on its CSR snapshot.
+ *
+ * @author venky
+ */
+@State (Scope.Benchmark)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.MILLISECONDS)
+@Warmup (iterations = 3, time = 2)
+@Measurement (iterations = 5, time = 2)
+@Fork (1)
+public class VertexBenchmark {
+    @Param ( {"resources/1", "resources/2", "resources/3", "resources/4", "synthetic/1000", "synthetic/10000",
+            "synthetic/100000", "synthetic/1000000"})
+    public String graph;
+
+    private CsrGraph<Integer> csr;
+    private UndirectedGraph<Integer> hashGraph;
+    private List<Integer> vertices;
+
+    @Setup (Level.Trial)
+    public void setUp() throws IOException {
+        this.csr = Graphs.load (this.graph);
+        this.hashGraph = new UndirectedGraph<> (this.csr.vertices ());
+        int[] offsets = this.csr.offsets ();
+        int[] targets = this.csr.targets ();
+        double[] weights = this.csr.weights ();
+        for ( int u = 0 ; u < this.csr.verticesCount () ; u++ ) {
+            for ( int i = offsets[u] ; i < offsets[u + 1] ; i++ ) {
+                if ( targets[i] > u ) {
+                    this.hashGraph.addEdge (this.csr.label (u), this.csr.label (targets[i]), weights[i]);
+                }
+            }
+        }
+        this.vertices = this.hashGraph.vertices ();
+    }
+
+    @Benchmark
+    public void degree(Blackhole bh) {
+        for ( Integer v : this.vertices ) {
+            bh.consume (this.hashGraph.degree (v));
+        }
+    }
+
+    @Benchmark
+    public void degreeCsr(Blackhole bh) {
+        for ( int v = 0 ; v < this.csr.verticesCount () ; v++ ) {
+            bh.consume (this.csr.degree (v));
+        }
+    }
+
+    @Benchmark
+    public void strength(Blackhole bh) {
+        for ( Integer v : this.vertices ) {
+            bh.consume (this.hashGraph.strength (v));
+        }
+    }
+
+    @Benchmark
+    public void strengthCsr(Blackhole bh) {
+        for ( int v = 0 ; v < this.csr.verticesCount () ; v++ ) {
+            bh.consume (this.csr.strength (v));
+        }
+    }
+
+    @Benchmark
+    public void cCoefficient(Blackhole bh) {
+        for ( Integer v : this.vertices ) {
+            bh.consume (this.hashGraph.cCoefficient (v));
+        }
+    }
+
+    @Benchmark
+    public void cCoefficientCsr(Blackhole bh) {
+        for ( int v = 0 ; v < this.csr.verticesCount () ; v++ ) {
+            bh.consume (this.csr.cCoefficient (v));
+        }
+    }
+
+    @Benchmark
+    public CsrGraph<Integer> freeze() {
+        return this.hashGraph.freeze ();
+    }
+}
@@ -0,0 +1,67 @@
+package edu.uncc.algos.topology;
+
+import edu.uncc.algos.bench.Graphs;
+import edu.uncc.algos.graph.weighted.CsrGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-source shortest paths, Dijkstra against Dial and BFS (on unit weights), from a fixed sequence of random
+ * sources. Lives in the topology package because the searches are package-private.
+ *
+ * @author venky
+ */
+@State (Scope.Thread)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.MICROSECONDS)
+@Warmup (iterations = 3, time = 2)
+@Measurement (iterations = 5, time = 2)
+@Fork (value = 1, jvmArgsAppend = "-Xmx4g")
+public class ShortestPathBenchmark {
+    @Param ( {"resources/2", "synthetic/1000", "synthetic/10000", "synthetic/100000", "synthetic/1000000",
+            "synthetic/10000000"})
+    public String graph;
+
+    @Param ( {"DIJKSTRA", "DIAL", "BFS"})
+    public SsspMode mode;
+
+    private CsrGraph<Integer> csr;
+    private ShortestPathSearch search;
+    private int[] sources;
+    private int next;
+
+    @Setup (Level.Trial)
+    public void setUp() throws IOException {
+        this.csr = Graphs.load (this.graph);
+        if ( this.mode == SsspMode.BFS ) {
+            this.csr = Graphs.unweighted (this.csr);
+        }
+        this.search = this.mode.newSearch (this.csr);
+        SplittableRandom random = new SplittableRandom (1);
+        this.sources = new int[1024];
+        for ( int i = 0 ; i < this.sources.length ; i++ ) {
+            this.sources[i] = random.nextInt (this.csr.verticesCount ());
+        }
+    }
+
+    @Benchmark
+    public double[] distances() {
+        int source = this.sources[this.next];
+        this.next = (this.next + 1) % this.sources.length;
+        return this.search.distances (source);
+    }
+}
@@ -0,0 +1,265 @@
+package edu.uncc.algos;
+
+import edu.uncc.algos.topology.BatchAnalyzer;
+import edu.uncc.algos.topology.DistributionCharts;
+import edu.uncc.algos.util.ChartRenderer;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Non-interactive batch mode: analyses many graphs concurrently and writes one CSV row or JSON object per graph, see
+ * BatchAnalyzer. Reads nothing from System.in, so it can run from a scheduled job.
+ * Exit status 0 when every graph was analysed, 1 when some failed, 2 for invalid arguments.
+ *
+ * @author venky
+ */
+public class BatchMain {
+    private static final String USAGE = String.join ("\n",
+            "Usage: java edu.uncc.algos.BatchMain [options] (--dir DIR | --list FILE | --graph NODES EDGES)...",
+            "Graphs",
+            "  --dir DIR              every GraphNodes*/GraphEdges* file pair in DIR",
+            "  --list FILE            one \"nodeFile edgeFile [name]\" per line, relative to FILE",
+            "  --graph NODES EDGES    a single node / edge file pair",
+            "Options",
+            "  --properties LIST      comma separated, of degree, strength, clustering, components, pathlength,",
+            "                         scalefree (default all)",
+            "  --threads N            worker threads (default " + Runtime.getRuntime ().availableProcessors () + ")",
+            "  --graphs N             most graphs loaded at the same time (default the number of threads)",
+            "  --memory MB            heap the loaded graphs may take together (default 3/4 of the max heap)",
+            "  --format csv|json      output format (default csv)",
+            "  --output FILE          output file (default standard output)",
+            "  --charts DIR           also write degree, strength and clustering charts of every graph to DIR",
+            "  --chart-format png|svg chart format (default png)");
+
+    public static void main(String[] args) {
+        System.exit (run (args));
+    }
+
+    /**
+     * Runs a batch.
+     *
+     * @param args
+     *         command line arguments, see USAGE
+     *
+     * @return the exit status
+     */
+    static int run(String[] args) {
+        List<BatchAnalyzer.GraphFiles> graphs = new ArrayList<> ();
+        Set<BatchAnalyzer.Property> properties = EnumSet.allOf (BatchAnalyzer.Property.class);
+        int threads = Runtime.getRuntime ().availableProcessors ();
+        int maxGraphs = -1;
+        long memory = Runtime.getRuntime ().maxMemory () / 4 * 3;
+        boolean json = false;
+        Path output = null, chartDirectory = null;
+        ChartRenderer.Format chartFormat = ChartRenderer.Format.PNG;
+        try {
+            for ( int i = 0 ; i < args.length ; i++ ) {
+                switch ( args[i] ) {
+                    case "--dir":
+                        graphs.addAll (BatchAnalyzer.scan (Paths.get (value (args, ++i))));
+                        break;
+                    case "--list":
+                        graphs.addAll (BatchAnalyzer.readList (Paths.get (value (args, ++i))));
+                        break;
+                    case "--graph":
+                        Path nodeFile = Paths.get (value (args, ++i));
+                        Path edgeFile = Paths.get (value (args, ++i));
+                        graphs.add (new BatchAnalyzer.GraphFiles (BatchAnalyzer.graphName (nodeFile), nodeFile,
+                                edgeFile));
+                        break;
+                    case "--properties":
+                        properties = properties (value (args, ++i));
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt (value (args, ++i));
+                        break;
+                    case "--graphs":
+                        maxGraphs = Integer.parseInt (value (args, ++i));
+                        break;
+                    case "--memory":
+                        memory = Long.parseLong (value (args, ++i)) << 20;
+                        break;
+                    case "--format":
+                        String format = value (args, ++i);
+                        if ( !format.equals ("csv") && !format.equals ("json") ) {
+                            throw new IllegalArgumentException ("Unknown format " + format);
+                        }
+                        json = format.equals ("json");
+                        break;
+                    case "--output":
+                        output = Paths.get (value (args, ++i));
+                        break;
+                    case "--charts":
+                        chartDirectory = Paths.get (value (args, ++i));
+                        break;
+                    case "--chart-format":
+                        chartFormat = ChartRenderer.Format.valueOf (value (args, ++i).toUpperCase (Locale.ROOT));
+                        break;
+                    case "--help":
+                        System.out.println (USAGE);
+                        return 0;
+                    default:
+                        throw new IllegalArgumentException ("Unknown argument " + args[i]);
+                }
+            }
+            if ( graphs.isEmpty () ) {
+                throw new IllegalArgumentException ("No graphs to analyse");
+            }
+            if ( threads < 1 ) {
+                throw new IllegalArgumentException ("Threads must be positive");
+            }
+            if ( chartDirectory != null ) {
+                Files.createDirectories (chartDirectory);
+            }
+        } catch ( IllegalArgumentException | IOException e ) {
+            System.err.println (e.getMessage ());
+            System.err.println (USAGE);
+            return 2;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool (threads);
+        try ( Writer writer = output == null
+                ? new BufferedWriter (new OutputStreamWriter (System.out, StandardCharsets.UTF_8))
+                : Files.newBufferedWriter (output, StandardCharsets.UTF_8) ) {
+            BatchAnalyzer analyzer = new BatchAnalyzer (pool, properties, maxGraphs < 0 ? threads : maxGraphs,
+                    memory);
+            if ( chartDirectory != null ) {
+                analyzer.setCharts (new DistributionCharts (pool, new ChartRenderer (), chartFormat), chartDirectory);
+            }
+            ResultWriter results = new ResultWriter (writer, analyzer.columns (), json);
+            long start = System.nanoTime ();
+            int failed = analyzer.run (graphs, results);
+            results.finish ();
+            System.err.println ("Analysed " + graphs.size () + " graphs, " + failed + " failed, in "
+                    + (System.nanoTime () - start) / 1_000_000 + " ms");
+            return failed == 0 ? 0 : 1;
+        } catch ( IllegalArgumentException e ) {
+            System.err.println (e.getMessage ());
+            return 2;
+        } catch ( IOException | UncheckedIOException e ) {
+            System.err.println ("Can't write results - " + e.getMessage ());
+            return 1;
+        } catch ( InterruptedException e ) {
+            Thread.currentThread ().interrupt ();
+            return 1;
+        } finally {
+            pool.shutdown ();
+        }
+    }
+
+    private static String value(String[] args, int i) {
+        if ( i >= args.length ) {
+            throw new IllegalArgumentException ("Missing value for " + args[i - 1]);
+        }
+        return args[i];
+    }
+
+    private static Set<BatchAnalyzer.Property> properties(String list) {
+        Set<BatchAnalyzer.Property> properties = EnumSet.noneOf (BatchAnalyzer.Property.class);
+        for ( String name : list.split (",") ) {
+            String key = name.trim ().toUpperCase (Locale.ROOT);
+            BatchAnalyzer.Property match = null;
+            for ( BatchAnalyzer.Property property : BatchAnalyzer.Property.values () ) {
+                if ( property.name ().replace ("_", "").equals (key.replace ("_", "")) ) {
+                    match = property;
+                }
+            }
+            if ( match == null ) {
+                throw new IllegalArgumentException ("Unknown property " + name);
+            }
+            properties.add (match);
+        }
+        return properties;
+    }
+
+    /**
+     * Writes results as CSV with a header row, or as a JSON array with one object per line. Numbers that are not
+     * finite are written empty in CSV and null in JSON, like values that were not computed.
+     */
+    private static class ResultWriter implements Consumer<BatchAnalyzer.Result> {
+        private final Writer out;
+        private final List<String> columns;
+        private final boolean json;
+        private int rows;
+
+        ResultWriter(Writer out, List<String> columns, boolean json) throws IOException {
+            this.out = out;
+            this.columns = columns;
+            this.json = json;
+            if ( json ) {
+                out.write ("[");
+            } else {
+                StringJoiner header = new StringJoiner (",", "", "\n");
+                columns.forEach (header::add);
+                out.write (header.toString ());
+            }
+        }
+
+        @Override public void accept(BatchAnalyzer.Result result) {
+            StringJoiner row = this.json ? new StringJoiner (", ", (this.rows > 0 ? ",\n" : "\n") + "  {", "}")
+                    : new StringJoiner (",", "", "\n");
+            for ( String column : this.columns ) {
+                Object value = result.get (column);
+                row.add (this.json ? quote (column) + ": " + json (value) : csv (value));
+            }
+            try {
+                this.out.write (row.toString ());
+                // a batch can run for hours, so every row is visible as soon as it is known
+                this.out.flush ();
+            } catch ( IOException e ) {
+                throw new UncheckedIOException (e);
+            }
+            this.rows++;
+        }
+
+        void finish() throws IOException {
+            if ( this.json ) {
+                this.out.write (this.rows > 0 ? "\n]\n" : "]\n");
+            }
+            this.out.flush ();
+        }
+
+        private static String csv(Object value) {
+            if ( value == null || isNotFinite (value) ) {
+                return "";
+            }
+            String text = value.toString ();
+            if ( text.contains (",") || text.contains ("\"") || text.contains ("\n") ) {
+                return "\"" + text.replace ("\"", "\"\"") + "\"";
+            }
+            return text;
+        }
+
+        private static String json(Object value) {
+            if ( value == null || isNotFinite (value) ) {
+                return "null";
+            }
+            return value instanceof Number ? value.toString () : quote (value.toString ());
+        }
+
+        private static boolean isNotFinite(Object value) {
+            return value instanceof Double && !Double.isFinite (( Double ) value);
+        }
+
+        private static String quote(String text) {
+            StringBuilder sb = new StringBuilder ("\"");
+            for ( char c : text.toCharArray () ) {
+                if ( c == '"' || c == '\\' ) {
+                    sb.append ('\\').append (c);
+                } else if ( c < 0x20 ) {
+                    sb.append (String.format ("\\u%04x", ( int ) c));
+                } else {
+                    sb.append (c);
+                }
+            }
+            return sb.append ('"').toString ();
+        }
+    }
+}
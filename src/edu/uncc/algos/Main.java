@@ -1,19 +1,25 @@
 package edu.uncc.algos;
 
+import edu.uncc.algos.graph.weighted.CsrGraph;
 import edu.uncc.algos.graph.weighted.Graph;
-import edu.uncc.algos.graph.weighted.UndirectedGraph;
 import edu.uncc.algos.topology.NetworkTopology;
+import edu.uncc.algos.topology.TopologyReport;
 import edu.uncc.algos.util.TopologyUtil;
 
 
-import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.util.Scanner;
 
 public class Main {
 
     public static void main(String[] args) {
+        if ( args.length > 0 ) {
+            // any argument selects the non-interactive batch mode
+            BatchMain.main (args);
+            return;
+        }
         boolean showOptions = false;
-        UndirectedGraph<Integer> graph = null;
+        CsrGraph<Integer> graph = null;
         System.out.println ("Network Topology Properties" +
                 ".\n=====================================================\nPlease follow instructions and select " +
                 "appropriate options" +
@@ -27,10 +33,10 @@ public class Main {
 
         int graphId = sc.nextInt ();
         try {
-            graph = TopologyUtil.loadGraph (graphId);
+            graph = TopologyUtil.loadCsrGraph (graphId);
             showOptions = true;
         }
-        catch ( FileNotFoundException e ) {
+        catch ( IOException e ) {
             e.printStackTrace ();
         }
         System.out.println ("\nAdjacency list representation of graph " + graphId);
@@ -68,7 +74,7 @@ public class Main {
                     break;
                 case 4:
                     System.out.println ("Property 4 - Characteristic path length");
-                    nt.characteristicPathLength(graph);
+                    nt.characteristicPathLength (graph);
                     System.out.println ("======================================================");
                     break;
                 case 5:
@@ -77,21 +83,9 @@ public class Main {
                     System.out.println ("======================================================");
                     break;
                 case 6:
-                    System.out.println ("Property 1 - Degree of nodes and Distribution");
-                    nt.degreeDistribution (graph);
-                    System.out.println ("======================================================");
-                    System.out.println ("Property 2 - Strength of nodes and Distribution");
-                    nt.strengthDistribution (graph);
-                    System.out.println ("======================================================");
-                    System.out.println ("Property 3 - Clustering Coefficient of Network");
-                    nt.clusteringCoefficient (graph);
-                    System.out.println ("======================================================");
-                    System.out.println ("Property 4 - Characteristic path length");
-                    nt.characteristicPathLength(graph);
-                    System.out.println ("======================================================");
-                    System.out.println ("5. Random or Scalefree network");
-                    nt.scaleFreeNetwork (graph);
-                    System.out.println ("======================================================");
+                    // all properties from one fused analysis
+                    TopologyReport report = nt.analyze (graph);
+                    report.print (System.out);
                     break;
                 case 7:
                     showOptions = false;
@@ -0,0 +1,54 @@
+package edu.uncc.algos.graph;
+
+/**
+ * Receives the changes of a graph, right after they are applied.
+ * Graphs notify their listeners on the thread that changes them, listeners must be quick and must not change the
+ * graph themselves.
+ *
+ * @param <E>
+ *         the type parameter
+ *
+ * @author venky
+ */
+public interface GraphListener<E> {
+
+    /**
+     * A vertex was added.
+     *
+     * @param v
+     *         the vertex
+     */
+    void vertexAdded(E v);
+
+    /**
+     * A vertex without edges was removed.
+     *
+     * @param v
+     *         the vertex
+     */
+    void vertexRemoved(E v);
+
+    /**
+     * A new edge was added, src and dest are equal for a self loop.
+     *
+     * @param src
+     *         the source vertex
+     * @param dest
+     *         the destination vertex
+     * @param w
+     *         weight of the edge, 1 in unweighted graphs
+     */
+    void edgeAdded(E src, E dest, double w);
+
+    /**
+     * An edge was removed.
+     *
+     * @param src
+     *         the source vertex
+     * @param dest
+     *         the destination vertex
+     * @param w
+     *         weight of the edge, 1 in unweighted graphs
+     */
+    void edgeRemoved(E src, E dest, double w);
+}
@@ -0,0 +1,180 @@
+package edu.uncc.algos.graph;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * VertexIds for long labels, such as 64-bit device ids.
+ * Labels live in a plain int array, which is the reverse table, and an open addressing table of ids with linear
+ * probing finds the id of a label. Nothing is boxed unless the List / Object methods are used.
+ *
+ * @author venky
+ */
+public class LongIds implements VertexIds<Long> {
+    private long[] labels;
+    /**
+     * id + 1 of the label hashed to every slot, 0 for an empty slot.
+     */
+    private int[] slots;
+    private int size = 0;
+
+    /**
+     * Instantiates a new, empty LongIds.
+     */
+    public LongIds() {
+        this (16);
+    }
+
+    /**
+     * Instantiates a new LongIds with room for some labels.
+     *
+     * @param expected
+     *         labels to make room for
+     */
+    public LongIds(int expected) {
+        this.labels = new long[Math.max (16, expected)];
+        this.slots = new int[IntIds.tableSize (expected)];
+    }
+
+    /**
+     * Interns labels in order, so labels[i] gets id i.
+     * Throws IllegalArgumentException if a label repeats.
+     * Runtime - O(n)
+     *
+     * @param labels
+     *         distinct labels
+     *
+     * @return the table
+     */
+    public static LongIds of(long[] labels) {
+        LongIds ids = new LongIds (labels.length);
+        for ( long v : labels ) {
+            int size = ids.size;
+            if ( ids.intern (v) != size ) {
+                throw new IllegalArgumentException ("Vertex already exists in this graph - " + v);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the id of a label, assigning the next id if it's new.
+     * Runtime - O(1) expected
+     *
+     * @param v
+     *         the label
+     *
+     * @return dense id of v
+     */
+    public int intern(long v) {
+        int mask = this.slots.length - 1;
+        int slot = hash (v) & mask;
+        while ( this.slots[slot] != 0 ) {
+            int id = this.slots[slot] - 1;
+            if ( this.labels[id] == v ) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if ( this.size == this.labels.length ) {
+            this.labels = Arrays.copyOf (this.labels, this.size * 2);
+        }
+        this.labels[this.size] = v;
+        this.slots[slot] = ++this.size;
+        if ( this.size * 2 > this.slots.length ) {
+            rehash ();
+        }
+        return this.size - 1;
+    }
+
+    /**
+     * Returns the id of a label.
+     * Runtime - O(1) expected
+     *
+     * @param v
+     *         the label
+     *
+     * @return dense id of v, or -1
+     */
+    public int indexOf(long v) {
+        int mask = this.slots.length - 1;
+        int slot = hash (v) & mask;
+        while ( this.slots[slot] != 0 ) {
+            int id = this.slots[slot] - 1;
+            if ( this.labels[id] == v ) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the label of an id.
+     * Throws IndexOutOfBoundsException if id is not in 0..size-1.
+     *
+     * @param id
+     *         dense id
+     *
+     * @return the label
+     */
+    public long longLabel(int id) {
+        if ( id < 0 || id >= this.size ) {
+            throw new IndexOutOfBoundsException ("Invalid vertex id " + id);
+        }
+        return this.labels[id];
+    }
+
+    @Override public int intern(Long v) {
+        return intern (v.longValue ());
+    }
+
+    @Override public int indexOf(Long v) {
+        return v == null ? -1 : indexOf (v.longValue ());
+    }
+
+    @Override public Long label(int id) {
+        return longLabel (id);
+    }
+
+    @Override public int size() {
+        return this.size;
+    }
+
+    @Override public List<Long> labels() {
+        return new Labels ();
+    }
+
+    private void rehash() {
+        int[] slots = new int[this.slots.length * 2];
+        int mask = slots.length - 1;
+        for ( int id = 0 ; id < this.size ; id++ ) {
+            int slot = hash (this.labels[id]) & mask;
+            while ( slots[slot] != 0 ) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = id + 1;
+        }
+        this.slots = slots;
+    }
+
+    private static int hash(long v) {
+        long h = v * 0x9E3779B97F4A7C15L;
+        return ( int ) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Read-only view of the labels, boxes on access only.
+     */
+    private class Labels extends AbstractList<Long> implements RandomAccess {
+        @Override public Long get(int index) {
+            return longLabel (index);
+        }
+
+        @Override public int size() {
+            return LongIds.this.size;
+        }
+    }
+}
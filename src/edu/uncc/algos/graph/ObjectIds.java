@@ -0,0 +1,86 @@
+package edu.uncc.algos.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * VertexIds for any label with equals / hashCode, such as String host names. Use IntIds or LongIds for numeric
+ * labels, they don't box.
+ *
+ * @param <E>
+ *         the type parameter
+ *
+ * @author venky
+ */
+public class ObjectIds<E> implements VertexIds<E> {
+    private final Map<E, Integer> ids;
+    private final List<E> labels;
+
+    /**
+     * Instantiates a new, empty ObjectIds.
+     */
+    public ObjectIds() {
+        this (16);
+    }
+
+    /**
+     * Instantiates a new ObjectIds with room for some labels.
+     *
+     * @param expected
+     *         labels to make room for
+     */
+    public ObjectIds(int expected) {
+        this.ids = new HashMap<> (Math.max (16, expected * 2));
+        this.labels = new ArrayList<> (expected);
+    }
+
+    /**
+     * Interns labels in order, so labels.get(i) gets id i.
+     * Throws IllegalArgumentException if a label repeats.
+     * Runtime - O(n)
+     *
+     * @param labels
+     *         distinct labels
+     *
+     * @return the table
+     */
+    public static <E> ObjectIds<E> of(List<E> labels) {
+        ObjectIds<E> ids = new ObjectIds<> (labels.size ());
+        for ( E v : labels ) {
+            int size = ids.size ();
+            if ( ids.intern (v) != size ) {
+                throw new IllegalArgumentException ("Vertex already exists in this graph - " + v);
+            }
+        }
+        return ids;
+    }
+
+    @Override public int intern(E v) {
+        Integer id = this.ids.putIfAbsent (v, this.labels.size ());
+        if ( id == null ) {
+            this.labels.add (v);
+            return this.labels.size () - 1;
+        }
+        return id;
+    }
+
+    @Override public int indexOf(E v) {
+        Integer id = this.ids.get (v);
+        return id == null ? -1 : id;
+    }
+
+    @Override public E label(int id) {
+        return this.labels.get (id);
+    }
+
+    @Override public int size() {
+        return this.labels.size ();
+    }
+
+    @Override public List<E> labels() {
+        return Collections.unmodifiableList (this.labels);
+    }
+}
@@ -0,0 +1,68 @@
+package edu.uncc.algos.graph;
+
+import java.util.List;
+
+/**
+ * Interning table between external vertex labels and dense ids 0..n-1.
+ * Ids are handed out in the order labels are first interned, and the reverse table gives the label of an id in
+ * constant time. The analytics run on the dense ids only, labels are translated on the way in and on the way out.
+ * A table may be read from many threads once it is no longer interned into.
+ *
+ * Instance Methods -
+ * 1. public int intern(E v) - Returns the id of v, assigning the next id if v is new.
+ * 2. public int indexOf(E v) - Returns the id of v, or -1.
+ * 3. public E label(int id) - Returns the label of an id.
+ * 4. public List<E> labels() - Returns all labels in id order.
+ *
+ * @param <E>
+ *         the type parameter
+ *
+ * @author venky
+ */
+public interface VertexIds<E> {
+
+    /**
+     * Returns the id of a label, assigning the next id if it's not in this table.
+     *
+     * @param v
+     *         the label
+     *
+     * @return dense id of v
+     */
+    int intern(E v);
+
+    /**
+     * Returns the id of a label.
+     *
+     * @param v
+     *         the label
+     *
+     * @return dense id of v, or -1 if v is not in this table
+     */
+    int indexOf(E v);
+
+    /**
+     * Returns the label of an id.
+     * Throws IndexOutOfBoundsException if id is not in 0..size-1.
+     *
+     * @param id
+     *         dense id
+     *
+     * @return the label
+     */
+    E label(int id);
+
+    /**
+     * Returns number of labels in this table.
+     *
+     * @return number of labels
+     */
+    int size();
+
+    /**
+     * Returns the labels in id order.
+     *
+     * @return unmodifiable list view of the labels
+     */
+    List<E> labels();
+}
@@ -0,0 +1,364 @@
+package edu.uncc.algos.graph.unweighted;
+
+import edu.uncc.algos.graph.ObjectIds;
+import edu.uncc.algos.graph.VertexIds;
+
+import java.util.*;
+
+/**
+ * An immutable snapshot of a directed unweighted graph, as a compressed-sparse-row (CSR) / compressed-sparse-column
+ * (CSC) pair. Vertices are renumbered to dense ids 0..n-1. The successors of v are the slice
+ * [outOffsets[v], outOffsets[v+1]) of outTargets and its predecessors are the slice [inOffsets[v], inOffsets[v+1])
+ * of inSources, every row sorted by id. Every edge is stored once in each direction, so in-degree and out-degree are
+ * both constant time and a scan over either neighbourhood is a sequential walk over an int array.
+ * A snapshot never changes after it is created, so it can be shared freely between threads.
+ *
+ * Instance Methods -
+ * 1. public int verticesCount() - Returns number of vertices in this graph.
+ * 2. public int edgesCount() - Returns number of directed edges in this graph.
+ * 3. public int outDegree(int v) / public int inDegree(int v) - Returns the out / in degree of dense vertex v.
+ * 4. public int degree(int v) - Returns the total degree, in degree + out degree, of dense vertex v.
+ * 5. public boolean hasEdge(int u, int v) - Checks if there is an edge from u to v.
+ * 6. public double cCoefficient(int v) - Returns the directed clustering coefficient of dense vertex v.
+ * 7. public E label(int v) / public int indexOf(E v) - Translates between dense ids and vertices of the source graph.
+ *
+ * @param <E>
+ *         the type parameter
+ *
+ * @author venky
+ */
+public class DirectedCsrGraph<E> {
+    private final int[] outOffsets;
+    private final int[] outTargets;
+    private final int[] inOffsets;
+    private final int[] inSources;
+    private final VertexIds<E> ids;
+
+    private DirectedCsrGraph(int[] outOffsets, int[] outTargets, VertexIds<E> ids) {
+        int n = ids.size ();
+        this.outOffsets = outOffsets;
+        this.outTargets = outTargets;
+        this.ids = ids;
+        // transpose, scanning the rows in order leaves every column sorted by source
+        this.inOffsets = new int[n + 1];
+        for ( int t : outTargets ) {
+            this.inOffsets[t + 1]++;
+        }
+        for ( int v = 0 ; v < n ; v++ ) {
+            this.inOffsets[v + 1] += this.inOffsets[v];
+        }
+        this.inSources = new int[outTargets.length];
+        int[] next = Arrays.copyOf (this.inOffsets, n);
+        for ( int u = 0 ; u < n ; u++ ) {
+            for ( int i = outOffsets[u] ; i < outOffsets[u + 1] ; i++ ) {
+                this.inSources[next[outTargets[i]]++] = u;
+            }
+        }
+    }
+
+    /**
+     * Builds a snapshot from a successor map. Vertices are numbered in their natural order when they are
+     * Comparable, otherwise in the iteration order of the map.
+     * Runtime - O(v + e log d)
+     *
+     * @param graph
+     *         successors of every vertex of a directed graph
+     *
+     * @return the snapshot
+     */
+    static <E> DirectedCsrGraph<E> of(Map<E, Set<E>> graph) {
+        List<E> labels = new ArrayList<> (graph.keySet ());
+        if ( labels.stream ().allMatch (l -> l instanceof Comparable) ) {
+            labels.sort (null);
+        }
+        int n = labels.size ();
+        VertexIds<E> ids = ObjectIds.of (labels);
+
+        int[] offsets = new int[n + 1];
+        for ( int i = 0 ; i < n ; i++ ) {
+            offsets[i + 1] = offsets[i] + graph.get (labels.get (i)).size ();
+        }
+        int[] targets = new int[offsets[n]];
+        for ( int i = 0 ; i < n ; i++ ) {
+            int pos = offsets[i];
+            for ( E dest : graph.get (labels.get (i)) ) {
+                targets[pos++] = ids.indexOf (dest);
+            }
+            Arrays.sort (targets, offsets[i], offsets[i + 1]);
+        }
+        return new DirectedCsrGraph<> (offsets, targets, ids);
+    }
+
+    /**
+     * Wraps existing CSR arrays of the successors into a snapshot, the predecessors are derived from them. The
+     * arrays and the table are taken over and must not be modified afterwards.
+     * Throws IllegalArgumentException if the array lengths don't match.
+     * Runtime - O(v + e)
+     *
+     * @param offsets
+     *         row offsets, of length n + 1
+     * @param targets
+     *         dense successor ids, every row sorted ascending without repeats
+     * @param ids
+     *         id table of the vertices, of size n
+     *
+     * @return the snapshot
+     */
+    public static <E> DirectedCsrGraph<E> wrap(int[] offsets, int[] targets, VertexIds<E> ids) {
+        if ( offsets.length != ids.size () + 1 || offsets[offsets.length - 1] != targets.length ) {
+            throw new IllegalArgumentException ("Inconsistent CSR arrays");
+        }
+        return new DirectedCsrGraph<> (offsets, targets, ids);
+    }
+
+    /**
+     * Returns number of vertices in this graph.
+     *
+     * @return number of vertices.
+     *         runtime O(1)
+     */
+    public int verticesCount() {
+        return this.outOffsets.length - 1;
+    }
+
+    /**
+     * Returns number of directed edges in this graph.
+     *
+     * @return number of edges.
+     *         runtime O(1)
+     */
+    public int edgesCount() {
+        return this.outTargets.length;
+    }
+
+    /**
+     * Returns the out degree of dense vertex v.
+     *
+     * @param v
+     *         dense vertex id
+     *
+     * @return out degree of v.
+     *         runtime O(1)
+     */
+    public int outDegree(int v) {
+        return this.outOffsets[v + 1] - this.outOffsets[v];
+    }
+
+    /**
+     * Returns the in degree of dense vertex v.
+     *
+     * @param v
+     *         dense vertex id
+     *
+     * @return in degree of v.
+     *         runtime O(1)
+     */
+    public int inDegree(int v) {
+        return this.inOffsets[v + 1] - this.inOffsets[v];
+    }
+
+    /**
+     * Returns the degree of dense vertex v, in degree + out degree as in DirectedGraph.degree.
+     *
+     * @param v
+     *         dense vertex id
+     *
+     * @return degree of v.
+     *         runtime O(1)
+     */
+    public int degree(int v) {
+        return inDegree (v) + outDegree (v);
+    }
+
+    /**
+     * Checks if there is an edge from dense vertex u to v, by binary search in the sorted row of u.
+     *
+     * @return true if v is a successor of u.
+     *         runtime O(log outDegree(u))
+     */
+    public boolean hasEdge(int u, int v) {
+        return Arrays.binarySearch (this.outTargets, this.outOffsets[u], this.outOffsets[u + 1], v) >= 0;
+    }
+
+    /**
+     * Directed clustering coefficient of dense vertex v, the total clustering of Fagiolo (2007), which reduces to
+     * the undirected coefficient when every edge is reciprocated.
+     * CC(v) = Tv / (Dv (Dv - 1) - 2 Bv)
+     * where
+     * Tv is # of directed triangles through v, of any orientation, each counted once per edge it uses,
+     * Dv is in degree + out degree of v and
+     * Bv is # of neighbours linked to v in both directions.
+     * Tv is counted by merging the sorted rows of v with the sorted rows of each of its neighbours. Self loops are
+     * ignored.
+     *
+     * @param v
+     *         dense vertex id
+     *
+     * @return the clustering coefficient of v.
+     *         Run time O(sum of degrees of neighbours of v)
+     */
+    public double cCoefficient(int v) {
+        int total = 0;
+        long triangles = 0;
+        for ( int i = this.outOffsets[v] ; i < this.outOffsets[v + 1] ; i++ ) {
+            int u = this.outTargets[i];
+            if ( u != v ) {
+                total++;
+                triangles += pathsOfTwo (u, v);
+            }
+        }
+        for ( int i = this.inOffsets[v] ; i < this.inOffsets[v + 1] ; i++ ) {
+            int u = this.inSources[i];
+            if ( u != v ) {
+                total++;
+                triangles += pathsOfTwo (u, v);
+            }
+        }
+        long possible = ( long ) total * (total - 1) - 2L * reciprocated (v);
+        return possible == 0 ? 0.0 : (triangles / 2.0) / possible;
+    }
+
+    /**
+     * Number of neighbours linked to dense vertex v in both directions, self loops excluded.
+     *
+     * @return size of the intersection of successors(v) and predecessors(v)
+     *         runtime O(degree(v))
+     */
+    public int reciprocated(int v) {
+        return intersectionSize (this.outTargets, this.outOffsets[v], this.outOffsets[v + 1], this.inSources,
+                this.inOffsets[v], this.inOffsets[v + 1], v, v);
+    }
+
+    /**
+     * Number of two step paths between u and v in the graph with every edge counted in both directions, the links
+     * each h other than u and v has to both: sum over h of (a(u,h) + a(h,u)) * (a(h,v) + a(v,h)).
+     */
+    private long pathsOfTwo(int u, int v) {
+        int uOut = this.outOffsets[u], uOutEnd = this.outOffsets[u + 1];
+        int uIn = this.inOffsets[u], uInEnd = this.inOffsets[u + 1];
+        int vOut = this.outOffsets[v], vOutEnd = this.outOffsets[v + 1];
+        int vIn = this.inOffsets[v], vInEnd = this.inOffsets[v + 1];
+        return ( long ) intersectionSize (this.outTargets, uOut, uOutEnd, this.inSources, vIn, vInEnd, u, v)
+                + intersectionSize (this.outTargets, uOut, uOutEnd, this.outTargets, vOut, vOutEnd, u, v)
+                + intersectionSize (this.inSources, uIn, uInEnd, this.inSources, vIn, vInEnd, u, v)
+                + intersectionSize (this.inSources, uIn, uInEnd, this.outTargets, vOut, vOutEnd, u, v);
+    }
+
+    /**
+     * Number of ids in both sorted slices, other than u and v.
+     */
+    private static int intersectionSize(int[] a, int i, int iEnd, int[] b, int j, int jEnd, int u, int v) {
+        int common = 0;
+        while ( i < iEnd && j < jEnd ) {
+            int x = a[i], y = b[j];
+            if ( x < y ) {
+                i++;
+            } else if ( x > y ) {
+                j++;
+            } else {
+                if ( x != u && x != v ) {
+                    common++;
+                }
+                i++;
+                j++;
+            }
+        }
+        return common;
+    }
+
+    /**
+     * Successor row offsets, of length verticesCount() + 1. The array is shared, not copied, and must not be
+     * modified.
+     *
+     * @return the offsets
+     */
+    public int[] outOffsets() {
+        return this.outOffsets;
+    }
+
+    /**
+     * Dense successor ids of all rows. The array is shared, not copied, and must not be modified.
+     *
+     * @return the targets
+     */
+    public int[] outTargets() {
+        return this.outTargets;
+    }
+
+    /**
+     * Predecessor column offsets, of length verticesCount() + 1. The array is shared, not copied, and must not be
+     * modified.
+     *
+     * @return the offsets
+     */
+    public int[] inOffsets() {
+        return this.inOffsets;
+    }
+
+    /**
+     * Dense predecessor ids of all columns. The array is shared, not copied, and must not be modified.
+     *
+     * @return the sources
+     */
+    public int[] inSources() {
+        return this.inSources;
+    }
+
+    /**
+     * Returns the vertex of the source graph for dense id v.
+     *
+     * @param v
+     *         dense vertex id
+     *
+     * @return the vertex
+     */
+    public E label(int v) {
+        return this.ids.label (v);
+    }
+
+    /**
+     * Returns the dense id of vertex v of the source graph.
+     * Throws IllegalArgumentException if vertex doesn't exists in this graph.
+     *
+     * @param v
+     *         the vertex
+     *
+     * @return dense id of v
+     */
+    public int indexOf(E v) {
+        int id = this.ids.indexOf (v);
+        if ( id < 0 ) {
+            throw new IllegalArgumentException ("Vertex " + v + " is doesn't exists");
+        }
+        return id;
+    }
+
+    /**
+     * Vertices of the source graph, in dense id order.
+     *
+     * @return unmodifiable list of vertices
+     */
+    public List<E> vertices() {
+        return this.ids.labels ();
+    }
+
+    /**
+     * toString method is overridden to represent graph.
+     *
+     * @return Adjacency list representation of this graph.
+     */
+    @Override public String toString() {
+        StringBuilder stringBuilder = new StringBuilder ();
+        for ( int v = 0 ; v < verticesCount () ; v++ ) {
+            stringBuilder.append (label (v)).append (" -> [");
+            for ( int i = this.outOffsets[v] ; i < this.outOffsets[v + 1] ; i++ ) {
+                if ( i > this.outOffsets[v] ) {
+                    stringBuilder.append (", ");
+                }
+                stringBuilder.append (label (this.outTargets[i]));
+            }
+            stringBuilder.append ("]\n");
+        }
+        return stringBuilder.toString ();
+    }
+}
@@ -1,5 +1,10 @@
 package edu.uncc.algos.graph.unweighted;
 
+import edu.uncc.algos.graph.GraphListener;
+import edu.uncc.algos.graph.ObjectIds;
+import edu.uncc.algos.graph.weighted.CsrBuilder;
+import edu.uncc.algos.graph.weighted.CsrGraph;
+
 import java.util.*;
 
 /**
@@ -38,6 +43,12 @@ import java.util.*;
  *
  * 9. public List<Integer, Integer> size() - returns size of this graph in the form of [#vertices, #edges]
  *
+ * 10. public void addListener(GraphListener<E> listener) - Registers a listener for changes of this graph, edges
+ * are reported with weight 1.
+ *
+ * 11. public CsrGraph<E> freeze() - Returns an immutable compressed-sparse-row snapshot of this graph, every edge
+ * with weight 1, for the path length engines.
+ *
  *
  * @param <E>
  *         the type parameter
@@ -57,6 +68,11 @@ public class UndirectedGraph<E> implements Graph<E> {
      */
     private Map<E, Set<E>> graph;
 
+    /**
+     * listeners notified of every change.
+     */
+    private final List<GraphListener<E>> listeners = new ArrayList<> ();
+
     /**
      * Instantiates a new UndirectedGraph.
      */
@@ -103,13 +119,18 @@ public class UndirectedGraph<E> implements Graph<E> {
         }
 
         // adding an edge from source to destination by updating the respective adjacency graph.
-        edgeAdded = this.graph.get (src).add (dest);
+        boolean newEdge = this.graph.get (src).add (dest);
 
         // since it is an undirected graph, also need to update destination as well.
         edgeAdded = this.graph.get (dest).add (src);
 
         if ( edgeAdded )
             edges++;
+        if ( newEdge ) {
+            for ( GraphListener<E> l : this.listeners ) {
+                l.edgeAdded (src, dest, 1);
+            }
+        }
 
     }
 
@@ -128,6 +149,9 @@ public class UndirectedGraph<E> implements Graph<E> {
         }
         this.graph.put (v, new LinkedHashSet<> ());
         this.numberOfVertices += 1;
+        for ( GraphListener<E> l : this.listeners ) {
+            l.vertexAdded (v);
+        }
     }
 
 
@@ -166,6 +190,10 @@ public class UndirectedGraph<E> implements Graph<E> {
             throw new UnsupportedOperationException ("Vertex have one or more edges.");
         }
         graph.remove (v);
+        this.numberOfVertices -= 1;
+        for ( GraphListener<E> l : this.listeners ) {
+            l.vertexRemoved (v);
+        }
     }
 
     /**
@@ -182,7 +210,11 @@ public class UndirectedGraph<E> implements Graph<E> {
             throw new IllegalArgumentException ("Invalid source or destination vertex");
         } else if ( this.graph.get (src).contains (dest) && this.graph.get (dest).contains (src) ){
             this.graph.get (src).remove (dest);
-            this.graph.get (dest).remove (src);
+            if ( this.graph.get (dest).remove (src) )
+                edges--;
+            for ( GraphListener<E> l : this.listeners ) {
+                l.edgeRemoved (src, dest, 1);
+            }
         } else {
             throw new UnsupportedOperationException ("No edge exists between vertices");
         }
@@ -210,6 +242,52 @@ public class UndirectedGraph<E> implements Graph<E> {
         return this.graph.get (v).size ();
     }
 
+    /**
+     * Registers a listener, notified after every change of this graph.
+     *
+     * @param listener
+     *         the listener
+     */
+    public void addListener(GraphListener<E> listener) {
+        this.listeners.add (Objects.requireNonNull (listener));
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener
+     *         the listener
+     */
+    public void removeListener(GraphListener<E> listener) {
+        this.listeners.remove (listener);
+    }
+
+    /**
+     * Returns an immutable compressed-sparse-row snapshot of this graph with every edge of weight 1, so that
+     * AllPairsPathLength counts hops with its bit-parallel BFS. Vertices are numbered in their natural order when
+     * they are Comparable, otherwise in the iteration order of the graph.
+     *
+     * @return the CSR snapshot
+     *         runtime - O(v + e log d)
+     */
+    public CsrGraph<E> freeze() {
+        List<E> labels = new ArrayList<> (this.graph.keySet ());
+        if ( labels.stream ().allMatch (l -> l instanceof Comparable) ) {
+            labels.sort (null);
+        }
+        ObjectIds<E> ids = ObjectIds.of (labels);
+        CsrBuilder builder = new CsrBuilder (labels.size (), this.edges);
+        for ( int u = 0 ; u < labels.size () ; u++ ) {
+            for ( E dest : this.graph.get (labels.get (u)) ) {
+                int v = ids.indexOf (dest);
+                if ( u <= v ) {
+                    builder.addEdge (u, v, 1);
+                }
+            }
+        }
+        return builder.build (ids);
+    }
+
     /**
      *
      * toString method is overridden to represent graph.
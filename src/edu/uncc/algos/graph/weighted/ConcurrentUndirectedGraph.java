@@ -0,0 +1,355 @@
+package edu.uncc.algos.graph.weighted;
+
+import edu.uncc.algos.graph.ObjectIds;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread safe Undirected Weighted Graph ADT, for ingesting edges from many threads while analytics read.
+ * Vertices and every adjacency list are ConcurrentHashMaps (neighbour -> weight), so lookups and per-vertex queries
+ * never block. Changes are serialized by lock striping: a vertex hashes to one of a fixed number of locks, and
+ * addEdge / removeEdge hold the locks of both endpoints, taken in stripe order, so the two directions of an edge
+ * always change together and writers on unrelated vertices run in parallel.
+ * freeze() holds every stripe while it copies the edges, so a snapshot is a consistent cut of the graph: every edge
+ * is in both rows and the edge count matches. Per-vertex queries don't lock, they see every change completed before
+ * they started and possibly some made meanwhile.
+ * Semantics follow UndirectedGraph: a repeated edge keeps its first weight and a self loop is stored once and not
+ * counted in edgesCount(). Listeners are not supported.
+ * Instance Methods -
+ * 1. public void addVertex(E v) - Adds new vertex to graph.
+ * 2. public void addEdge(E src, E dest, double w) - Adds an edge for set of vertices. This method throw an
+ * IndexOutOfBoundsException if source or destination vertex is not in this graph.
+ * 3. public void removeEdge(E src, E dest) - Removes an edge between two vertices.
+ * 4. public int edgesCount() - Returns number of edges in this graph.
+ * 5. public int verticesCount() - Returns number of vertices in this graph.
+ * 6. public int degree(E v) - Returns the degree of a vertex v.
+ * 7. public double strength(E v) - Returns the strength for a vertex v.
+ * 8. public double cCoefficient(E v) - Returns the Clustering coefficient of a vertex v.
+ * 9. public CsrGraph<E> freeze() - Returns a consistent immutable CSR snapshot of this graph for analytics.
+ *
+ * @param <E>
+ *         the type parameter
+ *
+ * @author venky
+ */
+public class ConcurrentUndirectedGraph<E> implements Graph<E> {
+    private final ConcurrentHashMap<E, ConcurrentHashMap<E, Double>> graph = new ConcurrentHashMap<> ();
+    private final ReentrantLock[] stripes;
+    private final LongAdder edges = new LongAdder ();
+
+    /**
+     * Instantiates a new ConcurrentUndirectedGraph with four lock stripes per core.
+     */
+    public ConcurrentUndirectedGraph() {
+        this (Runtime.getRuntime ().availableProcessors () * 4);
+    }
+
+    /**
+     * Instantiates a new ConcurrentUndirectedGraph.
+     *
+     * @param concurrency
+     *         expected number of writer threads, rounded up to a power of two lock stripes
+     */
+    public ConcurrentUndirectedGraph(int concurrency) {
+        int n = Integer.highestOneBit (Math.max (1, Math.min (concurrency, 1 << 16)) * 2 - 1);
+        this.stripes = new ReentrantLock[n];
+        for ( int i = 0 ; i < n ; i++ ) {
+            this.stripes[i] = new ReentrantLock ();
+        }
+    }
+
+    /**
+     * Adds new vertex to this graph.
+     * Throws IllegalArgumentException if the vertex is already in this graph.
+     *
+     * @param v
+     *         the v
+     *         runtime O(1) - average case
+     */
+    @Override public void addVertex(E v) {
+        ReentrantLock lock = stripe (v);
+        lock.lock ();
+        try {
+            if ( this.graph.putIfAbsent (v, new ConcurrentHashMap<> ()) != null ) {
+                throw new IllegalArgumentException ("Vertex already exists in this graph - " + v);
+            }
+        } finally {
+            lock.unlock ();
+        }
+    }
+
+    /**
+     * Adds an edge for set of vertices. This method throw an IndexOutOfBoundsException if source or destination
+     * vertex is not in this graph.
+     *
+     * @param src
+     *         the src vertex.
+     * @param dest
+     *         the destination vertex.
+     * @param w
+     *         weight of this edge.
+     *         runtime O(1) - average case
+     */
+    @Override public void addEdge(E src, E dest, double w) {
+        Map<E, Double> srcEdges = this.graph.get (src);
+        Map<E, Double> destEdges = this.graph.get (dest);
+        if ( srcEdges == null || destEdges == null ) {
+            throw new IndexOutOfBoundsException ("Invalid source or destination vertex");
+        }
+        lock (src, dest);
+        try {
+            srcEdges.putIfAbsent (dest, w);
+            if ( destEdges.putIfAbsent (src, w) == null ) {
+                this.edges.increment ();
+            }
+        } finally {
+            unlock (src, dest);
+        }
+    }
+
+    /**
+     * Removes an edge from this graph.
+     * Throw IllegalArgumentException if source or destination vertices are not in this graph.
+     * Throw UnsupportedOperationException if there is no edge between source, and destination vertices.
+     *
+     * @param src
+     *         the source
+     * @param dest
+     *         the destination
+     *         runtime O(1) - average case
+     */
+    @Override public void removeEdge(E src, E dest) {
+        Map<E, Double> srcEdges = this.graph.get (src);
+        Map<E, Double> destEdges = this.graph.get (dest);
+        if ( srcEdges == null || destEdges == null ) {
+            throw new IllegalArgumentException ("Invalid source or destination vertex");
+        }
+        lock (src, dest);
+        try {
+            if ( srcEdges.remove (dest) == null ) {
+                throw new UnsupportedOperationException ("No edge exists between vertices");
+            }
+            if ( destEdges.remove (src) != null ) {
+                this.edges.decrement ();
+            }
+        } finally {
+            unlock (src, dest);
+        }
+    }
+
+    /**
+     * Returns number of edges in this graph.
+     *
+     * @return number of edges.
+     *         runtime O(stripes)
+     */
+    @Override public int edgesCount() {
+        return ( int ) this.edges.sum ();
+    }
+
+    /**
+     * Returns number of vertices in this graph.
+     *
+     * @return number of vertices.
+     *         runtime O(1)
+     */
+    @Override public int verticesCount() {
+        return this.graph.size ();
+    }
+
+    /**
+     * Vertices list
+     *
+     * @return the vertices in this graph.
+     */
+    @Override public List<E> vertices() {
+        return new ArrayList<> (this.graph.keySet ());
+    }
+
+    /**
+     * Returns the degree of a vertex.
+     * This method throws IllegalArgumentException if vertex is not part of this graph.
+     *
+     * @param v
+     *         vertex
+     *
+     * @return degree of v.
+     *         Runtime O(1) - average case
+     */
+    @Override public int degree(E v) {
+        return adjacency (v).size ();
+    }
+
+    /**
+     * Returns the strength of a vertex in this graph, throws IllegalArgumentException if vertex doesn't exists in
+     * this graph.
+     *
+     * @param v
+     *         vertex
+     *
+     * @return strength of v
+     *         Runtime - O(degree(v))
+     */
+    @Override public double strength(E v) {
+        double st = 0;
+        for ( double w : adjacency (v).values () ) {
+            st += w;
+        }
+        return st;
+    }
+
+    /**
+     * Clustering coefficient of a vertex v, same as cCoefficient(v).
+     *
+     * @param v
+     *         the vertex.
+     *
+     * @return the double clustering coefficient of v.
+     */
+    @Override public double clusteringCoefficient(E v) {
+        return cCoefficient (v);
+    }
+
+    /**
+     * Clustering coefficient of a vertex v.
+     * Clustering coefficient is defined as CC(v) = 2Nv / Kv (Kv -1)
+     * where
+     * v is a vertex
+     * Kv is Degree of vertex v
+     * Nv is # of links between neighbours of v.
+     *
+     * @param v
+     *         the vertex.
+     *
+     * @return the double clustering coefficient of v.
+     *         Run time
+     *         O(num of neighbours(v))^2
+     */
+    @Override public double cCoefficient(E v) {
+        List<E> neighbours = new ArrayList<> (adjacency (v).keySet ());
+        int kv = neighbours.size ();
+        if ( kv < 2 ) {
+            return 0.0;
+        }
+        int nv = 0;
+        for ( int i = 0 ; i < kv ; i++ ) {
+            Map<E, Double> neighboursOfI = this.graph.get (neighbours.get (i));
+            for ( int j = i + 1 ; j < kv ; j++ ) {
+                if ( neighboursOfI.containsKey (neighbours.get (j)) ) {
+                    nv += 1;
+                }
+            }
+        }
+        return (2.0 * nv) / (( double ) kv * (kv - 1));
+    }
+
+    /**
+     * Gets list of neighbour vertices.
+     * Throws IllegalArgumentException if vertex doesn't exists in this graph.
+     *
+     * @param v
+     *         the vertex
+     *
+     * @return the list
+     *         Runtime - O(degree(v))
+     */
+    public List<Edge<E>> getNeighbours(E v) {
+        List<Edge<E>> neighbours = new ArrayList<> ();
+        adjacency (v).forEach ((d, w) -> neighbours.add (new Edge<> (d, w)));
+        return neighbours;
+    }
+
+    /**
+     * Returns an immutable compressed-sparse-row snapshot of this graph, the same as UndirectedGraph.freeze() on a
+     * graph with the same edges. Writers are blocked only while the edges are copied, the rows are sorted after the
+     * locks are released.
+     *
+     * @return the CSR snapshot
+     *         runtime - O(v + e log d)
+     */
+    public CsrGraph<E> freeze() {
+        CsrBuilder builder;
+        ObjectIds<E> ids;
+        for ( ReentrantLock lock : this.stripes ) {
+            lock.lock ();
+        }
+        try {
+            List<E> labels = new ArrayList<> (this.graph.keySet ());
+            if ( labels.stream ().allMatch (l -> l instanceof Comparable) ) {
+                labels.sort (null);
+            }
+            ids = ObjectIds.of (labels);
+            builder = new CsrBuilder (labels.size (), ( int ) this.edges.sum ());
+            for ( int u = 0 ; u < labels.size () ; u++ ) {
+                for ( Map.Entry<E, Double> e : this.graph.get (labels.get (u)).entrySet () ) {
+                    int v = ids.indexOf (e.getKey ());
+                    if ( u <= v ) {
+                        builder.addEdge (u, v, e.getValue ());
+                    }
+                }
+            }
+        } finally {
+            for ( ReentrantLock lock : this.stripes ) {
+                lock.unlock ();
+            }
+        }
+        return builder.build (ids);
+    }
+
+    /**
+     * toString method is overridden to represent graph.
+     *
+     * @return Adjacency list representation of this graph.
+     *         runtime - O(v + e)
+     */
+    @Override public String toString() {
+        StringBuilder stringBuilder = new StringBuilder ();
+        this.graph.forEach ((k, v) -> {
+            stringBuilder.append (k).append (" -> ");
+            v.forEach ((d, w) -> stringBuilder.append (new Edge<> (d, w)));
+            stringBuilder.append ("\n");
+        });
+        return stringBuilder.toString ();
+    }
+
+    private Map<E, Double> adjacency(E v) {
+        Map<E, Double> edges = this.graph.get (v);
+        if ( edges == null ) {
+            throw new IllegalArgumentException ("Vertex " + v + " is doesn't exists");
+        }
+        return edges;
+    }
+
+    private ReentrantLock stripe(E v) {
+        return this.stripes[stripeIndex (v)];
+    }
+
+    private int stripeIndex(E v) {
+        int h = v.hashCode () * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (this.stripes.length - 1);
+    }
+
+    /**
+     * Locks the stripes of both endpoints, lower stripe first like freeze(), so that writers can't deadlock.
+     */
+    private void lock(E src, E dest) {
+        int a = stripeIndex (src), b = stripeIndex (dest);
+        this.stripes[Math.min (a, b)].lock ();
+        if ( a != b ) {
+            this.stripes[Math.max (a, b)].lock ();
+        }
+    }
+
+    private void unlock(E src, E dest) {
+        int a = stripeIndex (src), b = stripeIndex (dest);
+        if ( a != b ) {
+            this.stripes[Math.max (a, b)].unlock ();
+        }
+        this.stripes[Math.min (a, b)].unlock ();
+    }
+}
@@ -0,0 +1,199 @@
+package edu.uncc.algos.graph.weighted;
+
+import edu.uncc.algos.graph.VertexIds;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bulk builder of CSR snapshots from edge lists over dense vertex ids 0..n-1.
+ * Edges are appended to growable primitive arrays, one at a time or a whole block at once, and build() lays them
+ * out in two counting passes. No Edge objects, sets or boxed keys are created, so this is the fast path for large
+ * inputs that never need the mutable UndirectedGraph.
+ * The result is the same as adding the edges to an UndirectedGraph in the same order and freezing it: duplicate
+ * edges keep the weight they were first added with, and a self loop is a single entry in its row that is not counted
+ * in edgesCount().
+ * This implementation is not thread safe, parallel producers should collect blocks and add them in order.
+ *
+ * @author venky
+ */
+public class CsrBuilder {
+    private final int n;
+    private int[] src;
+    private int[] dest;
+    private double[] weights;
+    private int size = 0;
+
+    /**
+     * Instantiates a new CsrBuilder.
+     *
+     * @param n
+     *         number of vertices
+     */
+    public CsrBuilder(int n) {
+        this (n, 16);
+    }
+
+    /**
+     * Instantiates a new CsrBuilder with room for some edges.
+     *
+     * @param n
+     *         number of vertices
+     * @param expectedEdges
+     *         edges to make room for
+     */
+    public CsrBuilder(int n, int expectedEdges) {
+        this.n = n;
+        int capacity = Math.max (16, expectedEdges);
+        this.src = new int[capacity];
+        this.dest = new int[capacity];
+        this.weights = new double[capacity];
+    }
+
+    /**
+     * Adds an edge.
+     * Throws IndexOutOfBoundsException if source or destination vertex is not in 0..n-1.
+     *
+     * @param u
+     *         dense source id
+     * @param v
+     *         dense destination id
+     * @param w
+     *         weight of this edge
+     *         runtime O(1) amortized
+     */
+    public void addEdge(int u, int v, double w) {
+        if ( u < 0 || u >= this.n || v < 0 || v >= this.n ) {
+            throw new IndexOutOfBoundsException ("Invalid source or destination vertex");
+        }
+        ensureCapacity (this.size + 1);
+        this.src[this.size] = u;
+        this.dest[this.size] = v;
+        this.weights[this.size] = w;
+        this.size++;
+    }
+
+    /**
+     * Adds the first count edges of parallel arrays.
+     * Throws IndexOutOfBoundsException if some vertex is not in 0..n-1.
+     *
+     * @param u
+     *         dense source ids
+     * @param v
+     *         dense destination ids
+     * @param w
+     *         weights
+     * @param count
+     *         number of edges to add
+     */
+    public void addEdges(int[] u, int[] v, double[] w, int count) {
+        for ( int i = 0 ; i < count ; i++ ) {
+            if ( u[i] < 0 || u[i] >= this.n || v[i] < 0 || v[i] >= this.n ) {
+                throw new IndexOutOfBoundsException ("Invalid source or destination vertex");
+            }
+        }
+        ensureCapacity (this.size + count);
+        System.arraycopy (u, 0, this.src, this.size, count);
+        System.arraycopy (v, 0, this.dest, this.size, count);
+        System.arraycopy (w, 0, this.weights, this.size, count);
+        this.size += count;
+    }
+
+    /**
+     * Number of edges added so far, duplicates included.
+     *
+     * @return the count
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Builds the snapshot.
+     * Runtime - O(v + e log d)
+     *
+     * @param labels
+     *         vertex for every dense id, of size n
+     *
+     * @return the snapshot
+     */
+    public <E> CsrGraph<E> build(List<E> labels) {
+        return build (labels, null);
+    }
+
+    /**
+     * Builds the snapshot over an id table, dense id v is the vertex ids.label(v).
+     * Runtime - O(v + e log d)
+     *
+     * @param ids
+     *         id table of the vertices, of size n
+     *
+     * @return the snapshot
+     */
+    public <E> CsrGraph<E> build(VertexIds<E> ids) {
+        return build (ids.labels (), ids);
+    }
+
+    private <E> CsrGraph<E> build(List<E> labels, VertexIds<E> ids) {
+        if ( labels.size () != this.n ) {
+            throw new IllegalArgumentException ("Expected " + this.n + " labels");
+        }
+        int[] offsets = new int[this.n + 1];
+        for ( int i = 0 ; i < this.size ; i++ ) {
+            offsets[this.src[i] + 1]++;
+            if ( this.src[i] != this.dest[i] ) {
+                offsets[this.dest[i] + 1]++;
+            }
+        }
+        for ( int v = 0 ; v < this.n ; v++ ) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] targets = new int[offsets[this.n]];
+        double[] w = new double[offsets[this.n]];
+        int[] fill = Arrays.copyOf (offsets, this.n);
+        for ( int i = 0 ; i < this.size ; i++ ) {
+            int a = this.src[i], b = this.dest[i];
+            targets[fill[a]] = b;
+            w[fill[a]++] = this.weights[i];
+            if ( a != b ) {
+                targets[fill[b]] = a;
+                w[fill[b]++] = this.weights[i];
+            }
+        }
+
+        // sort rows and drop repeated targets, keeping the first one, compacting in place
+        int out = 0;
+        long entries = 0, loops = 0;
+        for ( int v = 0 ; v < this.n ; v++ ) {
+            int from = offsets[v], to = offsets[v + 1];
+            CsrGraph.sortRow (targets, w, from, to);
+            offsets[v] = out;
+            for ( int i = from ; i < to ; i++ ) {
+                if ( i > from && targets[i] == targets[i - 1] ) {
+                    continue;
+                }
+                targets[out] = targets[i];
+                w[out++] = w[i];
+                entries++;
+                if ( targets[i] == v ) {
+                    loops++;
+                }
+            }
+        }
+        offsets[this.n] = out;
+        int edges = ( int ) ((entries - loops) / 2);
+        targets = Arrays.copyOf (targets, out);
+        w = Arrays.copyOf (w, out);
+        return ids == null ? new CsrGraph<> (offsets, targets, w, edges, labels)
+                : new CsrGraph<> (offsets, targets, w, edges, ids);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if ( capacity > this.src.length ) {
+            int grown = ( int ) Math.min (Integer.MAX_VALUE - 8, Math.max (capacity, this.src.length * 3L / 2));
+            this.src = Arrays.copyOf (this.src, grown);
+            this.dest = Arrays.copyOf (this.dest, grown);
+            this.weights = Arrays.copyOf (this.weights, grown);
+        }
+    }
+}
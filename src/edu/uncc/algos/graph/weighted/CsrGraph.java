@@ -0,0 +1,484 @@
+package edu.uncc.algos.graph.weighted;
+
+import edu.uncc.algos.graph.ObjectIds;
+import edu.uncc.algos.graph.VertexIds;
+
+import java.util.*;
+
+/**
+ * An immutable, compressed-sparse-row (CSR) snapshot of an undirected weighted graph.
+ * Vertices are renumbered to dense ids 0..n-1 and the adjacency of vertex v is stored in the slice
+ * [offsets[v], offsets[v+1]) of the targets and weights arrays. Every undirected edge is stored twice, once in the
+ * row of each endpoint, and every row is sorted by target id.
+ * Compared to the Hashtable / LinkedHashSet representation of UndirectedGraph, a scan over a row is a sequential
+ * walk over two primitive arrays, with no hashing, boxing or pointer chasing. This makes degree and strength
+ * constant / linear time without any allocation, and lets the analytics in NetworkTopology run as memory-bound scans.
+ * A snapshot never changes after it is created, so it can be shared freely between threads.
+ *
+ * Instance Methods -
+ * 1. public int verticesCount() - Returns number of vertices in this graph.
+ * 2. public int edgesCount() - Returns number of edges in this graph.
+ * 3. public int degree(int v) - Returns the degree of dense vertex v.
+ * 4. public double strength(int v) - Returns the strength of dense vertex v.
+ * 5. public double cCoefficient(int v) - Returns the clustering coefficient of dense vertex v.
+ * 6. public E label(int v) / public int indexOf(E v) - Translates between dense ids and vertices of the source graph.
+ *
+ * @param <E>
+ *         the type parameter
+ *
+ * @author venky
+ */
+public class CsrGraph<E> {
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final int edges;
+    /**
+     * largest weight when every weight is a non-negative integer, -1 otherwise.
+     */
+    private final int maxIntegerWeight;
+    /**
+     * every weight is 1, or every weight is 0.
+     */
+    private final boolean unweighted;
+
+    /**
+     * dense id -> vertex of the source graph.
+     */
+    private final List<E> labels;
+    /**
+     * vertex of the source graph -> dense id, built on first use unless the snapshot was created with one.
+     */
+    private volatile VertexIds<E> ids;
+
+    /**
+     * Instantiates a new CsrGraph. Rows of targets and weights must already be sorted by target id.
+     *
+     * @param offsets
+     *         row offsets, of length n + 1
+     * @param targets
+     *         dense target ids
+     * @param weights
+     *         weights, parallel to targets
+     * @param edges
+     *         number of undirected edges
+     * @param labels
+     *         vertex of the source graph for every dense id
+     */
+    CsrGraph(int[] offsets, int[] targets, double[] weights, int edges, List<E> labels) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.edges = edges;
+        this.maxIntegerWeight = maxIntegerWeight (weights);
+        this.unweighted = unweighted (weights);
+        this.labels = Collections.unmodifiableList (labels);
+    }
+
+    /**
+     * Instantiates a new CsrGraph with an id table, which serves both label(v) and indexOf(v).
+     *
+     * @param offsets
+     *         row offsets, of length n + 1
+     * @param targets
+     *         dense target ids
+     * @param weights
+     *         weights, parallel to targets
+     * @param edges
+     *         number of undirected edges
+     * @param ids
+     *         id table of the vertices of the source graph
+     */
+    CsrGraph(int[] offsets, int[] targets, double[] weights, int edges, VertexIds<E> ids) {
+        this (offsets, targets, weights, edges, ids.labels ());
+        this.ids = ids;
+    }
+
+    /**
+     * Wraps existing CSR arrays into a snapshot, without copying them. The arrays are taken over and must not be
+     * modified afterwards.
+     * Throws IllegalArgumentException if the array lengths don't match.
+     *
+     * @param offsets
+     *         row offsets, of length n + 1
+     * @param targets
+     *         dense target ids, every row sorted ascending
+     * @param weights
+     *         weights, parallel to targets
+     * @param edges
+     *         number of undirected edges
+     * @param labels
+     *         vertex for every dense id, of size n
+     *
+     * @return the snapshot
+     */
+    public static <E> CsrGraph<E> wrap(int[] offsets, int[] targets, double[] weights, int edges, List<E> labels) {
+        if ( offsets.length != labels.size () + 1 || targets.length != weights.length
+                || offsets[offsets.length - 1] != targets.length ) {
+            throw new IllegalArgumentException ("Inconsistent CSR arrays");
+        }
+        return new CsrGraph<> (offsets, targets, weights, edges, labels);
+    }
+
+    /**
+     * Wraps existing CSR arrays into a snapshot over an id table, without copying them. The arrays and the table
+     * are taken over and must not be modified afterwards.
+     * Throws IllegalArgumentException if the array lengths don't match.
+     *
+     * @param offsets
+     *         row offsets, of length n + 1
+     * @param targets
+     *         dense target ids, every row sorted ascending
+     * @param weights
+     *         weights, parallel to targets
+     * @param edges
+     *         number of undirected edges
+     * @param ids
+     *         id table of the vertices, of size n
+     *
+     * @return the snapshot
+     */
+    public static <E> CsrGraph<E> wrap(int[] offsets, int[] targets, double[] weights, int edges, VertexIds<E> ids) {
+        if ( offsets.length != ids.size () + 1 || targets.length != weights.length
+                || offsets[offsets.length - 1] != targets.length ) {
+            throw new IllegalArgumentException ("Inconsistent CSR arrays");
+        }
+        return new CsrGraph<> (offsets, targets, weights, edges, ids);
+    }
+
+    /**
+     * Builds a snapshot from an adjacency map. Vertices are numbered in their natural order when they are
+     * Comparable, otherwise in the iteration order of the map.
+     * Runtime - O(v + e log d)
+     *
+     * @param graph
+     *         adjacency map of an undirected graph
+     * @param edges
+     *         number of undirected edges in graph
+     *
+     * @return the snapshot
+     */
+    static <E> CsrGraph<E> of(Map<E, Set<Edge<E>>> graph, int edges) {
+        List<E> labels = new ArrayList<> (graph.keySet ());
+        if ( labels.stream ().allMatch (l -> l instanceof Comparable) ) {
+            labels.sort (null);
+        }
+        int n = labels.size ();
+        VertexIds<E> ids = ObjectIds.of (labels);
+
+        int[] offsets = new int[n + 1];
+        for ( int i = 0 ; i < n ; i++ ) {
+            offsets[i + 1] = offsets[i] + graph.get (labels.get (i)).size ();
+        }
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
+        for ( int i = 0 ; i < n ; i++ ) {
+            int pos = offsets[i];
+            for ( Edge<E> e : graph.get (labels.get (i)) ) {
+                targets[pos] = ids.indexOf (e.getDest ());
+                weights[pos] = e.getW ();
+                pos++;
+            }
+            sortRow (targets, weights, offsets[i], offsets[i + 1]);
+        }
+        return new CsrGraph<> (offsets, targets, weights, edges, ids);
+    }
+
+    private static boolean unweighted(double[] weights) {
+        if ( weights.length == 0 ) {
+            return true;
+        }
+        double w0 = weights[0];
+        if ( w0 != 0 && w0 != 1 ) {
+            return false;
+        }
+        for ( double w : weights ) {
+            if ( w != w0 ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int maxIntegerWeight(double[] weights) {
+        int max = 0;
+        for ( double w : weights ) {
+            if ( w < 0 || w > Integer.MAX_VALUE || w != Math.rint (w) ) {
+                return -1;
+            }
+            max = Math.max (max, ( int ) w);
+        }
+        return max;
+    }
+
+    /**
+     * Sorts targets[from, to) ascending, moving weights along. Insertion sort for short rows, otherwise an index
+     * sort. Both are stable, equal targets keep their order.
+     */
+    static void sortRow(int[] targets, double[] weights, int from, int to) {
+        int len = to - from;
+        if ( len < 32 ) {
+            for ( int i = from + 1 ; i < to ; i++ ) {
+                int t = targets[i];
+                double w = weights[i];
+                int j = i - 1;
+                while ( j >= from && targets[j] > t ) {
+                    targets[j + 1] = targets[j];
+                    weights[j + 1] = weights[j];
+                    j--;
+                }
+                targets[j + 1] = t;
+                weights[j + 1] = w;
+            }
+            return;
+        }
+        // pack (target, position) into a long so a primitive sort keeps weights aligned.
+        long[] keys = new long[len];
+        for ( int i = 0 ; i < len ; i++ ) {
+            keys[i] = (( long ) targets[from + i] << 32) | i;
+        }
+        Arrays.sort (keys);
+        double[] w = Arrays.copyOfRange (weights, from, to);
+        for ( int i = 0 ; i < len ; i++ ) {
+            targets[from + i] = ( int ) (keys[i] >>> 32);
+            weights[from + i] = w[( int ) keys[i]];
+        }
+    }
+
+    /**
+     * Returns number of vertices in this graph.
+     *
+     * @return number of vertices.
+     *         runtime O(1)
+     */
+    public int verticesCount() {
+        return this.offsets.length - 1;
+    }
+
+    /**
+     * Returns number of edges in this graph.
+     *
+     * @return number of edges.
+     *         runtime O(1)
+     */
+    public int edgesCount() {
+        return this.edges;
+    }
+
+    /**
+     * Returns the degree of dense vertex v.
+     *
+     * @param v
+     *         dense vertex id
+     *
+     * @return degree of v.
+     *         runtime O(1)
+     */
+    public int degree(int v) {
+        return this.offsets[v + 1] - this.offsets[v];
+    }
+
+    /**
+     * Returns the strength of dense vertex v, the sum of the weights of its edges.
+     *
+     * @param v
+     *         dense vertex id
+     *
+     * @return strength of v
+     *         runtime O(degree(v))
+     */
+    public double strength(int v) {
+        double st = 0;
+        for ( int i = this.offsets[v] ; i < this.offsets[v + 1] ; i++ ) {
+            st += this.weights[i];
+        }
+        return st;
+    }
+
+    /**
+     * Clustering coefficient of dense vertex v.
+     * Clustering coefficient is defined as CC(v) = 2Nv / Kv (Kv -1)
+     * where Kv is degree of v and Nv is # of links between neighbours of v.
+     * Nv is counted by merging the sorted row of v with the sorted row of each of its neighbours, every link is seen
+     * twice.
+     *
+     * @param v
+     *         dense vertex id
+     *
+     * @return the clustering coefficient of v.
+     *         Run time O(sum of degrees of neighbours of v)
+     */
+    public double cCoefficient(int v) {
+        int kv = degree (v);
+        if ( kv < 2 ) {
+            return 0.0;
+        }
+        long links = 0;
+        for ( int i = this.offsets[v] ; i < this.offsets[v + 1] ; i++ ) {
+            int u = this.targets[i];
+            if ( u != v ) {
+                links += intersectionSize (v, u);
+            }
+        }
+        double nv = links / 2;
+        return (2 * nv) / (( double ) kv * (kv - 1));
+    }
+
+    /**
+     * Checks if there is an edge between dense vertices u and v, by binary search in the sorted row of u.
+     *
+     * @return true if u and v are adjacent.
+     *         runtime O(log degree(u))
+     */
+    public boolean hasEdge(int u, int v) {
+        return Arrays.binarySearch (this.targets, this.offsets[u], this.offsets[u + 1], v) >= 0;
+    }
+
+    /**
+     * Number of common neighbours of u and v, by merging their sorted rows.
+     *
+     * @return size of the intersection of N(u) and N(v)
+     */
+    public int intersectionSize(int u, int v) {
+        int i = this.offsets[u], iEnd = this.offsets[u + 1];
+        int j = this.offsets[v], jEnd = this.offsets[v + 1];
+        int common = 0;
+        while ( i < iEnd && j < jEnd ) {
+            int a = this.targets[i], b = this.targets[j];
+            if ( a < b ) {
+                i++;
+            } else if ( a > b ) {
+                j++;
+            } else {
+                if ( a != u && a != v ) {
+                    common++;
+                }
+                i++;
+                j++;
+            }
+        }
+        return common;
+    }
+
+    /**
+     * Largest edge weight when every weight is a non-negative integer, which lets shortest path searches use
+     * integer bucket queues. Computed once when the snapshot is built.
+     *
+     * @return the largest weight, or -1 if some weight is negative or fractional
+     *         runtime O(1)
+     */
+    public int maxIntegerWeight() {
+        return this.maxIntegerWeight;
+    }
+
+    /**
+     * Checks if this graph carries no real weights: every weight is 1, or every weight is 0 as the loaders store
+     * for edge lines without a weight. Path lengths of such a graph are hop counts.
+     *
+     * @return true if every edge has the same weight, 0 or 1.
+     *         runtime O(1)
+     */
+    public boolean isUnweighted() {
+        return this.unweighted;
+    }
+
+    /**
+     * Row offsets, of length verticesCount() + 1. The array is shared, not copied, and must not be modified.
+     *
+     * @return the offsets
+     */
+    public int[] offsets() {
+        return this.offsets;
+    }
+
+    /**
+     * Dense target ids of all rows. The array is shared, not copied, and must not be modified.
+     *
+     * @return the targets
+     */
+    public int[] targets() {
+        return this.targets;
+    }
+
+    /**
+     * Edge weights, parallel to targets(). The array is shared, not copied, and must not be modified.
+     *
+     * @return the weights
+     */
+    public double[] weights() {
+        return this.weights;
+    }
+
+    /**
+     * Returns the vertex of the source graph for dense id v.
+     *
+     * @param v
+     *         dense vertex id
+     *
+     * @return the vertex
+     */
+    public E label(int v) {
+        return this.labels.get (v);
+    }
+
+    /**
+     * Returns the dense id of vertex v of the source graph.
+     * Throws IllegalArgumentException if vertex doesn't exists in this graph.
+     *
+     * @param v
+     *         the vertex
+     *
+     * @return dense id of v
+     */
+    public int indexOf(E v) {
+        int id = ids ().indexOf (v);
+        if ( id < 0 ) {
+            throw new IllegalArgumentException ("Vertex " + v + " is doesn't exists");
+        }
+        return id;
+    }
+
+    private VertexIds<E> ids() {
+        VertexIds<E> ids = this.ids;
+        if ( ids == null ) {
+            synchronized ( this ) {
+                ids = this.ids;
+                if ( ids == null ) {
+                    ids = ObjectIds.of (this.labels);
+                    this.ids = ids;
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Vertices of the source graph, in dense id order.
+     *
+     * @return unmodifiable list of vertices
+     */
+    public List<E> vertices() {
+        return this.labels;
+    }
+
+    /**
+     * toString method is overridden to represent graph.
+     *
+     * @return Adjacency list representation of this graph.
+     */
+    @Override public String toString() {
+        StringBuilder stringBuilder = new StringBuilder ();
+        for ( int v = 0 ; v < verticesCount () ; v++ ) {
+            stringBuilder.append (label (v)).append (" -> [");
+            for ( int i = this.offsets[v] ; i < this.offsets[v + 1] ; i++ ) {
+                if ( i > this.offsets[v] ) {
+                    stringBuilder.append (", ");
+                }
+                stringBuilder.append ("[").append (label (this.targets[i])).append ("|(").append (this.weights[i])
+                        .append (")]");
+            }
+            stringBuilder.append ("]\n");
+        }
+        return stringBuilder.toString ();
+    }
+}
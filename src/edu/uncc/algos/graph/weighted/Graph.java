@@ -10,6 +10,8 @@ public interface Graph<E> {
 
     void addEdge(E src, E dest, double w);
 
+    void removeEdge(E src, E dest);
+
     int edgesCount();
 
     int verticesCount();
@@ -0,0 +1,488 @@
+package edu.uncc.algos.graph.weighted;
+
+import edu.uncc.algos.graph.IntIds;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A Undirected Weighted Graph ADT for int vertices, backed by primitive arrays instead of Edge objects.
+ * Vertices are interned to dense ids with an IntIds table. The adjacency of every vertex is a growable int[] of
+ * neighbour ids with a parallel double[] of weights, so an edge costs 24 bytes plus array slack, against 150+ bytes
+ * for the two Edge objects, LinkedHashSet nodes and boxed keys of UndirectedGraph. Rows are unordered; a row is
+ * scanned to find a neighbour until it grows past INDEX_DEGREE entries, then it gets an open addressing index of
+ * positions, so the duplicate check of addEdge stays constant time for hubs. degree and strength read the row
+ * arrays directly and never allocate. This implementation is not thread safe.
+ * Semantics follow UndirectedGraph: a repeated edge keeps its first weight and a self loop is stored once and not
+ * counted in edgesCount(). freeze() gives the same snapshot as UndirectedGraph.freeze() on the same edges.
+ * Instance Methods -
+ * 1. public void addVertex(int v) - Adds new vertex to graph.
+ * 2. public void addEdge(int src, int dest, double w) - Adds an edge for set of vertices. This method throw an
+ * IndexOutOfBoundsException if source or destination vertex is not in this graph.
+ * 3. public void removeEdge(Integer src, Integer dest) - Removes an edge between two vertices.
+ * 4. public int edgesCount() - Returns number of edges in this graph.
+ * 5. public int verticesCount() - Returns number of vertices in this graph.
+ * 6. public int degree(int v) - Returns the degree of a vertex v.
+ * 7. public double strength(int v) - Returns the strength for a vertex v.
+ * 8. public double cCoefficient(int v) - Returns the Clustering coefficient of a vertex v.
+ * 9. public CsrGraph<Integer> freeze() - Returns an immutable compressed-sparse-row snapshot of this graph.
+ *
+ * @author venky
+ */
+public class IntUndirectedGraph implements Graph<Integer> {
+    /**
+     * rows up to this degree are scanned, longer rows are indexed.
+     */
+    static final int INDEX_DEGREE = 32;
+
+    private final IntIds ids;
+    private int[][] neighbours;
+    private double[][] weights;
+    private int[] degrees;
+    /**
+     * per row open addressing table of position + 1, null while the row is short.
+     */
+    private int[][] index;
+    private int edges = 0;
+
+    /**
+     * Instantiates a new IntUndirectedGraph.
+     */
+    public IntUndirectedGraph() {
+        this (16);
+    }
+
+    /**
+     * Instantiates a new IntUndirectedGraph with room for some vertices.
+     *
+     * @param expectedVertices
+     *         vertices to make room for
+     */
+    public IntUndirectedGraph(int expectedVertices) {
+        int capacity = Math.max (16, expectedVertices);
+        this.ids = new IntIds (capacity);
+        this.neighbours = new int[capacity][];
+        this.weights = new double[capacity][];
+        this.degrees = new int[capacity];
+        this.index = new int[capacity][];
+    }
+
+    /**
+     * Adds new vertex to this graph.
+     * Throws IllegalArgumentException if the vertex is already in this graph.
+     *
+     * @param v
+     *         the v
+     *         runtime O(1) - average case
+     */
+    public void addVertex(int v) {
+        int n = this.ids.size ();
+        if ( this.ids.intern (v) != n ) {
+            throw new IllegalArgumentException ("Vertex already exists in this graph - " + v);
+        }
+        if ( n == this.degrees.length ) {
+            int grown = n * 2;
+            this.neighbours = Arrays.copyOf (this.neighbours, grown);
+            this.weights = Arrays.copyOf (this.weights, grown);
+            this.degrees = Arrays.copyOf (this.degrees, grown);
+            this.index = Arrays.copyOf (this.index, grown);
+        }
+    }
+
+    @Override public void addVertex(Integer v) {
+        addVertex (v.intValue ());
+    }
+
+    /**
+     * Adds an edge for set of vertices. This method throw an IndexOutOfBoundsException if source or destination
+     * vertex is not in this graph.
+     *
+     * @param src
+     *         the src vertex.
+     * @param dest
+     *         the destination vertex.
+     * @param w
+     *         weight of this edge.
+     *         runtime O(1) - amortized
+     */
+    public void addEdge(int src, int dest, double w) {
+        int u = this.ids.indexOf (src), v = this.ids.indexOf (dest);
+        if ( u < 0 || v < 0 ) {
+            throw new IndexOutOfBoundsException ("Invalid source or destination vertex");
+        }
+        if ( find (u, v) >= 0 ) {
+            return;
+        }
+        append (u, v, w);
+        if ( u != v ) {
+            append (v, u, w);
+            this.edges += 1;
+        }
+    }
+
+    @Override public void addEdge(Integer src, Integer dest, double w) {
+        addEdge (src.intValue (), dest.intValue (), w);
+    }
+
+    /**
+     * Removes an edge from this graph.
+     * Throw IllegalArgumentException if source or destination vertices are not in this graph.
+     * Throw UnsupportedOperationException if there is no edge between source, and destination vertices.
+     *
+     * @param src
+     *         the source
+     * @param dest
+     *         the destination
+     *         runtime O(1) for indexed rows, O(degree) otherwise
+     */
+    public void removeEdge(int src, int dest) {
+        int u = this.ids.indexOf (src), v = this.ids.indexOf (dest);
+        if ( u < 0 || v < 0 ) {
+            throw new IllegalArgumentException ("Invalid source or destination vertex");
+        }
+        int p = find (u, v);
+        if ( p < 0 ) {
+            throw new UnsupportedOperationException ("No edge exists between vertices");
+        }
+        removeAt (u, p);
+        if ( u != v ) {
+            removeAt (v, find (v, u));
+            this.edges -= 1;
+        }
+    }
+
+    @Override public void removeEdge(Integer src, Integer dest) {
+        removeEdge (src.intValue (), dest.intValue ());
+    }
+
+    /**
+     * Checks if there is an edge between two vertices.
+     * Throws IllegalArgumentException if a vertex doesn't exists in this graph.
+     *
+     * @return true if src and dest are adjacent.
+     *         runtime O(1) for indexed rows, O(degree) otherwise
+     */
+    public boolean hasEdge(int src, int dest) {
+        return find (id (src), id (dest)) >= 0;
+    }
+
+    /**
+     * Returns number of edges in this graph.
+     *
+     * @return number of edges.
+     *         runtime O(1)
+     */
+    @Override public int edgesCount() {
+        return this.edges;
+    }
+
+    /**
+     * Returns number of vertices in this graph.
+     *
+     * @return number of vertices.
+     *         runtime O(1)
+     */
+    @Override public int verticesCount() {
+        return this.ids.size ();
+    }
+
+    /**
+     * Vertices list, in the order they were added.
+     *
+     * @return the vertices in this graph.
+     */
+    @Override public List<Integer> vertices() {
+        return new ArrayList<> (this.ids.labels ());
+    }
+
+    /**
+     * Returns the degree of a vertex.
+     * This method throws IllegalArgumentException if vertex is not part of this graph.
+     *
+     * @param v
+     *         vertex
+     *
+     * @return degree of v.
+     *         Runtime O(1) - average case
+     */
+    public int degree(int v) {
+        return this.degrees[id (v)];
+    }
+
+    @Override public int degree(Integer v) {
+        return degree (v.intValue ());
+    }
+
+    /**
+     * Returns the strength of a vertex in this graph, throws IllegalArgumentException if vertex doesn't exists in
+     * this graph.
+     *
+     * @param v
+     *         vertex
+     *
+     * @return strength of v
+     *         Runtime - O(degree(v))
+     */
+    public double strength(int v) {
+        int u = id (v);
+        double[] w = this.weights[u];
+        double st = 0;
+        for ( int i = 0 ; i < this.degrees[u] ; i++ ) {
+            st += w[i];
+        }
+        return st;
+    }
+
+    @Override public double strength(Integer v) {
+        return strength (v.intValue ());
+    }
+
+    @Override public double clusteringCoefficient(Integer v) {
+        return cCoefficient (v.intValue ());
+    }
+
+    /**
+     * Clustering coefficient of a vertex v.
+     * Clustering coefficient is defined as CC(v) = 2Nv / Kv (Kv -1)
+     * where
+     * v is a vertex
+     * Kv is Degree of vertex v
+     * Nv is # of links between neighbours of v.
+     * Every neighbour row is intersected with the row of v by lookups into the longer of the two.
+     *
+     * @param v
+     *         the vertex.
+     *
+     * @return the double clustering coefficient of v.
+     *         Run time
+     *         O(sum of min(degree(v), degree(u)) over neighbours u of v)
+     */
+    public double cCoefficient(int v) {
+        int s = id (v);
+        int kv = this.degrees[s];
+        if ( kv < 2 ) {
+            return 0.0;
+        }
+        long links = 0;
+        int[] row = this.neighbours[s];
+        for ( int i = 0 ; i < kv ; i++ ) {
+            int u = row[i];
+            if ( u == s ) {
+                continue;
+            }
+            // walk the shorter row, look up in the longer one
+            int a = this.degrees[u] <= kv ? u : s, b = a == u ? s : u;
+            int[] scan = this.neighbours[a];
+            for ( int j = 0 ; j < this.degrees[a] ; j++ ) {
+                int x = scan[j];
+                if ( x != s && x != u && find (b, x) >= 0 ) {
+                    links++;
+                }
+            }
+        }
+        double nv = links / 2;
+        return (2 * nv) / (( double ) kv * (kv - 1));
+    }
+
+    @Override public double cCoefficient(Integer v) {
+        return cCoefficient (v.intValue ());
+    }
+
+    /**
+     * Gets list of neighbour vertices.
+     * Throws IllegalArgumentException if vertex doesn't exists in this graph.
+     *
+     * @param v
+     *         the vertex
+     *
+     * @return the list
+     *         Runtime - O(degree(v))
+     */
+    public List<Edge<Integer>> getNeighbours(int v) {
+        int u = id (v);
+        List<Edge<Integer>> list = new ArrayList<> (this.degrees[u]);
+        for ( int i = 0 ; i < this.degrees[u] ; i++ ) {
+            list.add (new Edge<> (this.ids.intLabel (this.neighbours[u][i]), this.weights[u][i]));
+        }
+        return list;
+    }
+
+    /**
+     * Returns an immutable compressed-sparse-row snapshot of this graph, vertices numbered in ascending order.
+     * Later changes to this graph are not reflected in the snapshot.
+     *
+     * @return the CSR snapshot
+     *         runtime - O(v log v + e log d)
+     */
+    public CsrGraph<Integer> freeze() {
+        int n = this.ids.size ();
+        // renumber in ascending label order, like UndirectedGraph.freeze()
+        long[] order = new long[n];
+        for ( int u = 0 ; u < n ; u++ ) {
+            order[u] = (( long ) this.ids.intLabel (u) << 32) | u;
+        }
+        Arrays.sort (order);
+        int[] labels = new int[n];
+        int[] rank = new int[n];
+        for ( int i = 0 ; i < n ; i++ ) {
+            labels[i] = ( int ) (order[i] >> 32);
+            rank[( int ) order[i]] = i;
+        }
+        CsrBuilder builder = new CsrBuilder (n, this.edges + n);
+        for ( int i = 0 ; i < n ; i++ ) {
+            int u = ( int ) order[i];
+            for ( int j = 0 ; j < this.degrees[u] ; j++ ) {
+                int v = rank[this.neighbours[u][j]];
+                if ( i <= v ) {
+                    builder.addEdge (i, v, this.weights[u][j]);
+                }
+            }
+        }
+        return builder.build (IntIds.of (labels));
+    }
+
+    /**
+     * toString method is overridden to represent graph.
+     *
+     * @return Adjacency list representation of this graph.
+     *         runtime - O(v + e)
+     */
+    @Override public String toString() {
+        StringBuilder stringBuilder = new StringBuilder ();
+        for ( int u = 0 ; u < this.ids.size () ; u++ ) {
+            stringBuilder.append (this.ids.intLabel (u)).append (" -> ");
+            for ( int i = 0 ; i < this.degrees[u] ; i++ ) {
+                stringBuilder.append (new Edge<> (this.ids.intLabel (this.neighbours[u][i]), this.weights[u][i]));
+            }
+            stringBuilder.append ("\n");
+        }
+        return stringBuilder.toString ();
+    }
+
+    private int id(int v) {
+        int u = this.ids.indexOf (v);
+        if ( u < 0 ) {
+            throw new IllegalArgumentException ("Vertex " + v + " is doesn't exists");
+        }
+        return u;
+    }
+
+    /**
+     * Position of dense vertex x in the row of u, or -1.
+     */
+    private int find(int u, int x) {
+        int[] row = this.neighbours[u];
+        int[] table = this.index[u];
+        if ( table == null ) {
+            for ( int i = 0 ; i < this.degrees[u] ; i++ ) {
+                if ( row[i] == x ) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int mask = table.length - 1;
+        for ( int slot = hash (x) & mask ; table[slot] != 0 ; slot = (slot + 1) & mask ) {
+            if ( row[table[slot] - 1] == x ) {
+                return table[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    private void append(int u, int x, double w) {
+        int d = this.degrees[u];
+        if ( this.neighbours[u] == null ) {
+            this.neighbours[u] = new int[4];
+            this.weights[u] = new double[4];
+        } else if ( d == this.neighbours[u].length ) {
+            this.neighbours[u] = Arrays.copyOf (this.neighbours[u], d + (d >> 1));
+            this.weights[u] = Arrays.copyOf (this.weights[u], d + (d >> 1));
+        }
+        this.neighbours[u][d] = x;
+        this.weights[u][d] = w;
+        this.degrees[u] = d + 1;
+        int[] table = this.index[u];
+        if ( table == null ) {
+            if ( d + 1 > INDEX_DEGREE ) {
+                reindex (u);
+            }
+        } else if ( (d + 1) * 2 > table.length ) {
+            reindex (u);
+        } else {
+            int mask = table.length - 1;
+            int slot = hash (x) & mask;
+            while ( table[slot] != 0 ) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = d + 1;
+        }
+    }
+
+    /**
+     * Removes position p of the row of u by moving the last entry into it.
+     */
+    private void removeAt(int u, int p) {
+        int last = this.degrees[u] - 1;
+        int[] row = this.neighbours[u];
+        if ( this.index[u] != null ) {
+            unindex (u, p);
+            if ( p != last ) {
+                int[] table = this.index[u];
+                int mask = table.length - 1;
+                int slot = hash (row[last]) & mask;
+                while ( table[slot] != last + 1 ) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = p + 1;
+            }
+        }
+        row[p] = row[last];
+        this.weights[u][p] = this.weights[u][last];
+        this.degrees[u] = last;
+    }
+
+    /**
+     * Deletes the index slot of position p, shifting later slots of the probe run back.
+     */
+    private void unindex(int u, int p) {
+        int[] table = this.index[u];
+        int[] row = this.neighbours[u];
+        int mask = table.length - 1;
+        int hole = hash (row[p]) & mask;
+        while ( table[hole] != p + 1 ) {
+            hole = (hole + 1) & mask;
+        }
+        table[hole] = 0;
+        for ( int j = (hole + 1) & mask ; table[j] != 0 ; j = (j + 1) & mask ) {
+            int home = hash (row[table[j] - 1]) & mask;
+            // move the entry back unless its home lies cyclically in (hole, j]
+            boolean stays = hole <= j ? (home > hole && home <= j) : (home > hole || home <= j);
+            if ( !stays ) {
+                table[hole] = table[j];
+                table[j] = 0;
+                hole = j;
+            }
+        }
+    }
+
+    private void reindex(int u) {
+        int d = this.degrees[u];
+        int[] table = new int[Integer.highestOneBit (d * 2 - 1) << 1];
+        int mask = table.length - 1;
+        for ( int i = 0 ; i < d ; i++ ) {
+            int slot = hash (this.neighbours[u][i]) & mask;
+            while ( table[slot] != 0 ) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = i + 1;
+        }
+        this.index[u] = table;
+    }
+
+    private static int hash(int x) {
+        int h = x * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -1,5 +1,7 @@
 package edu.uncc.algos.graph.weighted;
 
+import edu.uncc.algos.graph.GraphListener;
+
 import java.util.*;
 
 /**
@@ -21,6 +23,9 @@ import java.util.*;
  * 5. public int degree() - Returns the degree of a vertex v.
  * 6. public double strength() - Returns the strength for a vertex v.
  * 7. public double clusteringCoefficient() - Returns the Clustering coefficient of a vertex v.
+ * 8. public CsrGraph<E> freeze() - Returns an immutable compressed-sparse-row snapshot of this graph for analytics.
+ * 9. public void removeEdge(E src, E dest) - Removes an edge between two vertices.
+ * 10. public void addListener(GraphListener<E> listener) - Registers a listener for changes of this graph.
  *
  * @param <E>
  *         the type parameter
@@ -39,6 +44,11 @@ public class UndirectedGraph<E> implements Graph<E> {
      */
     private Map<E, Set<Edge<E>>> graph;
 
+    /**
+     * listeners notified of every change.
+     */
+    private final List<GraphListener<E>> listeners = new ArrayList<> ();
+
     /**
      * Instantiates a new UndirectedGraph.
      */
@@ -77,6 +87,9 @@ public class UndirectedGraph<E> implements Graph<E> {
         }
         this.graph.put (v, new LinkedHashSet<Edge<E>> ());
         this.numberOfVertices += 1;
+        for ( GraphListener<E> l : this.listeners ) {
+            l.vertexAdded (v);
+        }
     }
 
     /**
@@ -102,7 +115,7 @@ public class UndirectedGraph<E> implements Graph<E> {
         }
 
         Edge e = new Edge (dest, w);
-        edgeAdded = this.graph.get (src).add (e);
+        boolean newEdge = this.graph.get (src).add (e);
 
         e = new Edge (src, w);
         edgeAdded = this.graph.get (dest).add (e);
@@ -110,6 +123,65 @@ public class UndirectedGraph<E> implements Graph<E> {
         if ( edgeAdded ) {
             this.edges += 1;
         }
+        if ( newEdge ) {
+            for ( GraphListener<E> l : this.listeners ) {
+                l.edgeAdded (src, dest, w);
+            }
+        }
+    }
+
+    /**
+     * Removes an edge from this graph.
+     * Throw IllegalArgumentException if source or destination vertices are not in this graph.
+     * Throw UnsupportedOperationException if there is no edge between source, and destination vertices.
+     *
+     * @param src
+     *         the source
+     * @param dest
+     *         the destination
+     *         runtime O(degree(src))
+     */
+    @Override public void removeEdge(E src, E dest) {
+        if ( !(this.graph.containsKey (src) && this.graph.containsKey (dest)) ) {
+            throw new IllegalArgumentException ("Invalid source or destination vertex");
+        }
+        Edge<E> removed = null;
+        for ( Edge<E> e : this.graph.get (src) ) {
+            if ( e.getDest ().equals (dest) ) {
+                removed = e;
+                break;
+            }
+        }
+        if ( removed == null ) {
+            throw new UnsupportedOperationException ("No edge exists between vertices");
+        }
+        this.graph.get (src).remove (removed);
+        if ( this.graph.get (dest).remove (new Edge<> (src, removed.getW ())) ) {
+            this.edges -= 1;
+        }
+        for ( GraphListener<E> l : this.listeners ) {
+            l.edgeRemoved (src, dest, removed.getW ());
+        }
+    }
+
+    /**
+     * Registers a listener, notified after every change of this graph.
+     *
+     * @param listener
+     *         the listener
+     */
+    public void addListener(GraphListener<E> listener) {
+        this.listeners.add (Objects.requireNonNull (listener));
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener
+     *         the listener
+     */
+    public void removeListener(GraphListener<E> listener) {
+        this.listeners.remove (listener);
     }
 
 
@@ -324,6 +396,17 @@ public class UndirectedGraph<E> implements Graph<E> {
 
 
 
+    /**
+     * Returns an immutable compressed-sparse-row snapshot of this graph, with vertices renumbered to dense ids.
+     * Later changes to this graph are not reflected in the snapshot.
+     *
+     * @return the CSR snapshot
+     *         runtime - O(v + e log d)
+     */
+    public CsrGraph<E> freeze() {
+        return CsrGraph.of (this.graph, this.edges);
+    }
+
     /**
      * toString method is overridden to represent graph.
      *
@@ -341,9 +424,13 @@ public class UndirectedGraph<E> implements Graph<E> {
         return stringBuilder.toString ();
     }
 
+    /**
+     * Orders edges by weight. Compares the doubles directly, a difference cast to int would treat weights less
+     * than 1 apart as equal.
+     */
     public Comparator<Edge<E>> weightComparator = new Comparator<Edge<E>> () {
         @Override public int compare(Edge<E> o1, Edge<E> o2) {
-            return ( int ) (o1.getW () - o2.getW ());
+            return Double.compare (o1.getW (), o2.getW ());
         }
     };
     /**
@@ -0,0 +1,438 @@
+package edu.uncc.algos.topology;
+
+import edu.uncc.algos.graph.unweighted.DirectedCsrGraph;
+import edu.uncc.algos.graph.weighted.CsrGraph;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+/**
+ * Parallel all-pairs shortest path engine for the characteristic path length of a CSR snapshot.
+ * The single-source searches are independent, so the range of sources is split recursively over a fork/join pool.
+ * Every worker thread keeps one ShortestPathSearch, and with it one distance buffer, for the whole run.
+ * The path length sum of every source is stored in its own slot and the slots are added up in source order at the
+ * end, so the result is bit-for-bit the same for any number of threads.
+ * The single-source algorithm is chosen per graph by the SsspMode, AUTO by default: graphs whose weights are all
+ * non-negative integers (as in every edge file TopologyUtil.loadGraph reads) small next to the number of edges get
+ * Dial's bucket queue, other graphs get Dijkstra. setMode overrides the choice.
+ * Unweighted graphs, all weights 1 or all weights 0 as for edge lines without a weight, get hop counts from a
+ * multi-source BFS instead: 64 sources share one traversal with a bit per source (see MultiSourceBfs), and the
+ * batches of sources are split over the pool the same way. Directed graphs are unweighted and always take this path,
+ * along the edges and over ordered pairs.
+ * The characteristic path length counts unreachable pairs as -1 for compatibility, which means little for a
+ * disconnected graph. componentPathLengths searches every connected component on its own instead, and averages only
+ * over connected pairs.
+ *
+ * @author venky
+ */
+public class AllPairsPathLength {
+    /**
+     * fewest sources a task runs before it stops splitting.
+     */
+    private static final int MIN_SOURCES_PER_TASK = 4;
+    /**
+     * fewest batches of MultiSourceBfs.WIDTH sources a task runs before it stops splitting.
+     */
+    private static final int MIN_BATCHES_PER_TASK = 1;
+    /**
+     * components smaller than this are searched on one thread each.
+     */
+    private static final int MIN_VERTICES_PER_COMPONENT = 1024;
+
+    private final ForkJoinPool pool;
+    private SsspMode mode = SsspMode.AUTO;
+
+    /**
+     * Instantiates a new AllPairsPathLength on the common fork/join pool.
+     */
+    public AllPairsPathLength() {
+        this (ForkJoinPool.commonPool ());
+    }
+
+    /**
+     * Instantiates a new AllPairsPathLength on the given pool.
+     *
+     * @param pool
+     *         the pool to run searches on
+     */
+    public AllPairsPathLength(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Selects the single-source algorithm, SsspMode.AUTO picks one from the weights of each graph.
+     *
+     * @param mode
+     *         the mode
+     */
+    public void setMode(SsspMode mode) {
+        this.mode = Objects.requireNonNull (mode);
+    }
+
+    public SsspMode getMode() {
+        return this.mode;
+    }
+
+    /**
+     * Sum of shortest path lengths over every unordered pair of vertices. Unreachable pairs count as -1.
+     * Runtime - O(v * e log v) work with Dijkstra, O(v * (e + v * C)) with Dial, O(v / 64 * d * (e + v)) with BFS
+     * for a graph of diameter d, spread over the pool.
+     *
+     * @param graph
+     *         the graph
+     *
+     * @return the total path length
+     */
+    public double totalPathLength(CsrGraph<?> graph) {
+        double total = 0;
+        for ( double sum : search (graph, this.mode.resolve (graph))[0] ) {
+            total += sum;
+        }
+        return total;
+    }
+
+    /**
+     * Diameter, the longest shortest path between two vertices that are connected. Unreachable pairs are ignored,
+     * so a disconnected graph gets the largest diameter of its components.
+     * Runtime - the same as totalPathLength.
+     *
+     * @param graph
+     *         the graph
+     *
+     * @return the diameter, 0 for a graph without edges
+     */
+    public double diameter(CsrGraph<?> graph) {
+        double diameter = 0;
+        for ( double d : search (graph, this.mode.resolve (graph))[1] ) {
+            diameter = Math.max (diameter, d);
+        }
+        return diameter;
+    }
+
+    /**
+     * Sum of hop counts over every ordered pair of vertices of a directed graph, along the edges. Unreachable pairs
+     * count as -1.
+     * Runtime - O(v / 64 * d * (e + v)) for a graph of diameter d, spread over the pool.
+     *
+     * @param graph
+     *         the graph
+     *
+     * @return the total path length
+     */
+    public double totalPathLength(DirectedCsrGraph<?> graph) {
+        double total = 0;
+        for ( double sum : searchBatches (graph.verticesCount (), () -> new MultiSourceBfs (graph))[0] ) {
+            total += sum;
+        }
+        return total;
+    }
+
+    /**
+     * Characteristic path length of a directed graph, the total path length over ordered pairs divided by v(v-1).
+     *
+     * @param graph
+     *         the graph
+     *
+     * @return the characteristic path length
+     */
+    public double characteristicPathLength(DirectedCsrGraph<?> graph) {
+        int n = graph.verticesCount ();
+        return totalPathLength (graph) / (( double ) n * (n - 1));
+    }
+
+    /**
+     * Diameter of a directed graph, the longest hop count from a vertex to another vertex it reaches.
+     *
+     * @param graph
+     *         the graph
+     *
+     * @return the diameter, 0 for a graph without edges
+     */
+    public double diameter(DirectedCsrGraph<?> graph) {
+        double diameter = 0;
+        for ( double d : searchBatches (graph.verticesCount (), () -> new MultiSourceBfs (graph))[1] ) {
+            diameter = Math.max (diameter, d);
+        }
+        return diameter;
+    }
+
+    /**
+     * Path lengths within the connected components of a graph, see componentPathLengths(ConnectedComponents).
+     * Runtime - O(v + e) for the components, then as componentPathLengths(ConnectedComponents)
+     *
+     * @param graph
+     *         the graph
+     *
+     * @return the path lengths of every component
+     */
+    public <E> ComponentPathLengths<E> componentPathLengths(CsrGraph<E> graph) {
+        return componentPathLengths (ConnectedComponents.of (graph));
+    }
+
+    /**
+     * Path lengths within the connected components of a graph. Every component is searched on its own subgraph,
+     * so sources only visit their own component and no pair across components is ever searched. The single-source
+     * algorithm is resolved once for the whole graph. Components of at least MIN_VERTICES_PER_COMPONENT vertices
+     * are searched one after the other with all sources split over the pool, the smaller ones are split over the
+     * pool a component at a time, each searched on one thread. The results are reduced in component order, so
+     * they are the same for any number of threads.
+     * Runtime - O(sum over components of s * e_s log s) with Dijkstra, O(sum of s / 64 * d_s * (e_s + s)) with
+     * BFS, for components of s vertices, e_s edges and diameter d_s
+     *
+     * @param components
+     *         the components of a graph, from ConnectedComponents.of
+     *
+     * @return the path lengths of every component
+     */
+    public <E> ComponentPathLengths<E> componentPathLengths(ConnectedComponents<E> components) {
+        SsspMode resolved = this.mode.resolve (components.graph ());
+        int count = components.count ();
+        double[][] results = new double[3][count];
+        int[] small = new int[count];
+        int smallCount = 0;
+        for ( int c = 0 ; c < count ; c++ ) {
+            if ( components.size (c) >= MIN_VERTICES_PER_COMPONENT ) {
+                double[][] rows = search (components.subgraph (c), resolved);
+                for ( int k = 0 ; k < rows[0].length ; k++ ) {
+                    results[0][c] += rows[0][k];
+                    results[1][c] = Math.max (results[1][c], rows[1][k]);
+                    results[2][c] += rows[2][k];
+                }
+            } else if ( components.size (c) > 1 ) {
+                small[smallCount++] = c;
+            }
+        }
+        if ( smallCount > 0 ) {
+            int threshold = Math.max (1, smallCount / (this.pool.getParallelism () * 8));
+            this.pool.invoke (new ComponentRange (components, resolved, results, small, 0, smallCount, threshold));
+        }
+        return new ComponentPathLengths<> (components, results[0], results[1], results[2]);
+    }
+
+    /**
+     * Runs the searches of a resolved mode over the pool, returns the path length sum, the farthest distance and
+     * the reciprocal distance sum of every source, or of every batch of sources for BFS.
+     */
+    private double[][] search(CsrGraph<?> graph, SsspMode resolved) {
+        if ( resolved == SsspMode.BFS ) {
+            return searchBatches (graph.verticesCount (), () -> new MultiSourceBfs (graph));
+        }
+        return searchSources (graph, resolved);
+    }
+
+    /**
+     * Runs a search from every source, returns the path length sum, the farthest distance and the reciprocal
+     * distance sum of every source.
+     */
+    private double[][] searchSources(CsrGraph<?> graph, SsspMode resolved) {
+        int n = graph.verticesCount ();
+        double[][] results = new double[3][n];
+        ThreadLocal<ShortestPathSearch> searches = ThreadLocal.withInitial (() -> resolved.newSearch (graph));
+        int threshold = Math.max (MIN_SOURCES_PER_TASK, n / (this.pool.getParallelism () * 8));
+        this.pool.invoke (new SourceRange (searches, results, 0, n, threshold));
+        return results;
+    }
+
+    /**
+     * Runs a multi-source BFS from every batch of sources, returns the path length sum, the farthest distance and
+     * the reciprocal distance sum of every batch.
+     */
+    private double[][] searchBatches(int n, Supplier<MultiSourceBfs> search) {
+        int batches = (n + MultiSourceBfs.WIDTH - 1) / MultiSourceBfs.WIDTH;
+        double[][] results = new double[3][batches];
+        ThreadLocal<MultiSourceBfs> searches = ThreadLocal.withInitial (search);
+        int threshold = Math.max (MIN_BATCHES_PER_TASK, batches / (this.pool.getParallelism () * 8));
+        this.pool.invoke (new BatchRange (searches, results, n, 0, batches, threshold));
+        return results;
+    }
+
+    /**
+     * Characteristic path length, the total path length divided by v(v-1).
+     *
+     * @param graph
+     *         the graph
+     *
+     * @return the characteristic path length
+     */
+    public double characteristicPathLength(CsrGraph<?> graph) {
+        int n = graph.verticesCount ();
+        return totalPathLength (graph) / (( double ) n * (n - 1));
+    }
+
+    /**
+     * Path length sum of a single source over every other vertex, for the estimates of SampledPathLength.
+     */
+    static double rowSum(double[] distance, int source) {
+        double sum = 0;
+        for ( int t = 0 ; t < distance.length ; t++ ) {
+            if ( t != source ) {
+                sum += pathLength (distance[t]);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Stores the path length sum, the farthest distance and the reciprocal distance sum of source s in slot of
+     * results, over the targets after s.
+     */
+    private static void sourceStats(double[] distance, int s, double[][] results, int slot) {
+        double sum = 0, farthest = 0, reciprocal = 0;
+        for ( int t = s + 1 ; t < distance.length ; t++ ) {
+            sum += pathLength (distance[t]);
+            if ( distance[t] != Double.POSITIVE_INFINITY ) {
+                farthest = Math.max (farthest, distance[t]);
+                reciprocal += distance[t] > 0 ? 1 / distance[t] : 0;
+            }
+        }
+        results[0][slot] = sum;
+        results[1][slot] = farthest;
+        results[2][slot] = reciprocal;
+    }
+
+    /**
+     * Contribution of one pair to the total path length, unreachable pairs count as -1.
+     */
+    private static double pathLength(double distance) {
+        return distance == Double.POSITIVE_INFINITY ? -1 : distance;
+    }
+
+    /**
+     * Fork/join task over a range of sources. Each pair is counted once, from the source before the target.
+     */
+    private static class SourceRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final ThreadLocal<ShortestPathSearch> searches;
+        private final double[][] results;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        SourceRange(ThreadLocal<ShortestPathSearch> searches, double[][] results, int from, int to, int threshold) {
+            this.searches = searches;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override protected void compute() {
+            if ( to - from <= threshold ) {
+                ShortestPathSearch search = searches.get ();
+                for ( int s = from ; s < to ; s++ ) {
+                    sourceStats (search.distances (s), s, results, s);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll (new SourceRange (searches, results, from, mid, threshold),
+                    new SourceRange (searches, results, mid, to, threshold));
+        }
+    }
+
+    /**
+     * Fork/join task over a range of batches of MultiSourceBfs.WIDTH sources.
+     */
+    private static class BatchRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final ThreadLocal<MultiSourceBfs> searches;
+        private final double[][] results;
+        private final int n;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        BatchRange(ThreadLocal<MultiSourceBfs> searches, double[][] results, int n, int from, int to, int threshold) {
+            this.searches = searches;
+            this.results = results;
+            this.n = n;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override protected void compute() {
+            if ( to - from <= threshold ) {
+                MultiSourceBfs search = searches.get ();
+                for ( int b = from ; b < to ; b++ ) {
+                    int base = b * MultiSourceBfs.WIDTH;
+                    search.search (base, Math.min (MultiSourceBfs.WIDTH, n - base));
+                    results[0][b] = search.sum ();
+                    results[1][b] = search.eccentricity ();
+                    results[2][b] = search.reciprocal ();
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll (new BatchRange (searches, results, n, from, mid, threshold),
+                    new BatchRange (searches, results, n, mid, to, threshold));
+        }
+    }
+
+    /**
+     * Fork/join task over a range of small components, each searched from all its sources on one thread, on its
+     * own subgraph. Stores the totals of every component in its slot.
+     */
+    private static class ComponentRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final ConnectedComponents<?> components;
+        private final SsspMode resolved;
+        private final double[][] results;
+        private final int[] list;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        ComponentRange(ConnectedComponents<?> components, SsspMode resolved, double[][] results, int[] list,
+                       int from, int to, int threshold) {
+            this.components = components;
+            this.resolved = resolved;
+            this.results = results;
+            this.list = list;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override protected void compute() {
+            if ( to - from <= threshold ) {
+                for ( int i = from ; i < to ; i++ ) {
+                    search (list[i]);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll (new ComponentRange (components, resolved, results, list, from, mid, threshold),
+                    new ComponentRange (components, resolved, results, list, mid, to, threshold));
+        }
+
+        private void search(int c) {
+            CsrGraph<?> graph = components.subgraph (c);
+            int n = graph.verticesCount ();
+            double sum = 0, farthest = 0, reciprocal = 0;
+            if ( resolved == SsspMode.BFS ) {
+                MultiSourceBfs search = new MultiSourceBfs (graph);
+                for ( int base = 0 ; base < n ; base += MultiSourceBfs.WIDTH ) {
+                    search.search (base, Math.min (MultiSourceBfs.WIDTH, n - base));
+                    sum += search.sum ();
+                    farthest = Math.max (farthest, search.eccentricity ());
+                    reciprocal += search.reciprocal ();
+                }
+            } else {
+                ShortestPathSearch search = resolved.newSearch (graph);
+                double[][] source = new double[3][1];
+                for ( int s = 0 ; s < n ; s++ ) {
+                    sourceStats (search.distances (s), s, source, 0);
+                    sum += source[0][0];
+                    farthest = Math.max (farthest, source[1][0]);
+                    reciprocal += source[2][0];
+                }
+            }
+            results[0][c] = sum;
+            results[1][c] = farthest;
+            results[2][c] = reciprocal;
+        }
+    }
+}
@@ -0,0 +1,456 @@
+package edu.uncc.algos.topology;
+
+import edu.uncc.algos.graph.weighted.CsrGraph;
+import edu.uncc.algos.util.EdgeListParser;
+import edu.uncc.algos.util.UnionFind;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Analyses many graphs concurrently, for batch runs without a terminal.
+ * Every graph is loaded from its node / edge file pair with EdgeListParser and analysed as one task on a bounded
+ * fork/join pool, whose workers also run the parallel engines of that graph. Two limits keep a batch of thousands of
+ * graphs within the heap:
+ * - at most maxGraphs graphs are loaded at the same time, and
+ * - every graph reserves an estimate of its memory from the budget before it is loaded, and gives it back when it is
+ * done. The estimate is MEMORY_PER_EDGE_BYTE bytes per byte of its edge file and MEMORY_PER_NODE_BYTE bytes per byte
+ * of its node file, which covers the CSR arrays, the builder and the per-thread search buffers with some room. A
+ * graph larger than the whole budget runs alone.
+ * Graphs are admitted in input order and their results are handed to the sink in input order, on the calling thread,
+ * as soon as every earlier graph is done. A graph that fails gets a Result with its error, the others go on.
+ *
+ * @author venky
+ */
+public class BatchAnalyzer {
+    /**
+     * bytes of heap reserved per byte of an edge file.
+     */
+    public static final long MEMORY_PER_EDGE_BYTE = 6;
+    /**
+     * bytes of heap reserved per byte of a node file.
+     */
+    public static final long MEMORY_PER_NODE_BYTE = 32;
+
+    /**
+     * The properties a batch can compute, each adds its columns to every Result.
+     */
+    public enum Property {
+        DEGREE ("averageDegree", "maxDegree"),
+        STRENGTH ("averageStrength", "maxStrength"),
+        CLUSTERING ("averageClustering", "transitivity", "triangles"),
+        COMPONENTS ("components", "giantComponent"),
+        PATH_LENGTH ("characteristicPathLength", "connectedPathLength", "harmonicPathLength", "diameter"),
+        SCALE_FREE ("scaleFree", "powerLawAlpha", "powerLawKMin", "powerLawTail");
+
+        private final List<String> columns;
+
+        Property(String... columns) {
+            this.columns = Collections.unmodifiableList (Arrays.asList (columns));
+        }
+
+        public List<String> columns() {
+            return this.columns;
+        }
+    }
+
+    /**
+     * A graph to analyse: its name in the results and its node and edge files.
+     */
+    public static class GraphFiles {
+        private final String name;
+        private final Path nodeFile;
+        private final Path edgeFile;
+
+        public GraphFiles(String name, Path nodeFile, Path edgeFile) {
+            this.name = name;
+            this.nodeFile = nodeFile;
+            this.edgeFile = edgeFile;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public Path getNodeFile() {
+            return this.nodeFile;
+        }
+
+        public Path getEdgeFile() {
+            return this.edgeFile;
+        }
+    }
+
+    /**
+     * Values of one graph, by column, and the error if it failed.
+     */
+    public static class Result {
+        private final String name;
+        private final Map<String, Object> values = new HashMap<> ();
+        private String error;
+
+        Result(String name) {
+            this.name = name;
+            this.values.put ("name", name);
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * Value of a column: a Number, a String, or null if it was not computed.
+         *
+         * @param column
+         *         the column
+         *
+         * @return the value
+         */
+        public Object get(String column) {
+            return this.values.get (column);
+        }
+
+        /**
+         * Error message of a graph that failed.
+         *
+         * @return the error, null if none
+         */
+        public String getError() {
+            return this.error;
+        }
+
+        public boolean isFailed() {
+            return this.error != null;
+        }
+
+        private void put(String column, Object value) {
+            this.values.put (column, value);
+        }
+
+        private void fail(Throwable e) {
+            String message = e.getMessage () == null ? e.getClass ().getSimpleName () : e.getMessage ();
+            this.error = this.error == null ? message : this.error + "; " + message;
+            this.values.put ("error", this.error);
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final Set<Property> properties;
+    private final Semaphore slots;
+    private final Semaphore memory;
+    private final int budget;
+    private DistributionCharts charts;
+    private Path chartDirectory;
+
+    /**
+     * Instantiates a new BatchAnalyzer.
+     * Throws IllegalArgumentException if maxGraphs or memoryBudget is not positive.
+     *
+     * @param pool
+     *         the pool graphs and their engines run on
+     * @param properties
+     *         the properties to compute
+     * @param maxGraphs
+     *         most graphs loaded at the same time
+     * @param memoryBudget
+     *         bytes of heap the loaded graphs may take together
+     */
+    public BatchAnalyzer(ForkJoinPool pool, Set<Property> properties, int maxGraphs, long memoryBudget) {
+        if ( maxGraphs < 1 || memoryBudget < 1 ) {
+            throw new IllegalArgumentException ("Graph and memory limits must be positive");
+        }
+        this.pool = pool;
+        this.properties = properties.isEmpty () ? EnumSet.noneOf (Property.class) : EnumSet.copyOf (properties);
+        this.slots = new Semaphore (maxGraphs, true);
+        // permits are megabytes, so budgets beyond 2 GB fit
+        this.budget = ( int ) Math.max (1, Math.min (Integer.MAX_VALUE, memoryBudget >> 20));
+        this.memory = new Semaphore (this.budget, true);
+    }
+
+    /**
+     * Also writes the degree, strength and clustering coefficient charts of every graph to directory, named after
+     * the graph, see DistributionCharts.
+     *
+     * @param charts
+     *         the chart exporter, null for no charts
+     * @param directory
+     *         existing directory to write to
+     */
+    public void setCharts(DistributionCharts charts, Path directory) {
+        this.charts = charts;
+        this.chartDirectory = directory;
+    }
+
+    /**
+     * Columns of every Result, in output order: name, vertices, edges, millis, the columns of the properties in
+     * Property order, and error.
+     *
+     * @return the columns
+     */
+    public List<String> columns() {
+        List<String> columns = new ArrayList<> (Arrays.asList ("name", "vertices", "edges", "millis"));
+        for ( Property property : this.properties ) {
+            columns.addAll (property.columns ());
+        }
+        columns.add ("error");
+        return columns;
+    }
+
+    /**
+     * Analyses graphs concurrently, see the class description.
+     *
+     * @param graphs
+     *         the graphs
+     * @param sink
+     *         receives the result of every graph, in input order, on the calling thread
+     *
+     * @return number of graphs that failed
+     *
+     * @throws InterruptedException
+     *         if the calling thread is interrupted while it waits for room, no more graphs are started then
+     */
+    public int run(List<GraphFiles> graphs, Consumer<Result> sink) throws InterruptedException {
+        List<ForkJoinTask<Result>> tasks = new ArrayList<> (graphs.size ());
+        int next = 0, failed = 0;
+        try {
+            for ( GraphFiles graph : graphs ) {
+                int megabytes = ( int ) Math.min (this.budget, Math.max (1, estimate (graph) >> 20));
+                this.slots.acquire ();
+                try {
+                    this.memory.acquire (megabytes);
+                } catch ( InterruptedException e ) {
+                    this.slots.release ();
+                    throw e;
+                }
+                tasks.add (this.pool.submit (() -> {
+                    try {
+                        return analyze (graph);
+                    } finally {
+                        this.memory.release (megabytes);
+                        this.slots.release ();
+                    }
+                }));
+                // hand over the results that are ready, so they don't wait for the whole batch
+                while ( next < tasks.size () && tasks.get (next).isDone () ) {
+                    failed += deliver (tasks.get (next++), sink);
+                }
+            }
+        } finally {
+            while ( next < tasks.size () ) {
+                failed += deliver (tasks.get (next++), sink);
+            }
+        }
+        return failed;
+    }
+
+    private static int deliver(ForkJoinTask<Result> task, Consumer<Result> sink) {
+        Result result = task.join ();
+        sink.accept (result);
+        return result.isFailed () ? 1 : 0;
+    }
+
+    /**
+     * Estimated heap needed to analyse a graph, from the sizes of its files, 0 if they can't be read.
+     */
+    static long estimate(GraphFiles graph) {
+        try {
+            return Files.size (graph.nodeFile) * MEMORY_PER_NODE_BYTE
+                    + Files.size (graph.edgeFile) * MEMORY_PER_EDGE_BYTE;
+        } catch ( IOException e ) {
+            return 0;
+        }
+    }
+
+    /**
+     * Loads and analyses one graph, on a worker of the pool. Never throws for a graph that can't be analysed, the
+     * error is in the result.
+     */
+    private Result analyze(GraphFiles files) {
+        Result result = new Result (files.name);
+        long start = System.nanoTime ();
+        try {
+            boolean components = this.properties.contains (Property.COMPONENTS)
+                    || this.properties.contains (Property.PATH_LENGTH);
+            UnionFind sets = components ? new UnionFind () : null;
+            CsrGraph<Integer> graph = new EdgeListParser (this.pool).load (files.nodeFile, files.edgeFile, sets);
+            int n = graph.verticesCount ();
+            result.put ("vertices", n);
+            result.put ("edges", graph.edgesCount ());
+
+            int[] degrees = new int[n];
+            double[] strengths = new double[n];
+            int maxDegree = 0;
+            double maxStrength = 0, degreeSum = 0, strengthSum = 0;
+            for ( int v = 0 ; v < n ; v++ ) {
+                degrees[v] = graph.degree (v);
+                strengths[v] = graph.strength (v);
+                maxDegree = Math.max (maxDegree, degrees[v]);
+                maxStrength = Math.max (maxStrength, strengths[v]);
+                degreeSum += degrees[v];
+                strengthSum += strengths[v];
+            }
+            int[] histogram = new int[maxDegree + 1];
+            for ( int k : degrees ) {
+                histogram[k]++;
+            }
+            if ( this.properties.contains (Property.DEGREE) ) {
+                result.put ("averageDegree", degreeSum / n);
+                result.put ("maxDegree", maxDegree);
+            }
+            if ( this.properties.contains (Property.STRENGTH) ) {
+                result.put ("averageStrength", strengthSum / n);
+                result.put ("maxStrength", maxStrength);
+            }
+            TriangleCounts triangles = null;
+            if ( this.properties.contains (Property.CLUSTERING) || this.charts != null ) {
+                triangles = new TriangleCounter (this.pool).count (graph);
+            }
+            if ( this.properties.contains (Property.CLUSTERING) ) {
+                result.put ("averageClustering", triangles.averageClustering ());
+                result.put ("transitivity", triangles.transitivity ());
+                result.put ("triangles", triangles.triangles ());
+            }
+            ConnectedComponents<Integer> parts = components ? ConnectedComponents.of (graph, sets) : null;
+            if ( this.properties.contains (Property.COMPONENTS) ) {
+                int largest = parts.largest ();
+                result.put ("components", parts.count ());
+                result.put ("giantComponent", largest < 0 ? 0 : parts.size (largest));
+            }
+            double cpl = Double.NaN;
+            if ( this.properties.contains (Property.PATH_LENGTH) ) {
+                ComponentPathLengths<Integer> lengths =
+                        new AllPairsPathLength (this.pool).componentPathLengths (parts);
+                cpl = legacyPathLength (lengths, n);
+                result.put ("characteristicPathLength", cpl);
+                result.put ("connectedPathLength", lengths.characteristicPathLength ());
+                result.put ("harmonicPathLength", lengths.harmonicPathLength ());
+                result.put ("diameter", lengths.diameter ());
+            }
+            PowerLawFit fit = null;
+            if ( this.properties.contains (Property.SCALE_FREE) ) {
+                fit = new PowerLawFitter (this.pool).fit (histogram);
+                result.put ("scaleFree", fit.verdict ().name ());
+                result.put ("powerLawAlpha", fit.getAlpha ());
+                result.put ("powerLawKMin", fit.getKMin ());
+                result.put ("powerLawTail", fit.getTailSize ());
+            }
+            if ( this.charts != null ) {
+                TreeMap<Double, Integer> strengthCount = new TreeMap<> ();
+                for ( double st : strengths ) {
+                    strengthCount.merge (st, 1, Integer::sum);
+                }
+                TopologyReport report = new TopologyReport (graph.vertices (), graph.edgesCount (), degrees,
+                        strengths, histogram, strengthCount, degreeSum / n, strengthSum / n, triangles, cpl, fit);
+                this.charts.export (report, this.chartDirectory, files.name);
+            }
+        } catch ( IOException | RuntimeException | OutOfMemoryError e ) {
+            // the graph is dropped with the stack, so a graph too large for the heap doesn't stop the batch
+            result.fail (e);
+        }
+        result.put ("millis", (System.nanoTime () - start) / 1_000_000);
+        return result;
+    }
+
+    /**
+     * Characteristic path length as AllPairsPathLength.characteristicPathLength counts it, unreachable pairs as -1
+     * over v(v-1), from the component sums without another search.
+     */
+    private static double legacyPathLength(ComponentPathLengths<?> lengths, int n) {
+        ConnectedComponents<?> components = lengths.components ();
+        double total = 0, connected = 0;
+        for ( int c = 0 ; c < components.count () ; c++ ) {
+            total += lengths.totalPathLength (c);
+            connected += components.size (c) * (components.size (c) - 1.0) / 2;
+        }
+        double unreachable = n * (n - 1.0) / 2 - connected;
+        return (total - unreachable) / (( double ) n * (n - 1));
+    }
+
+    /**
+     * The graphs of a directory: every file whose name contains "Nodes" next to a file of the same name with "Edges"
+     * instead, as resources/GraphNodes1.txt and resources/GraphEdges1.txt, in file name order. A graph is named after
+     * its node file without "Nodes" and the extension, Graph1 for the example.
+     *
+     * @param directory
+     *         the directory
+     *
+     * @return the graphs
+     *
+     * @throws IOException
+     *         if the directory can't be read
+     */
+    public static List<GraphFiles> scan(Path directory) throws IOException {
+        List<Path> files = new ArrayList<> ();
+        try ( Stream<Path> list = Files.list (directory) ) {
+            list.forEach (files::add);
+        }
+        Collections.sort (files);
+        List<GraphFiles> graphs = new ArrayList<> ();
+        for ( Path nodeFile : files ) {
+            String file = nodeFile.getFileName ().toString ();
+            Path edgeFile = directory.resolve (file.replace ("Nodes", "Edges"));
+            if ( file.contains ("Nodes") && Files.isRegularFile (edgeFile) ) {
+                graphs.add (new GraphFiles (graphName (nodeFile), nodeFile, edgeFile));
+            }
+        }
+        return graphs;
+    }
+
+    /**
+     * The graphs of a list file, one "nodeFile edgeFile [name]" per line. Paths are relative to the directory of the
+     * list, blank lines and lines starting with # are skipped, and a graph without a name is named as in scan.
+     * Throws IllegalArgumentException if a line doesn't have two or three fields.
+     *
+     * @param listFile
+     *         the list file
+     *
+     * @return the graphs, in list order
+     *
+     * @throws IOException
+     *         if the list can't be read
+     */
+    public static List<GraphFiles> readList(Path listFile) throws IOException {
+        Path base = listFile.toAbsolutePath ().getParent ();
+        List<GraphFiles> graphs = new ArrayList<> ();
+        int number = 0;
+        for ( String line : Files.readAllLines (listFile) ) {
+            number++;
+            line = line.trim ();
+            if ( line.isEmpty () || line.startsWith ("#") ) {
+                continue;
+            }
+            String[] fields = line.split ("\\s+");
+            if ( fields.length < 2 || fields.length > 3 ) {
+                throw new IllegalArgumentException ("Expected nodeFile edgeFile [name] at line " + number + " of "
+                        + listFile);
+            }
+            Path nodeFile = base.resolve (fields[0]);
+            graphs.add (new GraphFiles (fields.length > 2 ? fields[2] : graphName (nodeFile), nodeFile,
+                    base.resolve (fields[1])));
+        }
+        return graphs;
+    }
+
+    /**
+     * Name of the graph of a node file, the file name without "Nodes" and the extension.
+     *
+     * @param nodeFile
+     *         the node file
+     *
+     * @return the graph name
+     */
+    public static String graphName(Path nodeFile) {
+        String file = nodeFile.getFileName ().toString ();
+        int dot = file.lastIndexOf ('.');
+        String name = dot > 0 ? file.substring (0, dot) : file;
+        String trimmed = name.replace ("Nodes", "");
+        return trimmed.isEmpty () ? name : trimmed;
+    }
+}
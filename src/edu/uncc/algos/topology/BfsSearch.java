@@ -0,0 +1,51 @@
+package edu.uncc.algos.topology;
+
+import edu.uncc.algos.graph.weighted.CsrGraph;
+
+import java.util.Arrays;
+
+/**
+ * Breadth-first single-source search over a CSR snapshot, the distance to a vertex is its number of hops. Used for
+ * unweighted graphs, where it gives the same distances as Dijkstra on unit weights.
+ * Runtime - O(v + e) per source. Not thread safe, see ShortestPathSearch.
+ *
+ * @author venky
+ */
+class BfsSearch implements ShortestPathSearch {
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] queue;
+    private final double[] distance;
+
+    /**
+     * Instantiates a new BfsSearch.
+     *
+     * @param graph
+     *         the graph to search
+     */
+    BfsSearch(CsrGraph<?> graph) {
+        this.offsets = graph.offsets ();
+        this.targets = graph.targets ();
+        this.queue = new int[graph.verticesCount ()];
+        this.distance = new double[graph.verticesCount ()];
+    }
+
+    @Override public double[] distances(int source) {
+        Arrays.fill (distance, Double.POSITIVE_INFINITY);
+        distance[source] = 0;
+        queue[0] = source;
+        int head = 0, tail = 1;
+        while ( head < tail ) {
+            int u = queue[head++];
+            double d = distance[u] + 1;
+            for ( int i = offsets[u] ; i < offsets[u + 1] ; i++ ) {
+                int v = targets[i];
+                if ( distance[v] == Double.POSITIVE_INFINITY ) {
+                    distance[v] = d;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return distance;
+    }
+}
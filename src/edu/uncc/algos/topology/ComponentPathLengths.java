@@ -0,0 +1,137 @@
+package edu.uncc.algos.topology;
+
+/**
+ * Path lengths within the connected components of a graph, from AllPairsPathLength.componentPathLengths. Only pairs
+ * of vertices in the same component are counted, pairs across components have no path and are left out instead of
+ * counting -1 as in AllPairsPathLength.characteristicPathLength.
+ *
+ * Instance Methods -
+ * 1. public double characteristicPathLength(int c) - Returns the average path length within component c.
+ * 2. public double characteristicPathLength() - Returns the average path length over all connected pairs.
+ * 3. public double harmonicPathLength() - Returns the harmonic mean path length over all pairs.
+ * 4. public double diameter(int c) / public double diameter() - Returns the diameter of component c / of the graph.
+ *
+ * @param <E>
+ *         the type parameter
+ *
+ * @author venky
+ */
+public class ComponentPathLengths<E> {
+    private final ConnectedComponents<E> components;
+    private final double[] sums;
+    private final double[] farthest;
+    private final double[] reciprocals;
+
+    /**
+     * Instantiates a new ComponentPathLengths.
+     *
+     * @param components
+     *         the components
+     * @param sums
+     *         path length sum over the unordered pairs of every component
+     * @param farthest
+     *         diameter of every component
+     * @param reciprocals
+     *         sum of 1 / distance over the unordered pairs of every component
+     */
+    ComponentPathLengths(ConnectedComponents<E> components, double[] sums, double[] farthest, double[] reciprocals) {
+        this.components = components;
+        this.sums = sums;
+        this.farthest = farthest;
+        this.reciprocals = reciprocals;
+    }
+
+    /**
+     * The components the path lengths are over.
+     *
+     * @return the components
+     */
+    public ConnectedComponents<E> components() {
+        return this.components;
+    }
+
+    /**
+     * Sum of shortest path lengths over the unordered pairs of component c.
+     *
+     * @param c
+     *         component id
+     *
+     * @return the total path length
+     */
+    public double totalPathLength(int c) {
+        return this.sums[c];
+    }
+
+    /**
+     * Characteristic path length of component c, the average over its s(s-1)/2 unordered pairs.
+     *
+     * @param c
+     *         component id
+     *
+     * @return the characteristic path length, 0 for a single vertex
+     */
+    public double characteristicPathLength(int c) {
+        double pairs = pairs (this.components.size (c));
+        return pairs == 0 ? 0.0 : this.sums[c] / pairs;
+    }
+
+    /**
+     * Characteristic path length over every connected pair of the graph, the path length sums of all components
+     * divided by the number of pairs in the same component.
+     *
+     * @return the characteristic path length, 0 if no two vertices are connected
+     */
+    public double characteristicPathLength() {
+        double total = 0, pairs = 0;
+        for ( int c = 0 ; c < this.sums.length ; c++ ) {
+            total += this.sums[c];
+            pairs += pairs (this.components.size (c));
+        }
+        return pairs == 0 ? 0.0 : total / pairs;
+    }
+
+    /**
+     * Harmonic mean path length over every unordered pair of the graph, v(v-1)/2 divided by the sum of 1 / distance.
+     * A pair across components has an infinite distance and adds 0 to the sum, so the value stays finite for a
+     * disconnected graph, and a graph of many small components gets a long harmonic path length.
+     *
+     * @return the harmonic path length, infinity if no two vertices are connected
+     */
+    public double harmonicPathLength() {
+        double reciprocal = 0;
+        for ( double r : this.reciprocals ) {
+            reciprocal += r;
+        }
+        double pairs = pairs (this.components.graph ().verticesCount ());
+        return reciprocal == 0 ? Double.POSITIVE_INFINITY : pairs / reciprocal;
+    }
+
+    /**
+     * Diameter of component c, the longest shortest path between two of its vertices.
+     *
+     * @param c
+     *         component id
+     *
+     * @return the diameter, 0 for a single vertex
+     */
+    public double diameter(int c) {
+        return this.farthest[c];
+    }
+
+    /**
+     * Diameter of the graph, the largest diameter of its components.
+     *
+     * @return the diameter
+     */
+    public double diameter() {
+        double diameter = 0;
+        for ( double d : this.farthest ) {
+            diameter = Math.max (diameter, d);
+        }
+        return diameter;
+    }
+
+    private static double pairs(int size) {
+        return size * (size - 1.0) / 2;
+    }
+}
@@ -0,0 +1,223 @@
+package edu.uncc.algos.topology;
+
+import edu.uncc.algos.graph.weighted.CsrGraph;
+import edu.uncc.algos.util.UnionFind;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Connected components of a CSR snapshot: the component of every vertex, the members of every component, and the
+ * component subgraphs, the largest of which is the giant component.
+ * Components are numbered 0..count()-1 in the order of their smallest dense vertex id. They come from a UnionFind,
+ * either one filled while the graph was loaded (see EdgeListParser) or one run over the rows of the snapshot.
+ *
+ * @param <E>
+ *         the type parameter
+ *
+ * @author venky
+ */
+public class ConnectedComponents<E> {
+    private final CsrGraph<E> graph;
+    private final int[] component;
+    /**
+     * members of component c are the slice [offsets[c], offsets[c+1]) of members, in vertex order.
+     */
+    private final int[] offsets;
+    private final int[] members;
+    /**
+     * position of every vertex among the members of its component, its dense id in the component subgraph.
+     */
+    private final int[] local;
+
+    private ConnectedComponents(CsrGraph<E> graph, int[] component, int count) {
+        int n = graph.verticesCount ();
+        this.graph = graph;
+        this.component = component;
+        this.offsets = new int[count + 1];
+        for ( int c : component ) {
+            this.offsets[c + 1]++;
+        }
+        for ( int c = 0 ; c < count ; c++ ) {
+            this.offsets[c + 1] += this.offsets[c];
+        }
+        this.members = new int[n];
+        this.local = new int[n];
+        int[] next = Arrays.copyOf (this.offsets, count);
+        for ( int v = 0 ; v < n ; v++ ) {
+            int c = component[v];
+            this.local[v] = next[c] - this.offsets[c];
+            this.members[next[c]++] = v;
+        }
+    }
+
+    /**
+     * Finds the components of a snapshot with a UnionFind over its rows.
+     * Runtime - O(v + e alpha(v))
+     *
+     * @param graph
+     *         the graph
+     *
+     * @return the components
+     */
+    public static <E> ConnectedComponents<E> of(CsrGraph<E> graph) {
+        int n = graph.verticesCount ();
+        int[] offsets = graph.offsets ();
+        int[] targets = graph.targets ();
+        UnionFind sets = new UnionFind (n);
+        for ( int u = 0 ; u < n ; u++ ) {
+            for ( int i = offsets[u] ; i < offsets[u + 1] ; i++ ) {
+                if ( targets[i] > u ) {
+                    sets.union (u, targets[i]);
+                }
+            }
+        }
+        return of (graph, sets);
+    }
+
+    /**
+     * Components of a snapshot from a UnionFind that already holds its edges, such as the one filled by
+     * EdgeListParser.load(nodeFile, edgeFile, components).
+     * Throws IllegalArgumentException if the UnionFind is not over the vertices of graph.
+     * Runtime - O(v alpha(v))
+     *
+     * @param graph
+     *         the graph
+     * @param sets
+     *         union-find over the dense ids of graph
+     *
+     * @return the components
+     */
+    public static <E> ConnectedComponents<E> of(CsrGraph<E> graph, UnionFind sets) {
+        if ( sets.size () != graph.verticesCount () ) {
+            throw new IllegalArgumentException ("Expected " + graph.verticesCount () + " vertices");
+        }
+        return new ConnectedComponents<> (graph, sets.labels (), sets.count ());
+    }
+
+    /**
+     * The graph these are the components of.
+     *
+     * @return the graph
+     */
+    public CsrGraph<E> graph() {
+        return this.graph;
+    }
+
+    /**
+     * Number of connected components.
+     *
+     * @return the count
+     */
+    public int count() {
+        return this.offsets.length - 1;
+    }
+
+    /**
+     * Component of dense vertex v.
+     *
+     * @param v
+     *         dense vertex id
+     *
+     * @return the component id
+     */
+    public int componentOf(int v) {
+        return this.component[v];
+    }
+
+    /**
+     * Number of vertices in component c.
+     *
+     * @param c
+     *         component id
+     *
+     * @return the size
+     */
+    public int size(int c) {
+        return this.offsets[c + 1] - this.offsets[c];
+    }
+
+    /**
+     * Dense vertex ids of the members of component c, ascending.
+     *
+     * @param c
+     *         component id
+     *
+     * @return a copy of the members
+     */
+    public int[] vertices(int c) {
+        return Arrays.copyOfRange (this.members, this.offsets[c], this.offsets[c + 1]);
+    }
+
+    /**
+     * The largest component, the one with the smallest id among equally large ones.
+     *
+     * @return the component id, -1 for an empty graph
+     */
+    public int largest() {
+        int largest = -1;
+        for ( int c = 0 ; c < count () ; c++ ) {
+            if ( largest < 0 || size (c) > size (largest) ) {
+                largest = c;
+            }
+        }
+        return largest;
+    }
+
+    /**
+     * The giant component, the subgraph of the largest component.
+     * Throws IllegalArgumentException for an empty graph.
+     *
+     * @return the snapshot of the giant component
+     */
+    public CsrGraph<E> giant() {
+        if ( count () == 0 ) {
+            throw new IllegalArgumentException ("Graph has no vertices");
+        }
+        return subgraph (largest ());
+    }
+
+    /**
+     * The subgraph of component c, with the members renumbered 0..size(c)-1 in vertex order and the same labels and
+     * weights. Members are ascending, so the rows stay sorted and are copied as they are.
+     * Runtime - O(size(c) + edges of c)
+     *
+     * @param c
+     *         component id
+     *
+     * @return the snapshot of the component
+     */
+    public CsrGraph<E> subgraph(int c) {
+        int[] rows = this.graph.offsets ();
+        int[] targets = this.graph.targets ();
+        double[] weights = this.graph.weights ();
+        int from = this.offsets[c], size = size (c);
+        int[] offsets = new int[size + 1];
+        for ( int i = 0 ; i < size ; i++ ) {
+            int v = this.members[from + i];
+            offsets[i + 1] = offsets[i] + rows[v + 1] - rows[v];
+        }
+        int[] subTargets = new int[offsets[size]];
+        double[] subWeights = new double[offsets[size]];
+        int edges = 0;
+        for ( int i = 0 ; i < size ; i++ ) {
+            int v = this.members[from + i];
+            int pos = offsets[i];
+            for ( int j = rows[v] ; j < rows[v + 1] ; j++ ) {
+                subTargets[pos] = this.local[targets[j]];
+                subWeights[pos] = weights[j];
+                // every edge once, a self loop is not counted, as in CsrBuilder
+                if ( targets[j] > v ) {
+                    edges++;
+                }
+                pos++;
+            }
+        }
+        List<E> labels = new ArrayList<> (size);
+        for ( int i = 0 ; i < size ; i++ ) {
+            labels.add (this.graph.label (this.members[from + i]));
+        }
+        return CsrGraph.wrap (offsets, subTargets, subWeights, edges, labels);
+    }
+}
@@ -0,0 +1,111 @@
+package edu.uncc.algos.topology;
+
+import edu.uncc.algos.graph.weighted.CsrGraph;
+
+import java.util.Arrays;
+
+/**
+ * Dial's single-source shortest path search over a CSR snapshot, for non-negative integer weights up to C.
+ * Queued vertices always have a tentative distance in [d, d + C], where d is the distance being settled, so C + 1
+ * buckets used as a ring are enough. Buckets are intrusive doubly linked lists over int arrays, which makes insert
+ * and decrease-key O(1) and keeps the search free of allocation.
+ * Runtime - O(e + v * C) per source. Not thread safe, see ShortestPathSearch.
+ *
+ * @author venky
+ */
+class DialSearch implements ShortestPathSearch {
+    private static final long UNREACHED = Long.MAX_VALUE;
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final int buckets;
+
+    /**
+     * first vertex of every bucket, -1 when empty.
+     */
+    private final int[] head;
+    private final int[] next;
+    private final int[] prev;
+    private final long[] dist;
+    private final double[] distance;
+
+    /**
+     * Instantiates a new DialSearch.
+     * Throws IllegalArgumentException if some weight of graph is negative or fractional.
+     *
+     * @param graph
+     *         the graph to search
+     */
+    DialSearch(CsrGraph<?> graph) {
+        if ( graph.maxIntegerWeight () < 0 ) {
+            throw new IllegalArgumentException ("Dial search needs non-negative integer weights");
+        }
+        int n = graph.verticesCount ();
+        this.offsets = graph.offsets ();
+        this.targets = graph.targets ();
+        this.weights = graph.weights ();
+        this.buckets = graph.maxIntegerWeight () + 1;
+        this.head = new int[this.buckets];
+        this.next = new int[n];
+        this.prev = new int[n];
+        this.dist = new long[n];
+        this.distance = new double[n];
+        Arrays.fill (this.head, -1);
+    }
+
+    @Override public double[] distances(int source) {
+        Arrays.fill (dist, UNREACHED);
+        dist[source] = 0;
+        link (source, 0);
+        int queued = 1;
+        long current = 0;
+        while ( queued > 0 ) {
+            int b = ( int ) (current % buckets);
+            if ( head[b] == -1 ) {
+                current++;
+                continue;
+            }
+            int u = head[b];
+            unlink (u, b);
+            queued--;
+            for ( int i = offsets[u] ; i < offsets[u + 1] ; i++ ) {
+                int v = targets[i];
+                long newDistance = current + ( long ) weights[i];
+                if ( newDistance < dist[v] ) {
+                    if ( dist[v] == UNREACHED ) {
+                        queued++;
+                    } else {
+                        unlink (v, ( int ) (dist[v] % buckets));
+                    }
+                    dist[v] = newDistance;
+                    link (v, ( int ) (newDistance % buckets));
+                }
+            }
+        }
+        for ( int v = 0 ; v < dist.length ; v++ ) {
+            distance[v] = dist[v] == UNREACHED ? Double.POSITIVE_INFINITY : dist[v];
+        }
+        return distance;
+    }
+
+    private void link(int v, int b) {
+        prev[v] = -1;
+        next[v] = head[b];
+        if ( head[b] != -1 ) {
+            prev[head[b]] = v;
+        }
+        head[b] = v;
+    }
+
+    private void unlink(int v, int b) {
+        if ( prev[v] != -1 ) {
+            next[prev[v]] = next[v];
+        } else {
+            head[b] = next[v];
+        }
+        if ( next[v] != -1 ) {
+            prev[next[v]] = prev[v];
+        }
+    }
+}
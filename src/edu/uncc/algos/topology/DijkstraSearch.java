@@ -0,0 +1,63 @@
+package edu.uncc.algos.topology;
+
+import edu.uncc.algos.graph.weighted.CsrGraph;
+import edu.uncc.algos.util.IndexedMinHeap;
+
+import java.util.Arrays;
+
+/**
+ * Dijkstra's single-source shortest path search over a CSR snapshot, for non-negative edge weights.
+ * The frontier is an IndexedMinHeap keyed by dense vertex id, so every vertex is queued at most once, an improved
+ * distance is a decrease-key in place and no vertex is expanded twice. Nothing is allocated per source or per
+ * relaxation.
+ * Not thread safe, see ShortestPathSearch.
+ *
+ * @author venky
+ */
+class DijkstraSearch implements ShortestPathSearch {
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final double[] distance;
+    private final IndexedMinHeap heap;
+
+    /**
+     * Instantiates a new DijkstraSearch.
+     *
+     * @param graph
+     *         the graph to search
+     */
+    DijkstraSearch(CsrGraph<?> graph) {
+        this.offsets = graph.offsets ();
+        this.targets = graph.targets ();
+        this.weights = graph.weights ();
+        this.distance = new double[graph.verticesCount ()];
+        this.heap = new IndexedMinHeap (graph.verticesCount ());
+    }
+
+    /**
+     * Runtime - O(e log v)
+     */
+    @Override public double[] distances(int source) {
+        Arrays.fill (distance, Double.POSITIVE_INFINITY);
+        distance[source] = 0;
+        heap.insert (source, 0);
+        while ( !heap.isEmpty () ) {
+            int u = heap.poll ();
+            double du = distance[u];
+            for ( int i = offsets[u] ; i < offsets[u + 1] ; i++ ) {
+                int v = targets[i];
+                double newDistance = du + weights[i];
+                if ( newDistance < distance[v] ) {
+                    if ( distance[v] == Double.POSITIVE_INFINITY ) {
+                        heap.insert (v, newDistance);
+                    } else {
+                        heap.decreaseKey (v, newDistance);
+                    }
+                    distance[v] = newDistance;
+                }
+            }
+        }
+        return distance;
+    }
+}
@@ -0,0 +1,191 @@
+package edu.uncc.algos.topology;
+
+import edu.uncc.algos.util.ChartRenderer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Exports the degree, strength and clustering coefficient distributions of topology reports as chart files, for
+ * batch runs without a display (see ChartRenderer).
+ * The degree and strength distributions are drawn log-log, the fraction of nodes of every value, so a power law is
+ * a straight line. The clustering coefficients, between 0 and 1, are drawn on linear axes as the fraction of nodes
+ * in each of CLUSTERING_BINS bins.
+ * exportAll renders every chart of every report as a task of its own on the pool, and the renderer reuses one chart
+ * per worker thread, so a batch of many graphs costs about one chart set up per thread.
+ *
+ * @author venky
+ */
+public class DistributionCharts {
+    /**
+     * bins of the clustering coefficient distribution, over [0, 1].
+     */
+    public static final int CLUSTERING_BINS = 20;
+
+    /**
+     * The distributions drawn for every report, in the order their files are returned.
+     */
+    public enum Kind {
+        DEGREE, STRENGTH, CLUSTERING
+    }
+
+    private final ForkJoinPool pool;
+    private final ChartRenderer renderer;
+    private final ChartRenderer.Format format;
+
+    /**
+     * Instantiates a new DistributionCharts writing PNG files of the default size, on the common fork/join pool.
+     */
+    public DistributionCharts() {
+        this (ForkJoinPool.commonPool (), new ChartRenderer (), ChartRenderer.Format.PNG);
+    }
+
+    /**
+     * Instantiates a new DistributionCharts.
+     *
+     * @param pool
+     *         the pool to render on
+     * @param renderer
+     *         the renderer
+     * @param format
+     *         PNG or SVG
+     */
+    public DistributionCharts(ForkJoinPool pool, ChartRenderer renderer, ChartRenderer.Format format) {
+        this.pool = pool;
+        this.renderer = renderer;
+        this.format = format;
+    }
+
+    /**
+     * Writes the charts of one report to directory, as name-degree, name-strength and name-clustering.
+     *
+     * @param report
+     *         the report
+     * @param directory
+     *         existing directory to write to
+     * @param name
+     *         file name prefix
+     *
+     * @return the files written, in Kind order
+     *
+     * @throws IOException
+     *         if a file can't be written
+     */
+    public List<Path> export(TopologyReport report, Path directory, String name) throws IOException {
+        return exportAll (Collections.singletonMap (name, report), directory).get (name);
+    }
+
+    /**
+     * Writes the charts of many reports to directory in parallel, see export.
+     *
+     * @param reports
+     *         file name prefix -> report
+     * @param directory
+     *         existing directory to write to
+     *
+     * @return file name prefix -> the files written, in the iteration order of reports
+     *
+     * @throws IOException
+     *         if a file can't be written, the other charts are still finished first
+     */
+    public Map<String, List<Path>> exportAll(Map<String, TopologyReport> reports, Path directory)
+            throws IOException {
+        Map<String, List<Path>> files = new LinkedHashMap<> ();
+        List<ForkJoinTask<?>> tasks = new ArrayList<> ();
+        for ( Map.Entry<String, TopologyReport> entry : reports.entrySet () ) {
+            List<Path> paths = new ArrayList<> ();
+            for ( Kind kind : Kind.values () ) {
+                Path file = directory.resolve (entry.getKey () + "-" + kind.name ().toLowerCase (Locale.ROOT) + "."
+                        + this.format.extension ());
+                TopologyReport report = entry.getValue ();
+                tasks.add (this.pool.submit (() -> render (report, kind, file)));
+                paths.add (file);
+            }
+            files.put (entry.getKey (), Collections.unmodifiableList (paths));
+        }
+        IOException failure = null;
+        for ( ForkJoinTask<?> task : tasks ) {
+            try {
+                join (task);
+            } catch ( IOException e ) {
+                if ( failure == null ) {
+                    failure = e;
+                }
+            }
+        }
+        if ( failure != null ) {
+            throw failure;
+        }
+        return files;
+    }
+
+    private void render(TopologyReport report, Kind kind, Path file) {
+        int n = report.verticesCount ();
+        double[] x, y;
+        try {
+            switch ( kind ) {
+                case DEGREE:
+                    int[] histogram = report.degreeHistogram ();
+                    x = new double[histogram.length];
+                    y = new double[histogram.length];
+                    int size = 0;
+                    for ( int k = 1 ; k < histogram.length ; k++ ) {
+                        if ( histogram[k] > 0 ) {
+                            x[size] = k;
+                            y[size++] = histogram[k] / ( double ) n;
+                        }
+                    }
+                    this.renderer.render (file, this.format, "Degree Distribution", "Degree", "Fraction of Nodes",
+                            Arrays.copyOf (x, size), Arrays.copyOf (y, size), true);
+                    break;
+                case STRENGTH:
+                    SortedMap<Double, Integer> strengths = report.strengthHistogram ();
+                    x = new double[strengths.size ()];
+                    y = new double[strengths.size ()];
+                    int i = 0;
+                    for ( Map.Entry<Double, Integer> e : strengths.entrySet () ) {
+                        x[i] = e.getKey ();
+                        y[i++] = e.getValue () / ( double ) n;
+                    }
+                    this.renderer.render (file, this.format, "Strength Distribution", "Strength",
+                            "Fraction of Nodes", x, y, true);
+                    break;
+                default:
+                    x = new double[CLUSTERING_BINS];
+                    y = new double[CLUSTERING_BINS];
+                    for ( int v = 0 ; v < n ; v++ ) {
+                        int bin = ( int ) (report.clusteringCoefficient (v) * CLUSTERING_BINS);
+                        y[Math.min (bin, CLUSTERING_BINS - 1)] += 1.0 / n;
+                    }
+                    for ( int b = 0 ; b < CLUSTERING_BINS ; b++ ) {
+                        x[b] = (b + 0.5) / CLUSTERING_BINS;
+                    }
+                    this.renderer.render (file, this.format, "Clustering Coefficient Distribution",
+                            "Clustering Coefficient", "Fraction of Nodes", x, y, false);
+                    break;
+            }
+        } catch ( IOException e ) {
+            throw new UncheckedIOException (e);
+        }
+    }
+
+    /**
+     * Joins a task, rethrowing the IOException of a chart that couldn't be written, and the original exception of
+     * any other failure rather than the copy fork/join creates for the joining thread.
+     */
+    private static void join(ForkJoinTask<?> task) throws IOException {
+        try {
+            task.join ();
+        } catch ( RuntimeException e ) {
+            Throwable cause = e instanceof UncheckedIOException ? e : e.getCause ();
+            if ( cause instanceof UncheckedIOException ) {
+                throw (( UncheckedIOException ) cause).getCause ();
+            }
+            throw cause instanceof RuntimeException ? ( RuntimeException ) cause : e;
+        }
+    }
+}
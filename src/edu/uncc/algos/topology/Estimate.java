@@ -0,0 +1,60 @@
+package edu.uncc.algos.topology;
+
+/**
+ * An approximate value of a topology property together with its confidence interval.
+ *
+ * @author venky
+ */
+public class Estimate {
+    private final double value;
+    private final double low;
+    private final double high;
+    private final double confidence;
+    private final long samples;
+
+    /**
+     * Instantiates a new Estimate.
+     *
+     * @param value
+     *         the estimated value
+     * @param low
+     *         lower end of the interval
+     * @param high
+     *         upper end of the interval
+     * @param confidence
+     *         probability that the interval holds the exact value
+     * @param samples
+     *         number of samples the estimate is based on
+     */
+    public Estimate(double value, double low, double high, double confidence, long samples) {
+        this.value = value;
+        this.low = low;
+        this.high = high;
+        this.confidence = confidence;
+        this.samples = samples;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public double getLow() {
+        return low;
+    }
+
+    public double getHigh() {
+        return high;
+    }
+
+    public double getConfidence() {
+        return confidence;
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    @Override public String toString() {
+        return value + " [" + low + ", " + high + "] (" + confidence + ", " + samples + " samples)";
+    }
+}
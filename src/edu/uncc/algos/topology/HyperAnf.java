@@ -0,0 +1,245 @@
+package edu.uncc.algos.topology;
+
+import edu.uncc.algos.graph.weighted.CsrGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * HyperANF: approximate neighbourhood function engine based on HyperLogLog counters.
+ * Every vertex keeps a HyperLogLog counter of the vertices within t hops of it. The counter of a vertex for t + 1 is
+ * the union (register-wise maximum) of its own counter and the counters of its neighbours for t, so every iteration
+ * is one linear pass over the edges, and the iterations stop when no counter changes. Summing the counters gives
+ * N(t), see NeighbourhoodFunction. Edge weights are ignored, distances are hop counts.
+ * A counter has 2^log2m one-byte registers, its relative standard error is about 1.04 / sqrt(2^log2m).
+ * With a pool, every pass is split over ranges of vertices. A vertex only reads the counters of the previous pass,
+ * so the result is the same for any number of threads.
+ * Runtime - O(d * (v * 2^log2m + e * 2^log2m)) for a graph of diameter d, memory 2 * v * 2^log2m bytes.
+ *
+ * @author venky
+ */
+public class HyperAnf {
+    public static final int DEFAULT_LOG2M = 6;
+    /**
+     * fewest vertices a task updates before it stops splitting.
+     */
+    private static final int MIN_VERTICES_PER_TASK = 256;
+
+    /**
+     * pool for parallel passes, null to run on the calling thread.
+     */
+    private final ForkJoinPool pool;
+    private final int log2m;
+    private final int registers;
+    private final long seed;
+
+    /**
+     * Instantiates a new HyperAnf with 2^DEFAULT_LOG2M registers per counter.
+     */
+    public HyperAnf() {
+        this (null);
+    }
+
+    /**
+     * Instantiates a new parallel HyperAnf with 2^DEFAULT_LOG2M registers per counter.
+     *
+     * @param pool
+     *         the pool to run passes on, null to run on the calling thread
+     */
+    public HyperAnf(ForkJoinPool pool) {
+        this (pool, DEFAULT_LOG2M, 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * Instantiates a new HyperAnf.
+     * Throws IllegalArgumentException if log2m is not between 4 and 16.
+     *
+     * @param log2m
+     *         log2 of the number of registers per counter
+     * @param seed
+     *         seed of the vertex hash
+     */
+    public HyperAnf(int log2m, long seed) {
+        this (null, log2m, seed);
+    }
+
+    /**
+     * Instantiates a new parallel HyperAnf.
+     * Throws IllegalArgumentException if log2m is not between 4 and 16.
+     *
+     * @param pool
+     *         the pool to run passes on, null to run on the calling thread
+     * @param log2m
+     *         log2 of the number of registers per counter
+     * @param seed
+     *         seed of the vertex hash
+     */
+    public HyperAnf(ForkJoinPool pool, int log2m, long seed) {
+        if ( log2m < 4 || log2m > 16 ) {
+            throw new IllegalArgumentException ("log2m must be between 4 and 16");
+        }
+        this.pool = pool;
+        this.log2m = log2m;
+        this.registers = 1 << log2m;
+        this.seed = seed;
+    }
+
+    /**
+     * Computes the approximate neighbourhood function.
+     *
+     * @param graph
+     *         the graph
+     * @param maxIterations
+     *         most passes to run, stops earlier when the counters converge
+     *
+     * @return the neighbourhood function
+     */
+    public NeighbourhoodFunction run(CsrGraph<?> graph, int maxIterations) {
+        int n = graph.verticesCount ();
+        int m = this.registers;
+        if ( ( long ) n * m > Integer.MAX_VALUE - 8 ) {
+            throw new IllegalArgumentException ("Too many counters, use a smaller log2m");
+        }
+        int[] offsets = graph.offsets ();
+        int[] targets = graph.targets ();
+        byte[] current = new byte[n * m];
+        byte[] next = new byte[n * m];
+        for ( int v = 0 ; v < n ; v++ ) {
+            add (current, v * m, this.log2m, mix (v + this.seed));
+        }
+
+        double[] pairs = new double[Math.max (1, maxIterations) + 1];
+        pairs[0] = total (current, n);
+        int t = 0;
+        boolean changed = true;
+        while ( changed && t < maxIterations ) {
+            changed = this.pool == null ? pass (offsets, targets, current, next, m, 0, n)
+                    : this.pool.invoke (new Pass (offsets, targets, current, next, m, 0, n,
+                    Math.max (MIN_VERTICES_PER_TASK, n / (this.pool.getParallelism () * 8))));
+            byte[] swap = current;
+            current = next;
+            next = swap;
+            if ( changed ) {
+                t++;
+                pairs[t] = Math.max (pairs[t - 1], total (current, n));
+            }
+        }
+        return new NeighbourhoodFunction (Arrays.copyOf (pairs, t + 1));
+    }
+
+    /**
+     * One pass over the vertices [from, to): the counter of every vertex in next becomes the union of its own counter
+     * and its neighbours' counters in current.
+     *
+     * @return true if a counter changed
+     */
+    private static boolean pass(int[] offsets, int[] targets, byte[] current, byte[] next, int m, int from, int to) {
+        boolean changed = false;
+        System.arraycopy (current, from * m, next, from * m, (to - from) * m);
+        for ( int v = from ; v < to ; v++ ) {
+            int base = v * m;
+            for ( int i = offsets[v] ; i < offsets[v + 1] ; i++ ) {
+                int other = targets[i] * m;
+                for ( int r = 0 ; r < m ; r++ ) {
+                    if ( current[other + r] > next[base + r] ) {
+                        next[base + r] = current[other + r];
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Fork/join task running a pass over a range of vertices, true if a counter changed.
+     */
+    private static class Pass extends RecursiveTask<Boolean> {
+        private static final long serialVersionUID = 1L;
+        private final int[] offsets;
+        private final int[] targets;
+        private final byte[] current;
+        private final byte[] next;
+        private final int m;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        Pass(int[] offsets, int[] targets, byte[] current, byte[] next, int m, int from, int to, int threshold) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.current = current;
+            this.next = next;
+            this.m = m;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override protected Boolean compute() {
+            if ( to - from <= threshold ) {
+                return pass (offsets, targets, current, next, m, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            Pass right = new Pass (offsets, targets, current, next, m, mid, to, threshold);
+            right.fork ();
+            boolean left = new Pass (offsets, targets, current, next, m, from, mid, threshold).compute ();
+            return right.join () | left;
+        }
+    }
+
+    /**
+     * Adds an element with hash h to the counter starting at base: the top log2m bits pick the register, which keeps
+     * the largest rank (position of the first one bit) of the remaining bits.
+     */
+    static void add(byte[] counters, int base, int log2m, long h) {
+        int register = ( int ) (h >>> (64 - log2m));
+        int rank = Long.numberOfLeadingZeros ((h << log2m) | (1L << (log2m - 1))) + 1;
+        if ( rank > counters[base + register] ) {
+            counters[base + register] = ( byte ) rank;
+        }
+    }
+
+    /**
+     * Sum of the cardinality estimates of all counters.
+     */
+    private double total(byte[] counters, int n) {
+        double sum = 0;
+        for ( int v = 0 ; v < n ; v++ ) {
+            sum += estimate (counters, v * this.registers, this.registers);
+        }
+        return sum;
+    }
+
+    /**
+     * HyperLogLog cardinality estimate of the counter starting at base, with the small range (linear counting)
+     * correction.
+     */
+    static double estimate(byte[] counters, int base, int m) {
+        double harmonic = 0;
+        int zeros = 0;
+        for ( int r = 0 ; r < m ; r++ ) {
+            int value = counters[base + r];
+            harmonic += 1.0 / (1L << value);
+            if ( value == 0 ) {
+                zeros++;
+            }
+        }
+        double alpha = m == 16 ? 0.673 : m == 32 ? 0.697 : m == 64 ? 0.709 : 0.7213 / (1 + 1.079 / m);
+        double raw = alpha * m * m / harmonic;
+        if ( raw <= 2.5 * m && zeros > 0 ) {
+            return m * Math.log (( double ) m / zeros);
+        }
+        return raw;
+    }
+
+    /**
+     * 64-bit finalizer of SplitMix64, spreads consecutive vertex ids over all bits.
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,179 @@
+package edu.uncc.algos.topology;
+
+import edu.uncc.algos.graph.unweighted.DirectedCsrGraph;
+import edu.uncc.algos.graph.weighted.CsrGraph;
+
+import java.util.Arrays;
+
+/**
+ * Multi-source breadth-first search (MS-BFS) over a CSR snapshot: up to 64 consecutive sources are searched in one
+ * traversal. Every vertex keeps a 64-bit word with one bit per source, so a frontier vertex pushes all the searches
+ * that reached it to its neighbours with a single OR, and a row is scanned once per level for the whole batch
+ * instead of once per source.
+ * A batch reports what the path length engines need: the path length sum over the pairs (s, t) with t after s, or
+ * over every ordered pair for a directed graph, unreachable pairs counting -1 as in AllPairsPathLength, the sum of
+ * reciprocal distances over the same pairs for harmonic means, and the largest distance reached.
+ * Runtime - O(levels * (e + v)) per batch of 64 sources, at worst. Not thread safe, one instance per worker thread.
+ *
+ * @author venky
+ */
+class MultiSourceBfs {
+    /**
+     * sources searched in one traversal.
+     */
+    static final int WIDTH = Long.SIZE;
+
+    private final int[] offsets;
+    private final int[] targets;
+    /**
+     * count every ordered pair (s, t), not only t after s.
+     */
+    private final boolean ordered;
+    private final long[] seen;
+    private final long[] visit;
+    private final long[] next;
+    private int[] frontier;
+    private int[] reached;
+
+    private long sum;
+    private double reciprocal;
+    private int eccentricity;
+
+    /**
+     * Instantiates a new MultiSourceBfs.
+     *
+     * @param graph
+     *         the graph to search
+     */
+    MultiSourceBfs(CsrGraph<?> graph) {
+        this (graph.offsets (), graph.targets (), false);
+    }
+
+    /**
+     * Instantiates a new MultiSourceBfs along the edges of a directed graph, distances from s to t and from t to s
+     * are different pairs.
+     *
+     * @param graph
+     *         the graph to search
+     */
+    MultiSourceBfs(DirectedCsrGraph<?> graph) {
+        this (graph.outOffsets (), graph.outTargets (), true);
+    }
+
+    private MultiSourceBfs(int[] offsets, int[] targets, boolean ordered) {
+        int n = offsets.length - 1;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.ordered = ordered;
+        this.seen = new long[n];
+        this.visit = new long[n];
+        this.next = new long[n];
+        this.frontier = new int[n];
+        this.reached = new int[n];
+    }
+
+    /**
+     * Searches from the sources base .. base + count - 1.
+     *
+     * @param base
+     *         first source
+     * @param count
+     *         number of sources, 1 to WIDTH
+     */
+    void search(int base, int count) {
+        int n = this.seen.length;
+        Arrays.fill (this.seen, 0);
+        long all = count == WIDTH ? -1L : (1L << count) - 1;
+        int frontierSize = 0;
+        for ( int b = 0 ; b < count ; b++ ) {
+            this.seen[base + b] = 1L << b;
+            this.visit[base + b] = 1L << b;
+            this.frontier[frontierSize++] = base + b;
+        }
+        long total = 0;
+        double reciprocal = 0;
+        int level = 0;
+        this.eccentricity = 0;
+        while ( frontierSize > 0 ) {
+            level++;
+            // push the searches of every frontier vertex to its neighbours
+            int reachedSize = 0;
+            for ( int i = 0 ; i < frontierSize ; i++ ) {
+                int u = this.frontier[i];
+                long bits = this.visit[u];
+                this.visit[u] = 0;
+                for ( int j = this.offsets[u] ; j < this.offsets[u + 1] ; j++ ) {
+                    int v = this.targets[j];
+                    if ( this.next[v] == 0 ) {
+                        this.reached[reachedSize++] = v;
+                    }
+                    this.next[v] |= bits;
+                }
+            }
+            // keep the searches that reach a vertex for the first time
+            frontierSize = 0;
+            for ( int i = 0 ; i < reachedSize ; i++ ) {
+                int v = this.reached[i];
+                long fresh = this.next[v] & ~this.seen[v];
+                this.next[v] = 0;
+                if ( fresh != 0 ) {
+                    this.seen[v] |= fresh;
+                    this.visit[v] = fresh;
+                    this.frontier[frontierSize++] = v;
+                    int pairs = Long.bitCount (fresh & counted (v, base, all));
+                    total += ( long ) level * pairs;
+                    reciprocal += pairs / ( double ) level;
+                }
+            }
+            if ( frontierSize > 0 ) {
+                this.eccentricity = Math.max (this.eccentricity, level);
+            }
+        }
+        // every counted pair not reached counts -1
+        for ( int v = 0 ; v < n ; v++ ) {
+            total -= Long.bitCount (~this.seen[v] & counted (v, base, all));
+        }
+        this.sum = total;
+        this.reciprocal = reciprocal;
+    }
+
+    /**
+     * Bits of the sources whose pair with vertex v is counted: the sources before v, or every source other than v
+     * when pairs are ordered.
+     */
+    private long counted(int v, int base, long all) {
+        long offset = ( long ) v - base;
+        if ( this.ordered ) {
+            return offset >= 0 && offset < WIDTH ? all & ~(1L << offset) : all;
+        }
+        return offset >= WIDTH ? all : offset <= 0 ? 0 : all & ((1L << offset) - 1);
+    }
+
+    /**
+     * Path length sum of the last batch, over the pairs (s, t) with t after s or over every ordered pair,
+     * unreachable pairs counting -1.
+     *
+     * @return the sum
+     */
+    long sum() {
+        return this.sum;
+    }
+
+    /**
+     * Sum of 1 / distance of the last batch over the same pairs as sum(), unreachable pairs counting 0.
+     *
+     * @return the reciprocal sum
+     */
+    double reciprocal() {
+        return this.reciprocal;
+    }
+
+    /**
+     * Largest distance reached by the last batch.
+     *
+     * @return the distance
+     */
+    int eccentricity() {
+        return this.eccentricity;
+    }
+}
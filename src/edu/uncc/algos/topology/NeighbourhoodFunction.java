@@ -0,0 +1,110 @@
+package edu.uncc.algos.topology;
+
+/**
+ * The (approximate) neighbourhood function of a graph: N(t) is the number of ordered pairs (u, v) with v within t
+ * hops of u, N(0) being the number of vertices. Differences of consecutive values give the hop-distance
+ * distribution, from which the average path length and the effective diameter follow.
+ *
+ * @author venky
+ */
+public class NeighbourhoodFunction {
+    private final double[] pairs;
+
+    /**
+     * Instantiates a new NeighbourhoodFunction.
+     *
+     * @param pairs
+     *         N(t) for t = 0 .. until it stops growing
+     */
+    NeighbourhoodFunction(double[] pairs) {
+        this.pairs = pairs;
+    }
+
+    /**
+     * Largest t computed, the (estimated) diameter of the reachable pairs.
+     *
+     * @return the last hop count
+     */
+    public int maxDistance() {
+        return this.pairs.length - 1;
+    }
+
+    /**
+     * Pairs within t hops, N(t).
+     *
+     * @param t
+     *         the hop count
+     *
+     * @return N(t), N(maxDistance()) for larger t
+     */
+    public double pairsWithin(int t) {
+        return this.pairs[Math.min (t, this.pairs.length - 1)];
+    }
+
+    /**
+     * Pairs at exactly t hops, N(t) - N(t-1), for t >= 1.
+     *
+     * @param t
+     *         the hop count
+     *
+     * @return number of ordered pairs at distance t
+     */
+    public double pairsAt(int t) {
+        return t < 1 || t >= this.pairs.length ? 0 : Math.max (0, this.pairs[t] - this.pairs[t - 1]);
+    }
+
+    /**
+     * Hop-distance distribution over reachable pairs of distinct vertices, indexed by distance (index 0 is 0).
+     *
+     * @return the fraction of pairs at every distance
+     */
+    public double[] distanceDistribution() {
+        double[] dist = new double[this.pairs.length];
+        double reachable = reachablePairs ();
+        for ( int t = 1 ; t < dist.length && reachable > 0 ; t++ ) {
+            dist[t] = pairsAt (t) / reachable;
+        }
+        return dist;
+    }
+
+    /**
+     * Average hop distance over reachable pairs of distinct vertices.
+     *
+     * @return average path length, 0 if no two vertices are connected
+     */
+    public double averageDistance() {
+        double reachable = reachablePairs ();
+        if ( reachable <= 0 ) {
+            return 0;
+        }
+        double sum = 0;
+        for ( int t = 1 ; t < this.pairs.length ; t++ ) {
+            sum += t * pairsAt (t);
+        }
+        return sum / reachable;
+    }
+
+    /**
+     * Effective diameter, the (interpolated) number of hops within which the given fraction of the reachable pairs
+     * of distinct vertices lie.
+     *
+     * @param fraction
+     *         the fraction, usually 0.9
+     *
+     * @return the effective diameter
+     */
+    public double effectiveDiameter(double fraction) {
+        double target = this.pairs[0] + fraction * reachablePairs ();
+        for ( int t = 1 ; t < this.pairs.length ; t++ ) {
+            if ( this.pairs[t] >= target ) {
+                double step = this.pairs[t] - this.pairs[t - 1];
+                return step <= 0 ? t : t - 1 + (target - this.pairs[t - 1]) / step;
+            }
+        }
+        return maxDistance ();
+    }
+
+    private double reachablePairs() {
+        return this.pairs[this.pairs.length - 1] - this.pairs[0];
+    }
+}
@@ -1,16 +1,94 @@
 package edu.uncc.algos.topology;
 
-import edu.uncc.algos.graph.weighted.Edge;
+import edu.uncc.algos.graph.unweighted.DirectedCsrGraph;
+import edu.uncc.algos.graph.unweighted.DirectedGraph;
+import edu.uncc.algos.graph.weighted.CsrGraph;
 import edu.uncc.algos.graph.weighted.UndirectedGraph;
 import edu.uncc.algos.util.TopologyUtil;
 
+import java.io.PrintStream;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
+ * Network topology properties of an undirected weighted graph.
+ * Every property is available for UndirectedGraph and for its immutable CSR snapshot (see UndirectedGraph.freeze()).
+ * The CSR versions compute each per-node value once, build distributions with O(n) histograms and walk primitive
+ * arrays instead of hash tables, so they should be preferred for anything but the smallest graphs.
+ * Directed graphs (see DirectedGraph.freeze()) get directed versions of the degree distribution, the clustering
+ * coefficient and the characteristic path length, over the snapshot's successor and predecessor rows.
+ *
  * @author venky
  */
 public class NetworkTopology {
 
+    /**
+     * pool of the engines built per call, the sampling, HyperANF and strong component engines.
+     */
+    private final ForkJoinPool pool;
+    /**
+     * engine for the all-pairs shortest paths behind the characteristic path length.
+     */
+    private final AllPairsPathLength pathLength;
+    /**
+     * engine for the triangle counts behind the clustering coefficient.
+     */
+    private final TriangleCounter triangleCounter;
+    /**
+     * engine for the power law fit behind the scale free verdict.
+     */
+    private final PowerLawFitter powerLawFitter;
+
+    /**
+     * Instantiates a new NetworkTopology, every engine runs on the common fork/join pool.
+     */
+    public NetworkTopology() {
+        this (ForkJoinPool.commonPool ());
+    }
+
+    /**
+     * Instantiates a new NetworkTopology, every engine runs on pool. The pool belongs to the caller, who shuts it
+     * down once the topology is no longer used.
+     *
+     * @param pool
+     *         the pool
+     */
+    public NetworkTopology(ForkJoinPool pool) {
+        this (pool, new AllPairsPathLength (pool), new TriangleCounter (pool), new PowerLawFitter (pool));
+    }
+
+    /**
+     * Instantiates a new NetworkTopology on the given engines, the others run on the common fork/join pool.
+     *
+     * @param pathLength
+     *         the all-pairs shortest path engine
+     * @param triangleCounter
+     *         the triangle counting engine
+     */
+    public NetworkTopology(AllPairsPathLength pathLength, TriangleCounter triangleCounter) {
+        this (ForkJoinPool.commonPool (), pathLength, triangleCounter, new PowerLawFitter ());
+    }
+
+    /**
+     * Instantiates a new NetworkTopology on the given engines, the others run on pool.
+     *
+     * @param pool
+     *         the pool of the other engines, owned by the caller
+     * @param pathLength
+     *         the all-pairs shortest path engine
+     * @param triangleCounter
+     *         the triangle counting engine
+     * @param powerLawFitter
+     *         the power law fitting engine
+     */
+    public NetworkTopology(ForkJoinPool pool, AllPairsPathLength pathLength, TriangleCounter triangleCounter,
+                           PowerLawFitter powerLawFitter) {
+        this.pool = pool;
+        this.pathLength = pathLength;
+        this.triangleCounter = triangleCounter;
+        this.powerLawFitter = powerLawFitter;
+    }
+
     /**
      * Property 1. Degree of a node and its distribution.
      */
@@ -23,8 +101,9 @@ public class NetworkTopology {
         HashMap<Integer, Integer> degreeList = new HashMap<> ();
         // getting degree of for each vertices.
         for ( int i : verticesList ) {
-            sum = sum + graph.degree (i);
-            degreeList.put (i, graph.degree (i));
+            int degree = graph.degree (i);
+            sum = sum + degree;
+            degreeList.put (i, degree);
         }
         System.out.println ("Degree of Nodes");
         System.out.println ("node\tdegree");
@@ -71,8 +150,9 @@ public class NetworkTopology {
 
         // getting strength for each node.
         for ( int i : verticesList ) {
-            totalSt = totalSt + graph.strength (i);
-            strengthList.put (i, graph.strength (i));
+            double strength = graph.strength (i);
+            totalSt = totalSt + strength;
+            strengthList.put (i, strength);
         }
         System.out.println ("Strength of Nodes");
         System.out.println ("node\tstrength");
@@ -109,169 +189,517 @@ public class NetworkTopology {
     }
 
     /**
-     * Property 3 - Clustering Coefficient of Network
+     * Property 3 - Clustering Coefficient of Network. Runs on a CSR snapshot of graph, see
+     * clusteringCoefficient(CsrGraph).
      */
     public void clusteringCoefficient(UndirectedGraph graph) {
-        double totalCc = 0;
+        clusteringCoefficient (graph.freeze ());
+    }
 
-        // get the vertices of graph
-        List<Integer> verticesList = graph.vertices ();
-        HashMap<Integer, Double> ccList = new HashMap<> ();
+    /**
+     * Property 4 - Scalefree or random network. Runs on a CSR snapshot of graph, see scaleFreeNetwork(CsrGraph).
+     */
+    public void scaleFreeNetwork(UndirectedGraph graph) {
+        scaleFreeNetwork (graph.freeze ());
+    }
 
-        // getting  Clustering Coefficient for each node.
-        for ( int i : verticesList ) {
-            totalCc = totalCc + graph.cCoefficient (i);
 
-            ccList.put (i, graph.cCoefficient (i));
+    /**
+     * Property 5 - Characteristic path length. Runs on a CSR snapshot of graph, see
+     * characteristicPathLength(CsrGraph).
+     */
+    public void characteristicPathLength(UndirectedGraph graph) {
+        characteristicPathLength (graph.freeze ());
+    }
+
+    /**
+     * Property 1. Degree of a node and its distribution, on a CSR snapshot.
+     * Runtime - O(v)
+     */
+    public void degreeDistribution(CsrGraph<?> graph) {
+        int n = graph.verticesCount ();
+        double sum = 0;
+        System.out.println ("Degree of Nodes");
+        System.out.println ("node\tdegree");
+        System.out.println ("-------------------");
+        for ( int v = 0 ; v < n ; v++ ) {
+            sum = sum + graph.degree (v);
+            System.out.println (graph.label (v) + "\t\t" + graph.degree (v));
+        }
+
+        /**
+         * Degree Distribution
+         */
+        int[] histogram = degreeHistogram (graph);
+        System.out.println ("Degree Distribution of Nodes");
+        System.out.println ("Degree\tDegree Dist");
+        System.out.println ("-------------------");
+        for ( int k = 0 ; k < histogram.length ; k++ ) {
+            if ( histogram[k] > 0 ) {
+                System.out.println (k + "\t\t" + TopologyUtil.formatDouble (histogram[k] / ( double ) n));
+            }
+        }
+
+        double avgDegree = TopologyUtil.formatDouble (n == 0 ? 0 : sum / n);
+        System.out.println ("Average Degree of this Network - " + avgDegree);
+    }
+
+    /**
+     * Property 2. Strength and Strength distribution, on a CSR snapshot.
+     * Runtime - O(v + e)
+     */
+    public void strengthDistribution(CsrGraph<?> graph) {
+        int n = graph.verticesCount ();
+        double totalSt = 0;
+        HashMap<Double, Integer> stNodesCount = new HashMap<> ();
+        System.out.println ("Strength of Nodes");
+        System.out.println ("node\tstrength");
+        System.out.println ("-------------------");
+        for ( int v = 0 ; v < n ; v++ ) {
+            double st = graph.strength (v);
+            totalSt = totalSt + st;
+            stNodesCount.merge (st, 1, Integer::sum);
+            System.out.println (graph.label (v) + "\t\t" + st);
         }
 
+        /**
+         * Strength Distribution
+         */
+        System.out.println ("Strength Distribution of Nodes");
+        System.out.println ("Strength\tStrength Dist");
+        System.out.println ("-------------------");
+        new TreeMap<> (stNodesCount).forEach ((k, v) -> {
+            System.out.println (TopologyUtil.formatDouble (k) + "\t\t" + TopologyUtil.formatDouble (v / ( double ) n));
+        });
+
+        double averageStrength = TopologyUtil.formatDouble (n == 0 ? 0 : totalSt / n);
+        System.out.println ("Average Strength of this Network - " + averageStrength);
+    }
+
+    /**
+     * Property 3 - Clustering Coefficient of Network, on a CSR snapshot.
+     * All local coefficients come from a single triangle counting pass, see TriangleCounter.
+     * Runtime - O(e^1.5)
+     */
+    public void clusteringCoefficient(CsrGraph<?> graph) {
+        TriangleCounts counts = this.triangleCounter.count (graph);
         System.out.println ("Clustering Coefficient for Nodes");
         System.out.println ("node\tClustering Coefficient");
         System.out.println ("------------------------------------");
-        ccList.forEach ((k, v) -> {
-            System.out.println (k + "\t\t" + v);
-        });
-
+        for ( int v = 0 ; v < graph.verticesCount () ; v++ ) {
+            System.out.println (graph.label (v) + "\t\t" + counts.localClustering (v));
+        }
 
-        double avarageCC = totalCc / verticesList.size ();
-        avarageCC = TopologyUtil.formatDouble (avarageCC);
-        System.out.println ("Average Degree of this Network - " + avarageCC);
+        double avarageCC = TopologyUtil.formatDouble (counts.averageClustering ());
+        System.out.println ("Average Clustering Coefficient of this Network - " + avarageCC);
+        System.out.println ("Global Clustering Coefficient (transitivity) of this Network - "
+                + TopologyUtil.formatDouble (counts.transitivity ()));
     }
 
     /**
-     * Property 4 - Scalefree or random network.
+     * Property 3 - Clustering Coefficient of Network, approximate, on a CSR snapshot.
+     * Average and global clustering coefficients are estimated from uniformly sampled wedges, see WedgeSampler.
+     * Runtime - O(v + samples * log d), where samples = ln(2 / (1 - confidence)) / (2 epsilon^2)
+     *
+     * @param epsilon
+     *         the target error, such as 0.005 for two decimal places
+     * @param confidence
+     *         the confidence level, such as 0.95
      */
+    public void clusteringCoefficient(CsrGraph<?> graph, double epsilon, double confidence) {
+        WedgeSampler sampler = new WedgeSampler (this.pool);
+        Estimate average = sampler.averageClustering (graph, epsilon, confidence);
+        Estimate global = sampler.transitivity (graph, epsilon, confidence);
+        System.out.println ("Average Clustering Coefficient of this Network - " + formatEstimate (average));
+        System.out.println ("Global Clustering Coefficient (transitivity) of this Network - "
+                + formatEstimate (global));
+    }
 
-    public void scaleFreeNetwork(UndirectedGraph graph) {
-        // get the vertices of graph
-        List<Integer> verticesList = graph.vertices ();
-        HashMap<Integer, Integer> degreeMap = new HashMap<> ();
-        // getting degree of for each vertices.
-        for ( int i : verticesList ) {
-            degreeMap.put (i, graph.degree (i));
+    /**
+     * Property 4 - Scalefree or random network, on a CSR snapshot.
+     * Fits a power law to the tail of the degree distribution and compares it with Poisson and exponential fits,
+     * see PowerLawFitter, so the verdict is printed instead of a chart to look at and runs without a display.
+     * Runtime - O(v + d^2) for d distinct degrees
+     */
+    public void scaleFreeNetwork(CsrGraph<?> graph) {
+        HashMap<Integer, Integer> degreeNodesCount = new HashMap<> ();
+        int[] histogram = degreeHistogram (graph);
+        for ( int k = 0 ; k < histogram.length ; k++ ) {
+            if ( histogram[k] > 0 ) {
+                degreeNodesCount.put (k, histogram[k]);
+            }
         }
-        HashMap<Integer, Integer> degreeNodesCount = degreeNodeCount (degreeMap);
         System.out.println (degreeNodesCount);
-        TopologyUtil.scaleFreeRandomGraph (degreeNodesCount, "Scale Free vs Random", "Degree", "Nodes");
+        printPowerLawFit (System.out, this.powerLawFitter.fit (histogram));
+    }
+
+    /**
+     * Property 4 - Scalefree or random network, from a degree histogram such as TopologyReport.degreeHistogram().
+     * Runtime - O(d^2) for d distinct degrees
+     *
+     * @param histogram
+     *         number of vertices of every degree, indexed by degree
+     */
+    public void scaleFreeNetwork(int[] histogram) {
+        printPowerLawFit (System.out, this.powerLawFitter.fit (histogram));
+    }
+
+    /**
+     * Prints the verdict of a power law fit and the fitted parameters, shared with TopologyReport.print.
+     */
+    static void printPowerLawFit(PrintStream out, PowerLawFit fit) {
+        out.println ("Scale Free vs Random - " + fit.verdict ());
+        if ( fit.getTailSize () == 0 ) {
+            out.println ("Too few nodes to fit a power law, at least " + PowerLawFitter.MIN_TAIL_SIZE
+                    + " are needed");
+            return;
+        }
+        out.println ("Power Law Exponent (alpha) - " + TopologyUtil.formatDouble (fit.getAlpha ())
+                + " for degree >= " + fit.getKMin () + " (" + fit.getTailSize () + " nodes, KS distance "
+                + TopologyUtil.formatDouble (fit.getDistance ()) + ")");
+        out.println ("Power Law vs Poisson (mean " + TopologyUtil.formatDouble (fit.getMu ())
+                + ") - log likelihood ratio " + TopologyUtil.formatDouble (fit.getPoissonRatio ()) + ", p "
+                + TopologyUtil.formatDouble (fit.getPoissonP ()));
+        out.println ("Power Law vs Exponential (rate " + TopologyUtil.formatDouble (fit.getLambda ())
+                + ") - log likelihood ratio " + TopologyUtil.formatDouble (fit.getExponentialRatio ()) + ", p "
+                + TopologyUtil.formatDouble (fit.getExponentialP ()));
+    }
+
+    /**
+     * Property 5 - Characteristic path length, on a CSR snapshot.
+     * Every unordered pair of vertices is counted once and unreachable pairs count as -1, as in the
+     * UndirectedGraph version. Single-source searches run in parallel, see AllPairsPathLength.
+     * Runtime - O(v * e log v) work
+     */
+    public void characteristicPathLength(CsrGraph<?> graph) {
+        double cpl = this.pathLength.characteristicPathLength (graph);
+        System.out.println ("Characteristic Path Length of this Graph is - " + TopologyUtil.formatDouble (cpl));
     }
 
+    /**
+     * Property 5 - Characteristic path length of an unweighted graph, in hops. Runs on a CSR snapshot of graph with
+     * unit weights, which AllPairsPathLength searches with its bit-parallel BFS. Named apart from the
+     * characteristicPathLength overloads, and the type spelled out, since the weighted UndirectedGraph is imported.
+     */
+    public void characteristicPathLengthUnweighted(edu.uncc.algos.graph.unweighted.UndirectedGraph<?> graph) {
+        characteristicPathLength (graph.freeze ());
+    }
+
+    /**
+     * Diameter, the longest shortest path between connected vertices, on a CSR snapshot. Hop counts for unweighted
+     * graphs, see AllPairsPathLength.diameter.
+     * Runtime - the same as characteristicPathLength(CsrGraph)
+     */
+    public void diameter(CsrGraph<?> graph) {
+        double diameter = this.pathLength.diameter (graph);
+        System.out.println ("Diameter of this Graph is - " + TopologyUtil.formatDouble (diameter));
+    }
 
-    public void characteristicPathLength(UndirectedGraph graph){
-        List<Integer> vertexList = graph.vertices ();
-       Collections.sort (vertexList);
-        double totalPathLen = 0;
+    /**
+     * Connected components of a CSR snapshot: their number and the size of the giant component.
+     * Runtime - O(v + e alpha(v))
+     */
+    public void connectedComponents(CsrGraph<?> graph) {
+        ConnectedComponents<?> components = ConnectedComponents.of (graph);
+        int largest = components.largest ();
+        int largestSize = largest < 0 ? 0 : components.size (largest);
+        int n = graph.verticesCount ();
+        System.out.println ("Connected Components of this Network - " + components.count ());
+        System.out.println ("Giant Component - " + largestSize + " nodes ("
+                + TopologyUtil.formatDouble (n == 0 ? 0 : largestSize / ( double ) n) + ")");
+    }
 
-        for ( int i:vertexList ){
-//            UndirectedGraph<Integer> temp = graph;
-            double[] distance = shortestPath (graph, i);
-            for ( int j = i; j<distance.length; j++ ){
-                totalPathLen = totalPathLen + distance[j];
+    /**
+     * Property 5 - Characteristic path length within connected components, on a CSR snapshot.
+     * Only pairs in the same component are searched and averaged, unlike characteristicPathLength(CsrGraph), which
+     * counts every unreachable pair as -1. Prints the path length of the giant component, the average over all
+     * connected pairs and the harmonic mean over all pairs, see ComponentPathLengths.
+     * Runtime - the sum over components of characteristicPathLength(CsrGraph) on each
+     */
+    public void componentPathLength(CsrGraph<?> graph) {
+        ComponentPathLengths<?> lengths = this.pathLength.componentPathLengths (graph);
+        int largest = lengths.components ().largest ();
+        if ( largest >= 0 ) {
+            System.out.println ("Characteristic Path Length of the Giant Component is - "
+                    + TopologyUtil.formatDouble (lengths.characteristicPathLength (largest)));
+        }
+        System.out.println ("Characteristic Path Length over Connected Pairs is - "
+                + TopologyUtil.formatDouble (lengths.characteristicPathLength ()));
+        // formatDouble can't parse back the infinity of a graph without edges
+        double harmonic = lengths.harmonicPathLength ();
+        System.out.println ("Harmonic Path Length of this Graph is - "
+                + (Double.isInfinite (harmonic) ? harmonic : TopologyUtil.formatDouble (harmonic)));
+    }
+
+    /**
+     * Hop-distance distribution, average path length and effective diameter, on a CSR snapshot.
+     * Edge weights are ignored. Estimated with HyperLogLog counters in a few linear passes, see HyperAnf.
+     * Runtime - O(d * e) for a graph of diameter d
+     */
+    public void hopDistanceDistribution(CsrGraph<?> graph) {
+        NeighbourhoodFunction nf = new HyperAnf (this.pool).run (graph, graph.verticesCount ());
+        double[] dist = nf.distanceDistribution ();
+        System.out.println ("Hop Distance Distribution");
+        System.out.println ("Hops\tPairs Dist");
+        System.out.println ("-------------------");
+        for ( int t = 1 ; t < dist.length ; t++ ) {
+            System.out.println (t + "\t\t" + TopologyUtil.formatDouble (dist[t]));
+        }
+        System.out.println ("Average Hop Path Length of this Network - "
+                + TopologyUtil.formatDouble (nf.averageDistance ()));
+        System.out.println ("Effective Diameter (90%) of this Network - "
+                + TopologyUtil.formatDouble (nf.effectiveDiameter (0.9)));
+    }
+
+    private static String formatEstimate(Estimate e) {
+        // the interval is infinite when a single source was sampled
+        return TopologyUtil.formatDouble (e.getValue ()) + " ["
+                + (Double.isInfinite (e.getLow ()) ? e.getLow () : TopologyUtil.formatDouble (e.getLow ())) + ", "
+                + (Double.isInfinite (e.getHigh ()) ? e.getHigh () : TopologyUtil.formatDouble (e.getHigh ())) + "] at "
+                + TopologyUtil.formatDouble (e.getConfidence ()) + " confidence, " + e.getSamples () + " samples";
+    }
+
+    /**
+     * Property 5 - Characteristic path length, approximate, on a CSR snapshot.
+     * Searches from a degree-stratified sample of sources until the confidence interval is within tolerance or
+     * maxSources have been searched, see SampledPathLength.
+     * Runtime - O(k * e log v) for k searched sources
+     *
+     * @param maxSources
+     *         most sources to search
+     * @param tolerance
+     *         target half-width of the confidence interval
+     * @param confidence
+     *         the confidence level, such as 0.95
+     */
+    public void characteristicPathLength(CsrGraph<?> graph, int maxSources, double tolerance, double confidence) {
+        Estimate cpl = new SampledPathLength (this.pool).estimate (graph, SampledPathLength.Sampling.STRATIFIED,
+                maxSources, tolerance, confidence);
+        System.out.println ("Characteristic Path Length of this Graph is - " + formatEstimate (cpl));
+    }
+
+    /**
+     * All properties of a CSR snapshot in one run, without printing.
+     * Degree, strength and both histograms come from a single scan of the rows, the clustering coefficients from one
+     * triangle counting pass and the characteristic path length from one all-pairs run. Call TopologyReport.print to
+     * get the output of the property methods.
+     * Runtime - O(e^1.5 + v * e log v)
+     *
+     * @param graph
+     *         the graph
+     *
+     * @return the report
+     */
+    public TopologyReport analyze(CsrGraph<?> graph) {
+        int n = graph.verticesCount ();
+        int[] offsets = graph.offsets ();
+        double[] weights = graph.weights ();
+        int[] degrees = new int[n];
+        double[] strengths = new double[n];
+        HashMap<Double, Integer> strengthCount = new HashMap<> ();
+        int maxDegree = 0;
+        long degreeSum = 0;
+        double strengthSum = 0;
+        for ( int v = 0 ; v < n ; v++ ) {
+            int k = offsets[v + 1] - offsets[v];
+            double st = 0;
+            for ( int i = offsets[v] ; i < offsets[v + 1] ; i++ ) {
+                st += weights[i];
             }
+            degrees[v] = k;
+            strengths[v] = st;
+            maxDegree = Math.max (maxDegree, k);
+            degreeSum += k;
+            strengthSum += st;
+            strengthCount.merge (st, 1, Integer::sum);
+        }
+        int[] degreeHistogram = new int[maxDegree + 1];
+        for ( int k : degrees ) {
+            degreeHistogram[k]++;
+        }
+        TriangleCounts triangles = this.triangleCounter.count (graph);
+        double cpl = this.pathLength.characteristicPathLength (graph);
+        PowerLawFit fit = this.powerLawFitter.fit (degreeHistogram);
+        return new TopologyReport (graph.vertices (), graph.edgesCount (), degrees, strengths, degreeHistogram,
+                new TreeMap<> (strengthCount), n == 0 ? 0 : ( double ) degreeSum / n, n == 0 ? 0 : strengthSum / n,
+                triangles, cpl, fit);
+    }
+
+    /**
+     * Property 1 - In and out degree of a node and their distributions, on a directed snapshot.
+     * Runtime - O(v)
+     */
+    public void degreeDistribution(DirectedCsrGraph<?> graph) {
+        int n = graph.verticesCount ();
+        int[] inDegrees = new int[n];
+        int[] outDegrees = new int[n];
+        System.out.println ("Degree of Nodes");
+        System.out.println ("node\tin\tout");
+        System.out.println ("-------------------");
+        for ( int v = 0 ; v < n ; v++ ) {
+            inDegrees[v] = graph.inDegree (v);
+            outDegrees[v] = graph.outDegree (v);
+            System.out.println (graph.label (v) + "\t\t" + inDegrees[v] + "\t" + outDegrees[v]);
+        }
+        printDistribution ("In Degree", histogram (inDegrees), n);
+        printDistribution ("Out Degree", histogram (outDegrees), n);
+
+        // every edge adds one to an in degree and one to an out degree, so both averages are e / v
+        double avgDegree = TopologyUtil.formatDouble (n == 0 ? 0 : graph.edgesCount () / ( double ) n);
+        System.out.println ("Average In / Out Degree of this Network - " + avgDegree);
+    }
+
+    /**
+     * Property 1 - In and out degree distributions of a directed graph. Runs on a snapshot of graph, see
+     * degreeDistribution(DirectedCsrGraph).
+     */
+    public void degreeDistribution(DirectedGraph<?> graph) {
+        degreeDistribution (graph.freeze ());
+    }
+
+    /**
+     * Property 3 - Directed Clustering Coefficient of Network, on a directed snapshot.
+     * Local coefficients count triangles of every orientation, see DirectedCsrGraph.cCoefficient.
+     * Runtime - O(sum over edges (u, v) of degree(u) + degree(v))
+     */
+    public void clusteringCoefficient(DirectedCsrGraph<?> graph) {
+        int n = graph.verticesCount ();
+        double sum = 0;
+        System.out.println ("Clustering Coefficient for Nodes");
+        System.out.println ("node\tClustering Coefficient");
+        System.out.println ("------------------------------------");
+        for ( int v = 0 ; v < n ; v++ ) {
+            double cc = graph.cCoefficient (v);
+            sum += cc;
+            System.out.println (graph.label (v) + "\t\t" + cc);
         }
-        double cpl = totalPathLen / (vertexList.size () * ( vertexList.size () - 1));
-        System.out.println ("Characteristic Path Length of this Graph is - "+TopologyUtil.formatDouble (cpl));
+        double avarageCC = TopologyUtil.formatDouble (n == 0 ? 0 : sum / n);
+        System.out.println ("Average Clustering Coefficient of this Network - " + avarageCC);
+    }
+
+    /**
+     * Property 3 - Directed Clustering Coefficient of a directed graph. Runs on a snapshot of graph, see
+     * clusteringCoefficient(DirectedCsrGraph).
+     */
+    public void clusteringCoefficient(DirectedGraph<?> graph) {
+        clusteringCoefficient (graph.freeze ());
     }
-    private double[] shortestPath(UndirectedGraph graph, int source){
-        Queue<Edge<Integer>> pQueue = new PriorityQueue<> (graph.weightComparator);
 
-        // initialize distance array
-        double[] distance = new double[graph.verticesCount ()+1 ];
-        int[] path = new int[graph.verticesCount ()+1 ];
-        for ( int i=1;i<distance.length;i++ ){
-            distance[i] = -1;
+    /**
+     * Property 5 - Characteristic path length, on a directed snapshot.
+     * Hop counts along the edges, averaged over every ordered pair of vertices, unreachable pairs count as -1.
+     * Searches run 64 sources at a time, see AllPairsPathLength.
+     * Runtime - O(v / 64 * d * (e + v)) work for a graph of diameter d
+     */
+    public void characteristicPathLength(DirectedCsrGraph<?> graph) {
+        double cpl = this.pathLength.characteristicPathLength (graph);
+        System.out.println ("Characteristic Path Length of this Graph is - " + TopologyUtil.formatDouble (cpl));
+    }
+
+    /**
+     * Property 5 - Characteristic path length of a directed graph. Runs on a snapshot of graph, see
+     * characteristicPathLength(DirectedCsrGraph).
+     */
+    public void characteristicPathLength(DirectedGraph<?> graph) {
+        characteristicPathLength (graph.freeze ());
+    }
+
+    /**
+     * Strongly connected components of a directed snapshot: their number, the largest one and the size of the
+     * condensation DAG. Uses the iterative Tarjan search, see StrongComponentFinder for the parallel variant.
+     * Runtime - O(v + e)
+     */
+    public void stronglyConnectedComponents(DirectedCsrGraph<?> graph) {
+        StrongComponents components = new StrongComponentFinder (this.pool).find (graph);
+        int largest = components.largest ();
+        int largestSize = largest < 0 ? 0 : components.size (largest);
+        int n = graph.verticesCount ();
+        System.out.println ("Strongly Connected Components of this Network - " + components.count ());
+        System.out.println ("Largest Strongly Connected Component - " + largestSize + " nodes ("
+                + TopologyUtil.formatDouble (n == 0 ? 0 : largestSize / ( double ) n) + ")");
+        System.out.println ("Condensation DAG Edges - " + components.condensation ().edgesCount ());
+    }
+
+    /**
+     * Strongly connected components of a directed graph. Runs on a snapshot of graph, see
+     * stronglyConnectedComponents(DirectedCsrGraph).
+     */
+    public void stronglyConnectedComponents(DirectedGraph<?> graph) {
+        stronglyConnectedComponents (graph.freeze ());
+    }
+
+    /**
+     * Number of vertices for every value, indexed by value.
+     */
+    private static int[] histogram(int[] values) {
+        int max = 0;
+        for ( int k : values ) {
+            max = Math.max (max, k);
         }
-        path[0] = -1;
-        distance[source] = 0;
-
-        // get neighbours of source and add to priority queue
-        List<Edge<Integer>> edges = graph.getNeighbours (source);
-        for ( Edge<Integer> e: edges ){
-            distance[e.getDest ()] = e.getW ();
-            path[e.getDest ()] = source;
-            pQueue.offer (e);
+        int[] histogram = new int[max + 1];
+        for ( int k : values ) {
+            histogram[k]++;
         }
+        return histogram;
+    }
 
-        while ( !pQueue.isEmpty () ){
-            Edge<Integer> e = pQueue.poll ();
-            int nextNode = e.getDest ();
-            List<Edge<Integer>> adjE = graph.getNeighbours (nextNode);
-            for ( int i=0; i<adjE.size (); i++ ){
-                double cW = adjE.get (i).getW ();
-                double pW = distance[nextNode];
-                double newDistance = pW + cW;
-                if ( distance[adjE.get (i).getDest ()] == -1 ){
-                    distance[adjE.get (i).getDest ()] = newDistance;
-                    pQueue.offer (adjE.get (i));
-                    path[adjE.get (i).getDest ()] = e.getDest ();
-                } else if ( distance[adjE.get (i).getDest ()] > newDistance ){
-                    distance[adjE.get (i).getDest ()] = newDistance;
-//                    Edge<Integer> thisEdge = adjE.get (i);
-                    Edge<Integer> thisEdge2 = new Edge<> (adjE.get (i).getDest (), adjE.get(i).getW ());
-                    thisEdge2.setW (newDistance);
-                    pQueue.offer (thisEdge2);
-
-                    path[adjE.get (i).getDest ()] = e.getDest ();
-                }
+    private static void printDistribution(String name, int[] histogram, int n) {
+        System.out.println (name + " Distribution of Nodes");
+        System.out.println (name + "\t" + name + " Dist");
+        System.out.println ("-------------------");
+        for ( int k = 0 ; k < histogram.length ; k++ ) {
+            if ( histogram[k] > 0 ) {
+                System.out.println (k + "\t\t" + TopologyUtil.formatDouble (histogram[k] / ( double ) n));
             }
         }
+    }
 
-        return distance;
+    /**
+     * Number of vertices for every degree, indexed by degree.
+     */
+    private int[] degreeHistogram(CsrGraph<?> graph) {
+        int maxDegree = 0;
+        for ( int v = 0 ; v < graph.verticesCount () ; v++ ) {
+            maxDegree = Math.max (maxDegree, graph.degree (v));
+        }
+        int[] histogram = new int[maxDegree + 1];
+        for ( int v = 0 ; v < graph.verticesCount () ; v++ ) {
+            histogram[graph.degree (v)]++;
+        }
+        return histogram;
     }
 
     /**
+     * Number of nodes for every degree.
+     * Runtime - O(v)
+     *
      * @param degreeMap
+     *         node -> degree
      *
-     * @return
+     * @return degree -> node count
      */
     private HashMap<Integer, Integer> degreeNodeCount(HashMap<Integer, Integer> degreeMap) {
-        Set<Integer> degreeSet = new TreeSet<> ();
+        HashMap<Integer, Integer> degreeNodesCount = new HashMap<> ();
         degreeMap.forEach ((k, v) -> {
-            degreeSet.add (v);
+            degreeNodesCount.merge (v, 1, Integer::sum);
         });
-
-        Set<Map.Entry<Integer, Integer>> degreeEntry = degreeMap.entrySet ();
-        HashMap<Integer, Integer> degreeNodesCount = new HashMap<> ();
-        Iterator<Integer> iterator = degreeSet.iterator ();
-
-
-        while ( iterator.hasNext () ) {
-            int degree = iterator.next ();
-            int nodeCount = 0;
-            Iterator<Map.Entry<Integer, Integer>> it = degreeEntry.iterator ();
-            while ( it.hasNext () ) {
-                if ( it.next ().getValue () == degree ) {
-                    nodeCount += 1;
-                }
-            }
-            degreeNodesCount.put (degree, nodeCount);
-        }
-
         return degreeNodesCount;
     }
 
+    /**
+     * Number of nodes for every strength.
+     * Runtime - O(v)
+     *
+     * @param strengthMap
+     *         node -> strength
+     *
+     * @return strength -> node count
+     */
     private HashMap<Double, Integer> strengthNodeCount(HashMap<Integer, Double> strengthMap) {
-        Set<Double> strengthSet = new TreeSet<> ();
+        HashMap<Double, Integer> stNodesCount = new HashMap<> ();
         strengthMap.forEach ((k, v) -> {
-            strengthSet.add (v);
+            stNodesCount.merge (v, 1, Integer::sum);
         });
-
-        Set<Map.Entry<Integer, Double>> strengthEntry = strengthMap.entrySet ();
-        HashMap<Double, Integer> stNodesCount = new HashMap<> ();
-        Iterator<Double> iterator = strengthSet.iterator ();
-
-
-        while ( iterator.hasNext () ) {
-            double st = iterator.next ();
-            int nodeCount = 0;
-            Iterator<Map.Entry<Integer, Double>> it = strengthEntry.iterator ();
-            while ( it.hasNext () ) {
-                if ( it.next ().getValue () == st ) {
-                    nodeCount += 1;
-                }
-            }
-            stNodesCount.put (st, nodeCount);
-        }
-
         return stNodesCount;
     }
 
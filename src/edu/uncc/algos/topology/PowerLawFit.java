@@ -0,0 +1,169 @@
+package edu.uncc.algos.topology;
+
+/**
+ * Result of fitting a degree distribution with PowerLawFitter: the power law exponent and cut-off, the alternative
+ * fits and the verdict.
+ * The log likelihood ratios are the power law's against each alternative over the tail, positive when the power law
+ * fits better, and their p-values tell whether the sign can be trusted. A distribution is
+ * - SCALE_FREE when the power law beats both the Poisson and the exponential fit significantly,
+ * - RANDOM when either alternative beats the power law significantly,
+ * - INCONCLUSIVE otherwise, or when no tail has PowerLawFitter.MIN_TAIL_SIZE vertices.
+ * A small KS distance alone does not make a distribution scale free: any distribution has a tail that some power law
+ * follows closely.
+ *
+ * @author venky
+ */
+public class PowerLawFit {
+    public enum Verdict {
+        SCALE_FREE, RANDOM, INCONCLUSIVE
+    }
+
+    private final int vertices;
+    private final int kMin;
+    private final int tailSize;
+    private final double alpha;
+    private final double distance;
+    private final double lambda;
+    private final double mu;
+    private final double exponentialRatio;
+    private final double exponentialP;
+    private final double poissonRatio;
+    private final double poissonP;
+
+    PowerLawFit(int vertices, int kMin, int tailSize, double alpha, double distance, double lambda, double mu,
+                double exponentialRatio, double exponentialP, double poissonRatio, double poissonP) {
+        this.vertices = vertices;
+        this.kMin = kMin;
+        this.tailSize = tailSize;
+        this.alpha = alpha;
+        this.distance = distance;
+        this.lambda = lambda;
+        this.mu = mu;
+        this.exponentialRatio = exponentialRatio;
+        this.exponentialP = exponentialP;
+        this.poissonRatio = poissonRatio;
+        this.poissonP = poissonP;
+    }
+
+    /**
+     * A fit of a distribution with too few vertices for any tail, every value NaN and the verdict INCONCLUSIVE.
+     */
+    static PowerLawFit inconclusive(int vertices) {
+        return new PowerLawFit (vertices, 0, 0, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN,
+                Double.NaN, Double.NaN, Double.NaN);
+    }
+
+    /**
+     * The verdict, see the class description.
+     *
+     * @return the verdict
+     */
+    public Verdict verdict() {
+        if ( this.tailSize == 0 ) {
+            return Verdict.INCONCLUSIVE;
+        }
+        boolean exponential = this.exponentialP < PowerLawFitter.SIGNIFICANCE;
+        boolean poisson = this.poissonP < PowerLawFitter.SIGNIFICANCE;
+        if ( (exponential && this.exponentialRatio < 0) || (poisson && this.poissonRatio < 0) ) {
+            return Verdict.RANDOM;
+        }
+        if ( exponential && poisson ) {
+            return Verdict.SCALE_FREE;
+        }
+        return Verdict.INCONCLUSIVE;
+    }
+
+    /**
+     * Number of vertices of the distribution, degree 0 included.
+     *
+     * @return the vertices
+     */
+    public int verticesCount() {
+        return this.vertices;
+    }
+
+    /**
+     * Smallest degree the power law holds from.
+     *
+     * @return kMin, 0 if there is no fit
+     */
+    public int getKMin() {
+        return this.kMin;
+    }
+
+    /**
+     * Number of vertices of degree kMin or more.
+     *
+     * @return the tail size
+     */
+    public int getTailSize() {
+        return this.tailSize;
+    }
+
+    /**
+     * Exponent of the power law, p(k) proportional to k^-alpha.
+     *
+     * @return alpha
+     */
+    public double getAlpha() {
+        return this.alpha;
+    }
+
+    /**
+     * Kolmogorov-Smirnov distance between the tail and the power law.
+     *
+     * @return the distance
+     */
+    public double getDistance() {
+        return this.distance;
+    }
+
+    /**
+     * Rate of the exponential fit, p(k) proportional to e^(-lambda k).
+     *
+     * @return lambda
+     */
+    public double getLambda() {
+        return this.lambda;
+    }
+
+    /**
+     * Mean of the Poisson fit, before truncation at kMin.
+     *
+     * @return mu
+     */
+    public double getMu() {
+        return this.mu;
+    }
+
+    /**
+     * Log likelihood ratio of the power law against the exponential fit.
+     *
+     * @return the ratio, positive when the power law fits better
+     */
+    public double getExponentialRatio() {
+        return this.exponentialRatio;
+    }
+
+    public double getExponentialP() {
+        return this.exponentialP;
+    }
+
+    /**
+     * Log likelihood ratio of the power law against the Poisson fit.
+     *
+     * @return the ratio, positive when the power law fits better
+     */
+    public double getPoissonRatio() {
+        return this.poissonRatio;
+    }
+
+    public double getPoissonP() {
+        return this.poissonP;
+    }
+
+    @Override public String toString() {
+        return verdict () + " (alpha " + this.alpha + ", kMin " + this.kMin + ", tail " + this.tailSize + " of "
+                + this.vertices + ", KS " + this.distance + ")";
+    }
+}
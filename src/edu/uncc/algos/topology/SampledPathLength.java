@@ -0,0 +1,302 @@
+package edu.uncc.algos.topology;
+
+import edu.uncc.algos.graph.weighted.CsrGraph;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Approximate characteristic path length from a sample of single-source searches.
+ * The characteristic path length is a mean over sources of the per-source path length sum, so it is estimated by the
+ * mean over sampled sources (drawn without replacement) with a normal confidence interval and a finite population
+ * correction. The estimate is on the same scale as AllPairsPathLength.characteristicPathLength.
+ * - UNIFORM draws sources uniformly.
+ * - STRATIFIED sorts the vertices by degree, cuts them into equal strata and draws from every stratum in turn, so
+ * hubs and leaves are always represented in proportion. There are at most maxSources strata, so every stratum is
+ * drawn from. The interval uses the stratified variance, which is usually much tighter on skewed degree
+ * distributions; a stratum of a single draw borrows the pooled variance of the others.
+ * Sources are searched in fixed-size batches on a fork/join pool, and sampling stops as soon as the half-width of the
+ * interval drops to the tolerance, or at maxSources. For a fixed seed the sample, and so the estimate, is the same for
+ * any number of threads.
+ * Runtime - O(k * e log v) for k searched sources
+ *
+ * @author venky
+ */
+public class SampledPathLength {
+    /**
+     * sources searched between two checks of the interval.
+     */
+    private static final int BATCH = 32;
+    private static final int STRATA = 8;
+    /**
+     * fewest sources before the interval is trusted for stopping.
+     */
+    private static final int MIN_SOURCES = 30;
+
+    /**
+     * Source sampling scheme.
+     */
+    public enum Sampling {
+        UNIFORM, STRATIFIED
+    }
+
+    private final ForkJoinPool pool;
+    private final long seed;
+    private SsspMode mode = SsspMode.AUTO;
+
+    /**
+     * Instantiates a new SampledPathLength on the common pool with a random seed.
+     */
+    public SampledPathLength() {
+        this (ForkJoinPool.commonPool ());
+    }
+
+    /**
+     * Instantiates a new SampledPathLength with a random seed.
+     *
+     * @param pool
+     *         the pool to run searches on
+     */
+    public SampledPathLength(ForkJoinPool pool) {
+        this (pool, new SplittableRandom ().nextLong ());
+    }
+
+    /**
+     * Instantiates a new SampledPathLength.
+     *
+     * @param pool
+     *         the pool to run searches on
+     * @param seed
+     *         seed of the source sample
+     */
+    public SampledPathLength(ForkJoinPool pool, long seed) {
+        this.pool = pool;
+        this.seed = seed;
+    }
+
+    /**
+     * Selects the single-source algorithm, see AllPairsPathLength.setMode.
+     *
+     * @param mode
+     *         the mode
+     */
+    public void setMode(SsspMode mode) {
+        this.mode = Objects.requireNonNull (mode);
+    }
+
+    /**
+     * Estimates the characteristic path length.
+     * Throws IllegalArgumentException if confidence is not in (0, 1) or the graph has fewer than 2 vertices.
+     *
+     * @param graph
+     *         the graph
+     * @param sampling
+     *         the sampling scheme
+     * @param maxSources
+     *         most sources to search
+     * @param tolerance
+     *         stop once the half-width of the interval is at most this, 0 to always search maxSources
+     * @param confidence
+     *         the confidence level, such as 0.95
+     *
+     * @return the estimate
+     */
+    public Estimate estimate(CsrGraph<?> graph, Sampling sampling, int maxSources, double tolerance,
+                             double confidence) {
+        int n = graph.verticesCount ();
+        if ( n < 2 ) {
+            throw new IllegalArgumentException ("Graph needs at least 2 vertices");
+        } else if ( !(confidence > 0 && confidence < 1) ) {
+            throw new IllegalArgumentException ("Confidence must be between 0 and 1");
+        }
+        double z = normalQuantile (0.5 + confidence / 2);
+        // never more strata than sources, so a small sample still draws from every stratum
+        int strata = sampling == Sampling.STRATIFIED ? Math.min (STRATA, Math.min (n, Math.max (1, maxSources))) : 1;
+        int[][] members = strata (graph, strata);
+        int[] order = sampleOrder (members, maxSources);
+
+        SsspMode resolved = this.mode.resolve (graph);
+        ThreadLocal<ShortestPathSearch> searches = ThreadLocal.withInitial (() -> resolved.newSearch (graph));
+        double[] values = new double[order.length];
+        // running count, sum and sum of squares of every stratum
+        long[] count = new long[strata];
+        double[] sum = new double[strata];
+        double[] sumSq = new double[strata];
+        int[] stratumOf = stratumOf (members, n);
+
+        double mean = 0, halfWidth = Double.POSITIVE_INFINITY;
+        int done = 0;
+        while ( done < order.length ) {
+            int from = done, to = Math.min (order.length, done + BATCH);
+            this.pool.invoke (new Batch (searches, order, values, from, to));
+            for ( int i = from ; i < to ; i++ ) {
+                int h = stratumOf[order[i]];
+                count[h]++;
+                sum[h] += values[i];
+                sumSq[h] += values[i] * values[i];
+            }
+            done = to;
+
+            // strata not drawn from yet drop out of the mean, the weights of the others are renormalized
+            double sampledWeight = 0, pooled = 0, total = 0, totalSq = 0;
+            long pooledDf = 0;
+            mean = 0;
+            for ( int h = 0 ; h < strata ; h++ ) {
+                if ( count[h] > 0 ) {
+                    double weight = ( double ) members[h].length / n;
+                    sampledWeight += weight;
+                    mean += weight * sum[h] / count[h];
+                    pooled += sumSq[h] - sum[h] * sum[h] / count[h];
+                    pooledDf += count[h] - 1;
+                    total += sum[h];
+                    totalSq += sumSq[h];
+                }
+            }
+            mean /= sampledWeight;
+            // a stratum of a single draw has no variance of its own, it takes the pooled within-strata variance, or the
+            // variance of the whole sample while no stratum has two draws, and stays unknown with a single source
+            double fallback = pooledDf > 0 ? Math.max (0, pooled / pooledDf)
+                    : done > 1 ? Math.max (0, (totalSq - total * total / done) / (done - 1)) : Double.POSITIVE_INFINITY;
+            double variance = 0;
+            for ( int h = 0 ; h < strata ; h++ ) {
+                double fpc = 1 - ( double ) count[h] / members[h].length;
+                if ( count[h] == 0 || fpc <= 0 ) {
+                    continue;
+                }
+                double weight = members[h].length / (n * sampledWeight);
+                double m = sum[h] / count[h];
+                double s2 = count[h] > 1 ? Math.max (0, (sumSq[h] - count[h] * m * m) / (count[h] - 1)) : fallback;
+                variance += weight * weight * s2 / count[h] * fpc;
+            }
+            halfWidth = z * Math.sqrt (variance);
+            if ( done >= MIN_SOURCES && halfWidth <= tolerance ) {
+                break;
+            }
+        }
+        if ( done == n ) {
+            halfWidth = 0; // every source was searched, the value is exact
+        }
+        return new Estimate (mean, mean - halfWidth, mean + halfWidth, confidence, done);
+    }
+
+    /**
+     * Fork/join task searching the sources order[from, to), one task per source.
+     */
+    private static class Batch extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final ThreadLocal<ShortestPathSearch> searches;
+        private final int[] order;
+        private final double[] values;
+        private final int from;
+        private final int to;
+
+        Batch(ThreadLocal<ShortestPathSearch> searches, int[] order, double[] values, int from, int to) {
+            this.searches = searches;
+            this.order = order;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override protected void compute() {
+            if ( to - from == 1 ) {
+                double[] distance = searches.get ().distances (order[from]);
+                // each unordered pair counts once over v(v-1), as in AllPairsPathLength
+                values[from] = AllPairsPathLength.rowSum (distance, order[from]) / (2.0 * (distance.length - 1));
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll (new Batch (searches, order, values, from, mid), new Batch (searches, order, values, mid, to));
+        }
+    }
+
+    /**
+     * Vertices of every stratum, strata are equal slices of the vertices sorted by degree.
+     */
+    private static int[][] strata(CsrGraph<?> graph, int strata) {
+        int n = graph.verticesCount ();
+        long[] keys = new long[n];
+        for ( int v = 0 ; v < n ; v++ ) {
+            keys[v] = (( long ) graph.degree (v) << 32) | v;
+        }
+        Arrays.sort (keys);
+        int[][] members = new int[strata][];
+        for ( int h = 0 ; h < strata ; h++ ) {
+            int from = ( int ) (( long ) n * h / strata), to = ( int ) (( long ) n * (h + 1) / strata);
+            members[h] = new int[to - from];
+            for ( int i = from ; i < to ; i++ ) {
+                members[h][i - from] = ( int ) keys[i];
+            }
+        }
+        return members;
+    }
+
+    private static int[] stratumOf(int[][] members, int n) {
+        int[] stratumOf = new int[n];
+        for ( int h = 0 ; h < members.length ; h++ ) {
+            for ( int v : members[h] ) {
+                stratumOf[v] = h;
+            }
+        }
+        return stratumOf;
+    }
+
+    /**
+     * Shuffles every stratum and interleaves them, so every prefix of the order is a proportional sample.
+     */
+    private int[] sampleOrder(int[][] members, int maxSources) {
+        SplittableRandom random = new SplittableRandom (this.seed);
+        int total = 0;
+        for ( int[] m : members ) {
+            for ( int i = m.length - 1 ; i > 0 ; i-- ) {
+                int j = random.nextInt (i + 1);
+                int t = m[i];
+                m[i] = m[j];
+                m[j] = t;
+            }
+            total += m.length;
+        }
+        int[] order = new int[Math.min (total, Math.max (1, maxSources))];
+        int[] next = new int[members.length];
+        int filled = 0;
+        while ( filled < order.length ) {
+            for ( int h = 0 ; h < members.length && filled < order.length ; h++ ) {
+                if ( next[h] < members[h].length ) {
+                    order[filled++] = members[h][next[h]++];
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Quantile of the standard normal distribution (Acklam's rational approximation, relative error below 1.2e-9).
+     */
+    static double normalQuantile(double p) {
+        double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                6.680131188771972e+01, -1.328068155288572e+01};
+        double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                3.754408661907416e+00};
+        double low = 0.02425;
+        if ( p < low ) {
+            double q = Math.sqrt (-2 * Math.log (p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        } else if ( p > 1 - low ) {
+            double q = Math.sqrt (-2 * Math.log (1 - p));
+            return -(((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+                / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+}
@@ -0,0 +1,22 @@
+package edu.uncc.algos.topology;
+
+/**
+ * A single-source shortest path search over a CSR snapshot.
+ * An instance owns its distance buffer and working memory and reuses them for every source, so it must be confined
+ * to one thread. Engines that run many sources concurrently keep one instance per worker thread.
+ *
+ * @author venky
+ */
+interface ShortestPathSearch {
+
+    /**
+     * Runs the search from source.
+     *
+     * @param source
+     *         dense id of the source vertex
+     *
+     * @return distance to every dense vertex id, Double.POSITIVE_INFINITY if unreachable. The array belongs to this
+     *         search and is overwritten by the next call.
+     */
+    double[] distances(int source);
+}
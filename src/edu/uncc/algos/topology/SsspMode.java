@@ -0,0 +1,83 @@
+package edu.uncc.algos.topology;
+
+import edu.uncc.algos.graph.weighted.CsrGraph;
+
+/**
+ * Single-source shortest path algorithm used by the path length engines.
+ *
+ * @author venky
+ */
+public enum SsspMode {
+    /**
+     * BFS when the graph is unweighted, DIAL when every weight is a non-negative integer of at most
+     * e / DIAL_EDGES_PER_WEIGHT, DIJKSTRA otherwise. Dial scans a bucket for every distance up to the farthest vertex,
+     * so it only beats Dijkstra while the largest weight is small next to the number of edges.
+     */
+    AUTO,
+    /**
+     * Dijkstra with an indexed heap, any non-negative weights. O(e log v) per source.
+     */
+    DIJKSTRA,
+    /**
+     * Dial's bucket queue, non-negative integer weights up to MAX_DIAL_WEIGHT. O(e + v * C) per source, where C is
+     * the largest weight.
+     */
+    DIAL,
+    /**
+     * Breadth-first search counting hops, for graphs whose weights are all 1 or all 0 (no weights in the edge file).
+     * O(e) per source, and all-pairs engines run 64 sources per traversal with bit-parallel frontiers.
+     */
+    BFS;
+
+    /**
+     * largest weight DIAL accepts, it keeps C + 1 buckets.
+     */
+    public static final int MAX_DIAL_WEIGHT = 1 << 16;
+    /**
+     * AUTO picks DIAL for weights up to e / DIAL_EDGES_PER_WEIGHT. Dial and Dijkstra break even at about C = e on
+     * random graphs of 1200 to 120000 edges, this keeps a margin below that.
+     */
+    public static final int DIAL_EDGES_PER_WEIGHT = 4;
+
+    /**
+     * Resolves AUTO for a graph, and checks that an explicit DIAL or BFS can run on it.
+     * Throws IllegalArgumentException if DIAL or BFS is requested for weights it can't handle.
+     *
+     * @param graph
+     *         the graph to search
+     *
+     * @return DIJKSTRA, DIAL or BFS
+     */
+    public SsspMode resolve(CsrGraph<?> graph) {
+        boolean dialWeights = graph.maxIntegerWeight () >= 0 && graph.maxIntegerWeight () <= MAX_DIAL_WEIGHT;
+        if ( this == AUTO ) {
+            boolean dialFaster = dialWeights
+                    && graph.maxIntegerWeight () <= graph.edgesCount () / DIAL_EDGES_PER_WEIGHT;
+            return graph.isUnweighted () ? BFS : dialFaster ? DIAL : DIJKSTRA;
+        } else if ( this == DIAL && !dialWeights ) {
+            throw new IllegalArgumentException ("Dial search needs integer weights between 0 and " + MAX_DIAL_WEIGHT);
+        } else if ( this == BFS && !graph.isUnweighted () ) {
+            throw new IllegalArgumentException ("BFS needs all weights 1 or all weights 0");
+        }
+        return this;
+    }
+
+    /**
+     * Creates a search of this mode for a graph.
+     *
+     * @param graph
+     *         the graph to search
+     *
+     * @return a new search, to be confined to one thread
+     */
+    ShortestPathSearch newSearch(CsrGraph<?> graph) {
+        switch ( resolve (graph) ) {
+            case BFS:
+                return new BfsSearch (graph);
+            case DIAL:
+                return new DialSearch (graph);
+            default:
+                return new DijkstraSearch (graph);
+        }
+    }
+}
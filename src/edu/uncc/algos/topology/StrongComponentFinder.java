@@ -0,0 +1,348 @@
+package edu.uncc.algos.topology;
+
+import edu.uncc.algos.graph.unweighted.DirectedCsrGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Strongly connected components engine for directed snapshots.
+ * Without a pool, components are found by Tarjan's algorithm, run with an explicit stack of (vertex, next edge)
+ * frames instead of recursion, so paths of any length fit in the heap.
+ * With a pool, the forward-backward (FW-BW) method runs over the fork/join pool: vertices with no incoming or no
+ * outgoing edge are first trimmed as components of their own, then a pivot's forward and backward reachable sets
+ * are coloured by breadth-first search. Their intersection is the pivot's component, and the rest of the
+ * subproblem falls into three parts that no component crosses, which are searched in parallel. Parts smaller than
+ * MIN_VERTICES_PER_TASK are finished with the iterative Tarjan. A task keeps the largest part for itself and forks
+ * the others without joining them, so the call stack does not grow with the number of splits. When the kept part
+ * still holds more than 7/8 of the split vertices, splitting makes too little progress (a long chain of small
+ * cycles would take one search per cycle), and the part is finished with Tarjan as well.
+ * Both variants give the same StrongComponents, see there for the numbering.
+ * Runtime - O(v + e) with Tarjan. FW-BW does O(v + e) work per level of splits and every part kept or forked is at
+ * most 7/8 of its parent, so O((v + e) log v) at worst, and a few levels on graphs with one giant component.
+ *
+ * @author venky
+ */
+public class StrongComponentFinder {
+    /**
+     * parts smaller than this are not split further.
+     */
+    private static final int MIN_VERTICES_PER_TASK = 4096;
+    /**
+     * colour of vertices whose component is known.
+     */
+    private static final int DONE = -1;
+
+    /**
+     * pool for the parallel FW-BW variant, null for Tarjan on the calling thread.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Instantiates a new sequential StrongComponentFinder.
+     */
+    public StrongComponentFinder() {
+        this (null);
+    }
+
+    /**
+     * Instantiates a new parallel StrongComponentFinder.
+     *
+     * @param pool
+     *         the pool to search on, null to search on the calling thread
+     */
+    public StrongComponentFinder(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Finds the strongly connected components of a graph.
+     *
+     * @param graph
+     *         the graph
+     *
+     * @return the components
+     */
+    public StrongComponents find(DirectedCsrGraph<?> graph) {
+        Search search = new Search (graph);
+        int n = graph.verticesCount ();
+        if ( this.pool == null ) {
+            int[] all = new int[n];
+            for ( int v = 0 ; v < n ; v++ ) {
+                all[v] = v;
+            }
+            search.tarjan (all);
+        } else {
+            int[] rest = search.trim ();
+            if ( rest.length > 0 ) {
+                this.pool.invoke (new Split (null, search, rest));
+            }
+        }
+        return new StrongComponents (graph, search.component);
+    }
+
+    /**
+     * State of one search, the arrays are shared by all tasks, which write disjoint vertices.
+     */
+    private static class Search {
+        private final int[] outOffsets;
+        private final int[] outTargets;
+        private final int[] inOffsets;
+        private final int[] inSources;
+        /**
+         * part of every vertex still searched, DONE once its component is known.
+         */
+        private final int[] color;
+        private final int[] component;
+        /**
+         * Tarjan's discovery index and low link, and the next edge to follow from every vertex.
+         */
+        private final int[] index;
+        private final int[] low;
+        private final int[] edge;
+        private final AtomicInteger colors = new AtomicInteger ();
+        private final AtomicInteger components = new AtomicInteger ();
+
+        Search(DirectedCsrGraph<?> graph) {
+            int n = graph.verticesCount ();
+            this.outOffsets = graph.outOffsets ();
+            this.outTargets = graph.outTargets ();
+            this.inOffsets = graph.inOffsets ();
+            this.inSources = graph.inSources ();
+            this.color = new int[n];
+            this.component = new int[n];
+            this.index = new int[n];
+            this.low = new int[n];
+            this.edge = new int[n];
+            Arrays.fill (this.component, -1);
+            Arrays.fill (this.index, -1);
+        }
+
+        /**
+         * Iterative Tarjan over the vertices of one part, following only edges inside the part.
+         */
+        void tarjan(int[] part) {
+            if ( part.length == 0 ) {
+                return;
+            }
+            int c = this.color[part[0]];
+            int[] stack = new int[part.length];
+            int[] calls = new int[part.length];
+            int sp = 0, counter = 0;
+            for ( int root : part ) {
+                if ( this.index[root] >= 0 ) {
+                    continue;
+                }
+                int cp = 0;
+                this.index[root] = this.low[root] = counter++;
+                this.edge[root] = this.outOffsets[root];
+                stack[sp++] = root;
+                calls[cp++] = root;
+                while ( cp > 0 ) {
+                    int u = calls[cp - 1];
+                    if ( this.edge[u] < this.outOffsets[u + 1] ) {
+                        int v = this.outTargets[this.edge[u]++];
+                        if ( this.color[v] != c ) {
+                            continue;
+                        }
+                        if ( this.index[v] < 0 ) {
+                            this.index[v] = this.low[v] = counter++;
+                            this.edge[v] = this.outOffsets[v];
+                            stack[sp++] = v;
+                            calls[cp++] = v;
+                        } else if ( this.component[v] < 0 ) {
+                            // v is still on the stack
+                            this.low[u] = Math.min (this.low[u], this.index[v]);
+                        }
+                        continue;
+                    }
+                    cp--;
+                    if ( this.low[u] == this.index[u] ) {
+                        int id = this.components.getAndIncrement ();
+                        int v;
+                        do {
+                            v = stack[--sp];
+                            this.component[v] = id;
+                        } while ( v != u );
+                    }
+                    if ( cp > 0 ) {
+                        int parent = calls[cp - 1];
+                        this.low[parent] = Math.min (this.low[parent], this.low[u]);
+                    }
+                }
+            }
+            for ( int v : part ) {
+                this.color[v] = DONE;
+            }
+        }
+
+        /**
+         * Repeatedly removes vertices without incoming or outgoing edges, self loops aside, each is a component of
+         * its own. Returns the vertices left, all of colour 0.
+         */
+        int[] trim() {
+            int n = this.color.length;
+            int[] in = new int[n];
+            int[] out = new int[n];
+            int[] queue = new int[n];
+            int tail = 0;
+            for ( int v = 0 ; v < n ; v++ ) {
+                for ( int i = this.outOffsets[v] ; i < this.outOffsets[v + 1] ; i++ ) {
+                    if ( this.outTargets[i] != v ) {
+                        out[v]++;
+                        in[this.outTargets[i]]++;
+                    }
+                }
+            }
+            for ( int v = 0 ; v < n ; v++ ) {
+                if ( in[v] == 0 || out[v] == 0 ) {
+                    this.color[v] = DONE;
+                    queue[tail++] = v;
+                }
+            }
+            for ( int head = 0 ; head < tail ; head++ ) {
+                int u = queue[head];
+                this.component[u] = this.components.getAndIncrement ();
+                for ( int i = this.outOffsets[u] ; i < this.outOffsets[u + 1] ; i++ ) {
+                    int v = this.outTargets[i];
+                    if ( this.color[v] != DONE && --in[v] == 0 ) {
+                        this.color[v] = DONE;
+                        queue[tail++] = v;
+                    }
+                }
+                for ( int i = this.inOffsets[u] ; i < this.inOffsets[u + 1] ; i++ ) {
+                    int v = this.inSources[i];
+                    if ( this.color[v] != DONE && --out[v] == 0 ) {
+                        this.color[v] = DONE;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+            int[] rest = new int[n - tail];
+            int size = 0;
+            for ( int v = 0 ; v < n ; v++ ) {
+                if ( this.color[v] != DONE ) {
+                    rest[size++] = v;
+                }
+            }
+            return rest;
+        }
+
+        /**
+         * One FW-BW step: finds the component of a pivot of the part, and returns the forward only, backward only
+         * and unreached vertices of the part, each with a colour of its own.
+         */
+        int[][] split(int[] part) {
+            int c = this.color[part[0]];
+            int pivot = part[0];
+            for ( int v : part ) {
+                if ( degree (v) > degree (pivot) ) {
+                    pivot = v;
+                }
+            }
+            int fw = this.colors.incrementAndGet ();
+            int bw = this.colors.incrementAndGet ();
+            int[] queue = new int[part.length];
+
+            this.color[pivot] = fw;
+            queue[0] = pivot;
+            for ( int head = 0, tail = 1 ; head < tail ; head++ ) {
+                int u = queue[head];
+                for ( int i = this.outOffsets[u] ; i < this.outOffsets[u + 1] ; i++ ) {
+                    int v = this.outTargets[i];
+                    if ( this.color[v] == c ) {
+                        this.color[v] = fw;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+
+            int id = this.components.getAndIncrement ();
+            this.color[pivot] = DONE;
+            this.component[pivot] = id;
+            queue[0] = pivot;
+            for ( int head = 0, tail = 1 ; head < tail ; head++ ) {
+                int u = queue[head];
+                for ( int i = this.inOffsets[u] ; i < this.inOffsets[u + 1] ; i++ ) {
+                    int v = this.inSources[i];
+                    if ( this.color[v] == c ) {
+                        this.color[v] = bw;
+                        queue[tail++] = v;
+                    } else if ( this.color[v] == fw ) {
+                        this.color[v] = DONE;
+                        this.component[v] = id;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+
+            int[] sizes = new int[3];
+            for ( int v : part ) {
+                int k = this.color[v];
+                if ( k != DONE ) {
+                    sizes[k == fw ? 0 : k == bw ? 1 : 2]++;
+                }
+            }
+            int[][] parts = {new int[sizes[0]], new int[sizes[1]], new int[sizes[2]]};
+            Arrays.fill (sizes, 0);
+            for ( int v : part ) {
+                int k = this.color[v];
+                if ( k != DONE ) {
+                    int p = k == fw ? 0 : k == bw ? 1 : 2;
+                    parts[p][sizes[p]++] = v;
+                }
+            }
+            return parts;
+        }
+
+        private int degree(int v) {
+            return this.outOffsets[v + 1] - this.outOffsets[v] + this.inOffsets[v + 1] - this.inOffsets[v];
+        }
+    }
+
+    /**
+     * Fork/join task over one part of the FW-BW search. Completes when the parts forked from it have completed.
+     */
+    private static class Split extends CountedCompleter<Void> {
+        private static final long serialVersionUID = 1L;
+        private final Search search;
+        private final int[] part;
+
+        Split(CountedCompleter<?> parent, Search search, int[] part) {
+            super (parent);
+            this.search = search;
+            this.part = part;
+        }
+
+        @Override public void compute() {
+            int[] current = this.part;
+            while ( current != null ) {
+                if ( current.length <= MIN_VERTICES_PER_TASK ) {
+                    this.search.tarjan (current);
+                    break;
+                }
+                int[][] parts = this.search.split (current);
+                int largest = 0;
+                for ( int p = 1 ; p < parts.length ; p++ ) {
+                    if ( parts[p].length > parts[largest].length ) {
+                        largest = p;
+                    }
+                }
+                for ( int p = 0 ; p < parts.length ; p++ ) {
+                    if ( p != largest && parts[p].length > 0 ) {
+                        addToPendingCount (1);
+                        new Split (this, this.search, parts[p]).fork ();
+                    }
+                }
+                if ( parts[largest].length > 0 && parts[largest].length > current.length / 8 * 7 ) {
+                    this.search.tarjan (parts[largest]);
+                    break;
+                }
+                current = parts[largest].length > 0 ? parts[largest] : null;
+            }
+            tryComplete ();
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package edu.uncc.algos.topology;
+
+import edu.uncc.algos.graph.IntIds;
+import edu.uncc.algos.graph.unweighted.DirectedCsrGraph;
+
+import java.util.Arrays;
+
+/**
+ * Result of a strongly connected components search over a directed snapshot: the component of every vertex, the
+ * members of every component and, derived from them, the condensation DAG and reachability counts.
+ * Components are numbered 0..count()-1 in the order of their smallest dense vertex id, so the numbering depends only
+ * on the graph, not on the algorithm or the number of threads that found them.
+ *
+ * @author venky
+ */
+public class StrongComponents {
+    private final DirectedCsrGraph<?> graph;
+    private final int[] component;
+    /**
+     * members of component c are the slice [offsets[c], offsets[c+1]) of members, in vertex order.
+     */
+    private final int[] offsets;
+    private final int[] members;
+    /**
+     * condensation(), built on first use. DirectedCsrGraph has only final fields, so a racy first use at worst
+     * builds it twice.
+     */
+    private DirectedCsrGraph<Integer> condensation;
+
+    /**
+     * Instantiates a new StrongComponents.
+     *
+     * @param graph
+     *         the searched graph
+     * @param component
+     *         component of every dense vertex id, any numbering below verticesCount(), renumbered in place
+     */
+    StrongComponents(DirectedCsrGraph<?> graph, int[] component) {
+        int n = graph.verticesCount ();
+        int[] canonical = new int[n];
+        Arrays.fill (canonical, -1);
+        int count = 0;
+        for ( int v = 0 ; v < n ; v++ ) {
+            int c = component[v];
+            if ( canonical[c] < 0 ) {
+                canonical[c] = count++;
+            }
+            component[v] = canonical[c];
+        }
+        this.graph = graph;
+        this.component = component;
+        this.offsets = new int[count + 1];
+        for ( int c : component ) {
+            this.offsets[c + 1]++;
+        }
+        for ( int c = 0 ; c < count ; c++ ) {
+            this.offsets[c + 1] += this.offsets[c];
+        }
+        this.members = new int[n];
+        int[] next = Arrays.copyOf (this.offsets, count);
+        for ( int v = 0 ; v < n ; v++ ) {
+            this.members[next[component[v]]++] = v;
+        }
+    }
+
+    /**
+     * Number of strongly connected components.
+     *
+     * @return the count
+     */
+    public int count() {
+        return this.offsets.length - 1;
+    }
+
+    /**
+     * Component of dense vertex v.
+     *
+     * @param v
+     *         dense vertex id
+     *
+     * @return the component id
+     */
+    public int componentOf(int v) {
+        return this.component[v];
+    }
+
+    /**
+     * Number of vertices in component c.
+     *
+     * @param c
+     *         component id
+     *
+     * @return the size
+     */
+    public int size(int c) {
+        return this.offsets[c + 1] - this.offsets[c];
+    }
+
+    /**
+     * Dense vertex ids of the members of component c, ascending.
+     *
+     * @param c
+     *         component id
+     *
+     * @return a copy of the members
+     */
+    public int[] vertices(int c) {
+        return Arrays.copyOfRange (this.members, this.offsets[c], this.offsets[c + 1]);
+    }
+
+    /**
+     * The largest component, the one with the smallest id among equally large ones.
+     *
+     * @return the component id, -1 for an empty graph
+     */
+    public int largest() {
+        int largest = -1;
+        for ( int c = 0 ; c < count () ; c++ ) {
+            if ( largest < 0 || size (c) > size (largest) ) {
+                largest = c;
+            }
+        }
+        return largest;
+    }
+
+    /**
+     * The condensation DAG: one vertex per component, labelled with its id, and an edge from c to d when some edge
+     * of the graph leads from a member of c to a member of d. Rows are bucketed by target first, so they come out
+     * sorted and repeats are dropped without sorting. Built once and kept, later calls return the same graph.
+     * Runtime - O(v + e) on the first call, O(1) after
+     *
+     * @return the condensation
+     */
+    public DirectedCsrGraph<Integer> condensation() {
+        DirectedCsrGraph<Integer> dag = this.condensation;
+        if ( dag == null ) {
+            dag = buildCondensation ();
+            this.condensation = dag;
+        }
+        return dag;
+    }
+
+    private DirectedCsrGraph<Integer> buildCondensation() {
+        int n = this.graph.verticesCount ();
+        int count = count ();
+        int[] outOffsets = this.graph.outOffsets ();
+        int[] outTargets = this.graph.outTargets ();
+
+        // arcs between components, bucketed by target component
+        int[] byTarget = new int[count + 1];
+        for ( int u = 0 ; u < n ; u++ ) {
+            for ( int i = outOffsets[u] ; i < outOffsets[u + 1] ; i++ ) {
+                if ( this.component[u] != this.component[outTargets[i]] ) {
+                    byTarget[this.component[outTargets[i]] + 1]++;
+                }
+            }
+        }
+        for ( int c = 0 ; c < count ; c++ ) {
+            byTarget[c + 1] += byTarget[c];
+        }
+        int arcs = byTarget[count];
+        int[] sources = new int[arcs];
+        int[] next = Arrays.copyOf (byTarget, count);
+        for ( int u = 0 ; u < n ; u++ ) {
+            for ( int i = outOffsets[u] ; i < outOffsets[u + 1] ; i++ ) {
+                int d = this.component[outTargets[i]];
+                if ( this.component[u] != d ) {
+                    sources[next[d]++] = this.component[u];
+                }
+            }
+        }
+
+        // scatter into source rows in target order, so each row is sorted and repeats are adjacent
+        int[] offsets = new int[count + 1];
+        for ( int s : sources ) {
+            offsets[s + 1]++;
+        }
+        for ( int c = 0 ; c < count ; c++ ) {
+            offsets[c + 1] += offsets[c];
+        }
+        int[] targets = new int[arcs];
+        next = Arrays.copyOf (offsets, count);
+        for ( int d = 0 ; d < count ; d++ ) {
+            for ( int i = byTarget[d] ; i < byTarget[d + 1] ; i++ ) {
+                targets[next[sources[i]]++] = d;
+            }
+        }
+        int size = 0;
+        for ( int c = 0 ; c < count ; c++ ) {
+            int start = size;
+            for ( int i = offsets[c] ; i < offsets[c + 1] ; i++ ) {
+                if ( size == start || targets[size - 1] != targets[i] ) {
+                    targets[size++] = targets[i];
+                }
+            }
+            offsets[c] = start;
+        }
+        offsets[count] = size;
+
+        int[] labels = new int[count];
+        for ( int c = 0 ; c < count ; c++ ) {
+            labels[c] = c;
+        }
+        return DirectedCsrGraph.wrap (offsets, Arrays.copyOf (targets, size), IntIds.of (labels));
+    }
+
+    /**
+     * Components in topological order of the condensation, every component before the components it reaches.
+     * Components that are ready at the same time are taken in id order.
+     * Runtime - O(v + e)
+     *
+     * @return the component ids
+     */
+    public int[] topologicalOrder() {
+        return topologicalOrder (condensation ());
+    }
+
+    private static int[] topologicalOrder(DirectedCsrGraph<Integer> dag) {
+        int count = dag.verticesCount ();
+        int[] offsets = dag.outOffsets ();
+        int[] targets = dag.outTargets ();
+        int[] in = new int[count];
+        int[] order = new int[count];
+        int tail = 0;
+        for ( int c = 0 ; c < count ; c++ ) {
+            in[c] = dag.inDegree (c);
+            if ( in[c] == 0 ) {
+                order[tail++] = c;
+            }
+        }
+        for ( int head = 0 ; head < tail ; head++ ) {
+            int c = order[head];
+            for ( int i = offsets[c] ; i < offsets[c + 1] ; i++ ) {
+                if ( --in[targets[i]] == 0 ) {
+                    order[tail++] = targets[i];
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Exact number of vertices reachable from the members of component c, the members included.
+     * Runtime - O(c + e') for c components and e' condensation edges, one search over the condensation
+     *
+     * @param c
+     *         component id
+     *
+     * @return the reachable vertices
+     */
+    public long reachableCount(int c) {
+        DirectedCsrGraph<Integer> dag = condensation ();
+        int[] offsets = dag.outOffsets ();
+        int[] targets = dag.outTargets ();
+        boolean[] seen = new boolean[count ()];
+        int[] queue = new int[count ()];
+        long reached = size (c);
+        seen[c] = true;
+        queue[0] = c;
+        for ( int head = 0, tail = 1 ; head < tail ; head++ ) {
+            int d = queue[head];
+            for ( int i = offsets[d] ; i < offsets[d + 1] ; i++ ) {
+                int t = targets[i];
+                if ( !seen[t] ) {
+                    seen[t] = true;
+                    reached += size (t);
+                    queue[tail++] = t;
+                }
+            }
+        }
+        return reached;
+    }
+
+    /**
+     * Estimated number of vertices reachable from every component, the members included, all in one linear pass.
+     * Every component keeps a HyperLogLog counter of the vertices it reaches, filled with its own members and
+     * merged with the counters of its successors in reverse topological order (see HyperAnf for the counters).
+     * The relative standard error is about 1.04 / sqrt(2^log2m).
+     * Throws IllegalArgumentException if log2m is not between 4 and 16.
+     * Runtime - O(v + (c + e) * 2^log2m), memory c * 2^log2m bytes for c components
+     *
+     * @param log2m
+     *         log2 of the number of registers per counter
+     *
+     * @return the estimate for every component id
+     */
+    public double[] estimateReachableCounts(int log2m) {
+        if ( log2m < 4 || log2m > 16 ) {
+            throw new IllegalArgumentException ("log2m must be between 4 and 16");
+        }
+        int count = count ();
+        int m = 1 << log2m;
+        if ( ( long ) count * m > Integer.MAX_VALUE - 8 ) {
+            throw new IllegalArgumentException ("Too many counters, use a smaller log2m");
+        }
+        DirectedCsrGraph<Integer> dag = condensation ();
+        int[] offsets = dag.outOffsets ();
+        int[] targets = dag.outTargets ();
+        int[] order = topologicalOrder (dag);
+        byte[] counters = new byte[count * m];
+        double[] reached = new double[count];
+        for ( int k = count - 1 ; k >= 0 ; k-- ) {
+            int c = order[k];
+            int base = c * m;
+            for ( int i = this.offsets[c] ; i < this.offsets[c + 1] ; i++ ) {
+                HyperAnf.add (counters, base, log2m, HyperAnf.mix (this.members[i]));
+            }
+            for ( int i = offsets[c] ; i < offsets[c + 1] ; i++ ) {
+                int other = targets[i] * m;
+                for ( int r = 0 ; r < m ; r++ ) {
+                    if ( counters[other + r] > counters[base + r] ) {
+                        counters[base + r] = counters[other + r];
+                    }
+                }
+            }
+            reached[c] = HyperAnf.estimate (counters, base, m);
+        }
+        return reached;
+    }
+}
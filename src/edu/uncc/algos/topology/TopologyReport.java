@@ -0,0 +1,211 @@
+package edu.uncc.algos.topology;
+
+import edu.uncc.algos.util.TopologyUtil;
+
+import java.io.PrintStream;
+import java.util.*;
+
+/**
+ * All topology properties of a graph, as computed by NetworkTopology.analyze.
+ * Per-vertex values are indexed by dense vertex id, vertex(v) gives the vertex of the source graph.
+ *
+ * @author venky
+ */
+public class TopologyReport {
+    private static final String SEPARATOR = "======================================================";
+
+    private final List<?> vertices;
+    private final int edges;
+    private final int[] degrees;
+    private final double[] strengths;
+    private final int[] degreeHistogram;
+    private final SortedMap<Double, Integer> strengthHistogram;
+    private final double averageDegree;
+    private final double averageStrength;
+    private final TriangleCounts triangles;
+    private final double characteristicPathLength;
+    private final PowerLawFit powerLawFit;
+
+    TopologyReport(List<?> vertices, int edges, int[] degrees, double[] strengths, int[] degreeHistogram,
+                   SortedMap<Double, Integer> strengthHistogram, double averageDegree, double averageStrength,
+                   TriangleCounts triangles, double characteristicPathLength, PowerLawFit powerLawFit) {
+        this.vertices = vertices;
+        this.edges = edges;
+        this.degrees = degrees;
+        this.strengths = strengths;
+        this.degreeHistogram = degreeHistogram;
+        this.strengthHistogram = Collections.unmodifiableSortedMap (strengthHistogram);
+        this.averageDegree = averageDegree;
+        this.averageStrength = averageStrength;
+        this.triangles = triangles;
+        this.characteristicPathLength = characteristicPathLength;
+        this.powerLawFit = powerLawFit;
+    }
+
+    public int verticesCount() {
+        return this.vertices.size ();
+    }
+
+    public int edgesCount() {
+        return this.edges;
+    }
+
+    /**
+     * Vertex of the source graph for dense id v.
+     *
+     * @param v
+     *         dense vertex id
+     *
+     * @return the vertex
+     */
+    public Object vertex(int v) {
+        return this.vertices.get (v);
+    }
+
+    public int degree(int v) {
+        return this.degrees[v];
+    }
+
+    public double strength(int v) {
+        return this.strengths[v];
+    }
+
+    public double clusteringCoefficient(int v) {
+        return this.triangles.localClustering (v);
+    }
+
+    /**
+     * Number of vertices of every degree, indexed by degree.
+     *
+     * @return a copy of the histogram
+     */
+    public int[] degreeHistogram() {
+        return this.degreeHistogram.clone ();
+    }
+
+    /**
+     * Number of vertices for every degree that occurs, as used for the scale free chart.
+     *
+     * @return degree -> vertex count
+     */
+    public HashMap<Integer, Integer> degreeNodeCount() {
+        HashMap<Integer, Integer> counts = new HashMap<> ();
+        for ( int k = 0 ; k < this.degreeHistogram.length ; k++ ) {
+            if ( this.degreeHistogram[k] > 0 ) {
+                counts.put (k, this.degreeHistogram[k]);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Number of vertices of every strength that occurs.
+     *
+     * @return strength -> vertex count, ascending
+     */
+    public SortedMap<Double, Integer> strengthHistogram() {
+        return this.strengthHistogram;
+    }
+
+    public double averageDegree() {
+        return this.averageDegree;
+    }
+
+    public double averageStrength() {
+        return this.averageStrength;
+    }
+
+    public double averageClustering() {
+        return this.triangles.averageClustering ();
+    }
+
+    public double transitivity() {
+        return this.triangles.transitivity ();
+    }
+
+    public long triangles() {
+        return this.triangles.triangles ();
+    }
+
+    public double characteristicPathLength() {
+        return this.characteristicPathLength;
+    }
+
+    /**
+     * Power law fit of the degree distribution, behind the scale free verdict.
+     *
+     * @return the fit, null if it wasn't computed
+     */
+    public PowerLawFit powerLawFit() {
+        return this.powerLawFit;
+    }
+
+    /**
+     * Prints the report as Main prints properties 1 to 5 one by one, with the headers of the NetworkTopology property
+     * methods.
+     *
+     * @param out
+     *         the stream to print to
+     */
+    public void print(PrintStream out) {
+        int n = verticesCount ();
+        out.println ("Property 1 - Degree of nodes and Distribution");
+        out.println ("Degree of Nodes");
+        out.println ("node\tdegree");
+        out.println ("-------------------");
+        for ( int v = 0 ; v < n ; v++ ) {
+            out.println (vertex (v) + "\t\t" + this.degrees[v]);
+        }
+        out.println ("Degree Distribution of Nodes");
+        out.println ("Degree\tDegree Dist");
+        out.println ("-------------------");
+        for ( int k = 0 ; k < this.degreeHistogram.length ; k++ ) {
+            if ( this.degreeHistogram[k] > 0 ) {
+                out.println (k + "\t\t" + TopologyUtil.formatDouble (this.degreeHistogram[k] / ( double ) n));
+            }
+        }
+        out.println ("Average Degree of this Network - " + TopologyUtil.formatDouble (this.averageDegree));
+        out.println (SEPARATOR);
+
+        out.println ("Property 2 - Strength of nodes and Distribution");
+        out.println ("Strength of Nodes");
+        out.println ("node\tstrength");
+        out.println ("-------------------");
+        for ( int v = 0 ; v < n ; v++ ) {
+            out.println (vertex (v) + "\t\t" + this.strengths[v]);
+        }
+        out.println ("Strength Distribution of Nodes");
+        out.println ("Strength\tStrength Dist");
+        out.println ("-------------------");
+        this.strengthHistogram.forEach ((k, c) -> {
+            out.println (TopologyUtil.formatDouble (k) + "\t\t" + TopologyUtil.formatDouble (c / ( double ) n));
+        });
+        out.println ("Average Strength of this Network - " + TopologyUtil.formatDouble (this.averageStrength));
+        out.println (SEPARATOR);
+
+        out.println ("Property 3 - Clustering Coefficient of Network");
+        out.println ("Clustering Coefficient for Nodes");
+        out.println ("node\tClustering Coefficient");
+        out.println ("------------------------------------");
+        for ( int v = 0 ; v < n ; v++ ) {
+            out.println (vertex (v) + "\t\t" + clusteringCoefficient (v));
+        }
+        out.println ("Average Clustering Coefficient of this Network - "
+                + TopologyUtil.formatDouble (averageClustering ()));
+        out.println ("Global Clustering Coefficient (transitivity) of this Network - "
+                + TopologyUtil.formatDouble (transitivity ()));
+        out.println (SEPARATOR);
+
+        out.println ("Property 4 - Characteristic path length");
+        out.println ("Characteristic Path Length of this Graph is - "
+                + TopologyUtil.formatDouble (this.characteristicPathLength));
+        out.println (SEPARATOR);
+
+        if ( this.powerLawFit != null ) {
+            out.println ("5. Random or Scalefree network");
+            out.println (degreeNodeCount ());
+            NetworkTopology.printPowerLawFit (out, this.powerLawFit);
+            out.println (SEPARATOR);
+        }
+    }
+}
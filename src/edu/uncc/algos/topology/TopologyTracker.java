@@ -0,0 +1,297 @@
+package edu.uncc.algos.topology;
+
+import edu.uncc.algos.graph.GraphListener;
+import edu.uncc.algos.graph.weighted.Edge;
+
+import java.util.*;
+
+/**
+ * Incrementally maintained topology metrics of an undirected graph.
+ * A tracker listens to a weighted or unweighted UndirectedGraph (see attach) and keeps the degree histogram, the
+ * strength totals, the triangles through every vertex, the local clustering coefficients and their sum up to date
+ * on every change. Adding or removing the edge (u, v) intersects the neighbourhoods of u and v, so it costs
+ * O(min(d(u), d(v))) plus the common neighbours, and every aggregate below is read in O(1) instead of being
+ * recomputed from the whole graph.
+ * The tracker keeps its own neighbour sets, so it works the same for both graph types. The sum of the local
+ * coefficients is updated by differences and can drift by rounding errors over very many changes.
+ * This implementation is not thread safe, it runs on the thread that changes the graph.
+ *
+ * @param <E>
+ *         the type parameter
+ *
+ * @author venky
+ */
+public class TopologyTracker<E> implements GraphListener<E> {
+
+    /**
+     * Tracked state of one vertex.
+     */
+    private static class VertexState<E> {
+        final Set<E> neighbours = new HashSet<> ();
+        int degree;
+        double strength;
+        long triangles;
+        double cc;
+    }
+
+    private final Map<E, VertexState<E>> vertices = new HashMap<> ();
+    private int[] degreeHistogram = new int[16];
+    private int maxDegree = 0;
+    private int edges = 0;
+    private long degreeSum = 0;
+    private double strengthSum = 0;
+    private long triangles = 0;
+    private long wedges = 0;
+    private double ccSum = 0;
+
+    /**
+     * Creates a tracker for a weighted graph, loads its current vertices and edges and registers it as listener.
+     * Runtime - O(v + e * d)
+     *
+     * @param graph
+     *         the graph
+     *
+     * @return the tracker
+     */
+    public static <E> TopologyTracker<E> attach(edu.uncc.algos.graph.weighted.UndirectedGraph<E> graph) {
+        TopologyTracker<E> tracker = new TopologyTracker<> ();
+        List<E> vertices = graph.vertices ();
+        for ( E v : vertices ) {
+            tracker.vertexAdded (v);
+        }
+        for ( E v : vertices ) {
+            for ( Edge<E> e : graph.getNeighbours (v) ) {
+                // every edge is in both rows, take it from one side only
+                if ( !tracker.vertices.get (v).neighbours.contains (e.getDest ()) ) {
+                    tracker.edgeAdded (v, e.getDest (), e.getW ());
+                }
+            }
+        }
+        graph.addListener (tracker);
+        return tracker;
+    }
+
+    /**
+     * Creates a tracker for an unweighted graph, loads its current vertices and edges and registers it as listener.
+     * Edges have weight 1, so strength equals degree.
+     * Runtime - O(v + e * d)
+     *
+     * @param graph
+     *         the graph
+     *
+     * @return the tracker
+     */
+    public static <E> TopologyTracker<E> attach(edu.uncc.algos.graph.unweighted.UndirectedGraph<E> graph) {
+        TopologyTracker<E> tracker = new TopologyTracker<> ();
+        List<E> vertices = graph.vertices ();
+        for ( E v : vertices ) {
+            tracker.vertexAdded (v);
+        }
+        for ( E v : vertices ) {
+            for ( E u : graph.getNeighbours (v) ) {
+                if ( !tracker.vertices.get (v).neighbours.contains (u) ) {
+                    tracker.edgeAdded (v, u, 1);
+                }
+            }
+        }
+        graph.addListener (tracker);
+        return tracker;
+    }
+
+    @Override public void vertexAdded(E v) {
+        if ( this.vertices.containsKey (v) ) {
+            return;
+        }
+        this.vertices.put (v, new VertexState<> ());
+        this.degreeHistogram[0]++;
+    }
+
+    @Override public void vertexRemoved(E v) {
+        VertexState<E> s = this.vertices.remove (v);
+        if ( s != null ) {
+            this.degreeHistogram[s.degree]--;
+            this.ccSum -= s.cc;
+        }
+    }
+
+    @Override public void edgeAdded(E src, E dest, double w) {
+        VertexState<E> a = state (src), b = state (dest);
+        if ( !a.neighbours.add (dest) ) {
+            return;
+        }
+        if ( src.equals (dest) ) {
+            // a self loop adds to degree and strength, but closes no triangles
+            setDegree (a, a.degree + 1, a.triangles);
+            a.strength += w;
+            this.strengthSum += w;
+            return;
+        }
+        b.neighbours.add (src);
+        long common = 0;
+        for ( E x : smaller (a, b) ) {
+            if ( !x.equals (src) && !x.equals (dest) && larger (a, b).contains (x) ) {
+                VertexState<E> c = this.vertices.get (x);
+                setDegree (c, c.degree, c.triangles + 1);
+                common++;
+            }
+        }
+        setDegree (a, a.degree + 1, a.triangles + common);
+        setDegree (b, b.degree + 1, b.triangles + common);
+        a.strength += w;
+        b.strength += w;
+        this.strengthSum += 2 * w;
+        this.triangles += common;
+        this.edges++;
+    }
+
+    @Override public void edgeRemoved(E src, E dest, double w) {
+        VertexState<E> a = state (src), b = state (dest);
+        if ( !a.neighbours.remove (dest) ) {
+            return;
+        }
+        if ( src.equals (dest) ) {
+            setDegree (a, a.degree - 1, a.triangles);
+            a.strength -= w;
+            this.strengthSum -= w;
+            return;
+        }
+        b.neighbours.remove (src);
+        long common = 0;
+        for ( E x : smaller (a, b) ) {
+            if ( !x.equals (src) && !x.equals (dest) && larger (a, b).contains (x) ) {
+                VertexState<E> c = this.vertices.get (x);
+                setDegree (c, c.degree, c.triangles - 1);
+                common++;
+            }
+        }
+        setDegree (a, a.degree - 1, a.triangles - common);
+        setDegree (b, b.degree - 1, b.triangles - common);
+        a.strength -= w;
+        b.strength -= w;
+        this.strengthSum -= 2 * w;
+        this.triangles -= common;
+        this.edges--;
+    }
+
+    private VertexState<E> state(E v) {
+        VertexState<E> s = this.vertices.get (v);
+        if ( s == null ) {
+            throw new IllegalArgumentException ("Vertex " + v + " is doesn't exists");
+        }
+        return s;
+    }
+
+    private static <E> Set<E> smaller(VertexState<E> a, VertexState<E> b) {
+        return a.neighbours.size () <= b.neighbours.size () ? a.neighbours : b.neighbours;
+    }
+
+    private static <E> Set<E> larger(VertexState<E> a, VertexState<E> b) {
+        return a.neighbours.size () <= b.neighbours.size () ? b.neighbours : a.neighbours;
+    }
+
+    /**
+     * Moves a vertex to a new degree and triangle count, updating histogram, wedges and clustering sum.
+     */
+    private void setDegree(VertexState<E> s, int degree, long triangles) {
+        if ( degree != s.degree ) {
+            if ( degree >= this.degreeHistogram.length ) {
+                this.degreeHistogram = Arrays.copyOf (this.degreeHistogram,
+                        Math.max (degree + 1, this.degreeHistogram.length * 2));
+            }
+            this.degreeHistogram[s.degree]--;
+            this.degreeHistogram[degree]++;
+            this.degreeSum += degree - s.degree;
+            this.wedges += wedges (degree) - wedges (s.degree);
+            this.maxDegree = Math.max (this.maxDegree, degree);
+            while ( this.maxDegree > 0 && this.degreeHistogram[this.maxDegree] == 0 ) {
+                this.maxDegree--;
+            }
+            s.degree = degree;
+        }
+        s.triangles = triangles;
+        double cc = degree < 2 ? 0.0 : (2.0 * triangles) / (( double ) degree * (degree - 1));
+        this.ccSum += cc - s.cc;
+        s.cc = cc;
+    }
+
+    private static long wedges(long k) {
+        return k * (k - 1) / 2;
+    }
+
+    /**
+     * Number of vertices with degree k.
+     * Runtime - O(1)
+     *
+     * @param k
+     *         the degree
+     *
+     * @return vertex count
+     */
+    public int degreeCount(int k) {
+        return k < 0 || k >= this.degreeHistogram.length ? 0 : this.degreeHistogram[k];
+    }
+
+    /**
+     * Current degree histogram, indexed by degree up to the largest degree.
+     * Runtime - O(max degree)
+     *
+     * @return a copy of the histogram
+     */
+    public int[] degreeHistogram() {
+        return Arrays.copyOf (this.degreeHistogram, this.maxDegree + 1);
+    }
+
+    public int verticesCount() {
+        return this.vertices.size ();
+    }
+
+    public int edgesCount() {
+        return this.edges;
+    }
+
+    public double averageDegree() {
+        return this.vertices.isEmpty () ? 0 : ( double ) this.degreeSum / this.vertices.size ();
+    }
+
+    public double totalStrength() {
+        return this.strengthSum;
+    }
+
+    public double averageStrength() {
+        return this.vertices.isEmpty () ? 0 : this.strengthSum / this.vertices.size ();
+    }
+
+    public long triangles() {
+        return this.triangles;
+    }
+
+    public double averageClustering() {
+        return this.vertices.isEmpty () ? 0 : this.ccSum / this.vertices.size ();
+    }
+
+    /**
+     * Global clustering coefficient (transitivity), 3 * triangles / wedges.
+     * Runtime - O(1)
+     *
+     * @return transitivity, 0 without wedges
+     */
+    public double transitivity() {
+        return this.wedges == 0 ? 0 : (3.0 * this.triangles) / this.wedges;
+    }
+
+    public int degree(E v) {
+        return state (v).degree;
+    }
+
+    public double strength(E v) {
+        return state (v).strength;
+    }
+
+    public long triangles(E v) {
+        return state (v).triangles;
+    }
+
+    public double localClustering(E v) {
+        return state (v).cc;
+    }
+}
@@ -0,0 +1,271 @@
+package edu.uncc.algos.topology;
+
+import edu.uncc.algos.graph.weighted.CsrGraph;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Exact, graph-wide triangle counting engine (compact-forward).
+ * Vertices are ranked by degree, and every edge is kept only in the row of its lower ranked end point, so a hub only
+ * stores its edges to the few vertices of even higher degree. The rows are renumbered by rank and sorted, and every
+ * triangle u < v < w (by rank) is found exactly once, when the forward rows of u and v are merged for the edge
+ * (u, v). One pass gives the triangles through every vertex, and from them the local clustering coefficients and
+ * the transitivity, see TriangleCounts.
+ * A vertex whose forward row has at least hubDegree entries is intersected through a bitmap of its row instead of
+ * merges: the row is marked once and every forward row of its neighbours is probed against it, so the long row of a
+ * hub is not walked again for every neighbour. Smaller rows use sorted merges.
+ * When created with a pool, the vertices are split over fork/join tasks and work stealing evens out the hubs. Each
+ * worker thread counts into its own array and bitmap, the arrays are added up at the end, so the counts are exact
+ * and the same for any number of threads.
+ * Runtime - O(e^1.5)
+ *
+ * @author venky
+ */
+public class TriangleCounter {
+    /**
+     * fewest vertices a task counts before it stops splitting.
+     */
+    private static final int MIN_VERTICES_PER_TASK = 64;
+    public static final int DEFAULT_HUB_DEGREE = 128;
+
+    /**
+     * pool for parallel counts, null to count on the calling thread.
+     */
+    private final ForkJoinPool pool;
+    private int hubDegree = DEFAULT_HUB_DEGREE;
+
+    /**
+     * Instantiates a new sequential TriangleCounter.
+     */
+    public TriangleCounter() {
+        this (null);
+    }
+
+    /**
+     * Instantiates a new parallel TriangleCounter.
+     *
+     * @param pool
+     *         the pool to count on, null to count on the calling thread
+     */
+    public TriangleCounter(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Sets the forward degree from which a vertex is intersected through a bitmap.
+     *
+     * @param hubDegree
+     *         the threshold, Integer.MAX_VALUE to always merge
+     */
+    public void setHubDegree(int hubDegree) {
+        if ( hubDegree < 1 ) {
+            throw new IllegalArgumentException ("Hub degree must be positive");
+        }
+        this.hubDegree = hubDegree;
+    }
+
+    /**
+     * Counts the triangles of a graph.
+     *
+     * @param graph
+     *         the graph
+     *
+     * @return per-vertex and total triangle counts
+     */
+    public TriangleCounts count(CsrGraph<?> graph) {
+        Forward forward = new Forward (graph);
+        int n = graph.verticesCount ();
+        long[] byRank;
+        if ( this.pool == null ) {
+            byRank = new long[n];
+            long[] bitmap = new long[(n + 63) >>> 6];
+            for ( int u = 0 ; u < n ; u++ ) {
+                forward.countFrom (u, byRank, bitmap, this.hubDegree);
+            }
+        } else {
+            Queue<Worker> workers = new ConcurrentLinkedQueue<> ();
+            ThreadLocal<Worker> local = ThreadLocal.withInitial (() -> {
+                Worker w = new Worker (n);
+                workers.add (w);
+                return w;
+            });
+            int threshold = Math.max (MIN_VERTICES_PER_TASK, n / (this.pool.getParallelism () * 16));
+            this.pool.invoke (new VertexRange (forward, local, this.hubDegree, 0, n, threshold));
+            byRank = new long[n];
+            for ( Worker w : workers ) {
+                for ( int r = 0 ; r < n ; r++ ) {
+                    byRank[r] += w.counts[r];
+                }
+            }
+        }
+        return new TriangleCounts (graph, forward.toVertexOrder (byRank));
+    }
+
+    /**
+     * Counts and bitmap of one worker thread.
+     */
+    private static class Worker {
+        final long[] counts;
+        final long[] bitmap;
+
+        Worker(int n) {
+            this.counts = new long[n];
+            this.bitmap = new long[(n + 63) >>> 6];
+        }
+    }
+
+    /**
+     * Fork/join task over a range of ranks.
+     */
+    private static class VertexRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Forward forward;
+        private final ThreadLocal<Worker> local;
+        private final int hubDegree;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        VertexRange(Forward forward, ThreadLocal<Worker> local, int hubDegree, int from, int to, int threshold) {
+            this.forward = forward;
+            this.local = local;
+            this.hubDegree = hubDegree;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override protected void compute() {
+            if ( to - from <= threshold ) {
+                Worker w = local.get ();
+                for ( int u = from ; u < to ; u++ ) {
+                    forward.countFrom (u, w.counts, w.bitmap, hubDegree);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll (new VertexRange (forward, local, hubDegree, from, mid, threshold),
+                    new VertexRange (forward, local, hubDegree, mid, to, threshold));
+        }
+    }
+
+    /**
+     * Forward adjacency of a graph in degree order: row r holds the ranks greater than r of the neighbours of the
+     * vertex of rank r, sorted.
+     */
+    static class Forward {
+        final int[] order;
+        final int[] offsets;
+        final int[] targets;
+
+        Forward(CsrGraph<?> graph) {
+            int n = graph.verticesCount ();
+            // rank by (degree, id), packed into a long for a primitive sort
+            long[] keys = new long[n];
+            for ( int v = 0 ; v < n ; v++ ) {
+                keys[v] = (( long ) graph.degree (v) << 32) | v;
+            }
+            Arrays.sort (keys);
+            this.order = new int[n];
+            int[] rank = new int[n];
+            for ( int r = 0 ; r < n ; r++ ) {
+                this.order[r] = ( int ) keys[r];
+                rank[this.order[r]] = r;
+            }
+
+            int[] csrOffsets = graph.offsets ();
+            int[] csrTargets = graph.targets ();
+            this.offsets = new int[n + 1];
+            for ( int r = 0 ; r < n ; r++ ) {
+                int v = this.order[r];
+                int forward = 0;
+                for ( int i = csrOffsets[v] ; i < csrOffsets[v + 1] ; i++ ) {
+                    if ( rank[csrTargets[i]] > r ) {
+                        forward++;
+                    }
+                }
+                this.offsets[r + 1] = this.offsets[r] + forward;
+            }
+            this.targets = new int[this.offsets[n]];
+            for ( int r = 0 ; r < n ; r++ ) {
+                int v = this.order[r];
+                int pos = this.offsets[r];
+                for ( int i = csrOffsets[v] ; i < csrOffsets[v + 1] ; i++ ) {
+                    if ( rank[csrTargets[i]] > r ) {
+                        this.targets[pos++] = rank[csrTargets[i]];
+                    }
+                }
+                Arrays.sort (this.targets, this.offsets[r], this.offsets[r + 1]);
+            }
+        }
+
+        int degree(int r) {
+            return this.offsets[r + 1] - this.offsets[r];
+        }
+
+        /**
+         * Counts the triangles whose lowest ranked corner is u, adding them to the three corners in byRank.
+         * Uses the bitmap, which must be all clear and is left clear, when the row of u has at least hubDegree
+         * entries.
+         */
+        void countFrom(int u, long[] byRank, long[] bitmap, int hubDegree) {
+            if ( degree (u) >= hubDegree ) {
+                countFromHub (u, byRank, bitmap);
+                return;
+            }
+            for ( int i = this.offsets[u] ; i < this.offsets[u + 1] ; i++ ) {
+                int v = this.targets[i];
+                int a = i + 1, aEnd = this.offsets[u + 1];
+                int b = this.offsets[v], bEnd = this.offsets[v + 1];
+                // every rank in the row of v is above v, so the row of u can start after v
+                while ( a < aEnd && b < bEnd ) {
+                    int x = this.targets[a], y = this.targets[b];
+                    if ( x < y ) {
+                        a++;
+                    } else if ( x > y ) {
+                        b++;
+                    } else {
+                        byRank[u]++;
+                        byRank[v]++;
+                        byRank[x]++;
+                        a++;
+                        b++;
+                    }
+                }
+            }
+        }
+
+        private void countFromHub(int u, long[] byRank, long[] bitmap) {
+            for ( int i = this.offsets[u] ; i < this.offsets[u + 1] ; i++ ) {
+                int x = this.targets[i];
+                bitmap[x >>> 6] |= 1L << x;
+            }
+            for ( int i = this.offsets[u] ; i < this.offsets[u + 1] ; i++ ) {
+                int v = this.targets[i];
+                for ( int j = this.offsets[v] ; j < this.offsets[v + 1] ; j++ ) {
+                    int x = this.targets[j];
+                    if ( (bitmap[x >>> 6] & (1L << x)) != 0 ) {
+                        byRank[u]++;
+                        byRank[v]++;
+                        byRank[x]++;
+                    }
+                }
+            }
+            for ( int i = this.offsets[u] ; i < this.offsets[u + 1] ; i++ ) {
+                bitmap[this.targets[i] >>> 6] = 0;
+            }
+        }
+
+        long[] toVertexOrder(long[] byRank) {
+            long[] byVertex = new long[byRank.length];
+            for ( int r = 0 ; r < byRank.length ; r++ ) {
+                byVertex[this.order[r]] = byRank[r];
+            }
+            return byVertex;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package edu.uncc.algos.topology;
+
+import edu.uncc.algos.graph.weighted.CsrGraph;
+
+/**
+ * Result of a triangle count over a CSR snapshot: the number of triangles through every vertex, and the local and
+ * global clustering coefficients derived from it.
+ *
+ * @author venky
+ */
+public class TriangleCounts {
+    private final long[] triangles;
+    private final int[] degrees;
+    private final long total;
+    private final long wedges;
+
+    /**
+     * Instantiates a new TriangleCounts.
+     *
+     * @param graph
+     *         the counted graph
+     * @param triangles
+     *         triangles through every dense vertex id
+     */
+    TriangleCounts(CsrGraph<?> graph, long[] triangles) {
+        int n = graph.verticesCount ();
+        this.triangles = triangles;
+        this.degrees = new int[n];
+        long sum = 0, wedges = 0;
+        for ( int v = 0 ; v < n ; v++ ) {
+            long k = this.degrees[v] = graph.degree (v);
+            sum += triangles[v];
+            wedges += k * (k - 1) / 2;
+        }
+        // every triangle is counted at each of its three corners
+        this.total = sum / 3;
+        this.wedges = wedges;
+    }
+
+    /**
+     * Number of triangles through dense vertex v.
+     *
+     * @param v
+     *         dense vertex id
+     *
+     * @return triangles through v
+     */
+    public long triangles(int v) {
+        return this.triangles[v];
+    }
+
+    /**
+     * Number of triangles in the graph.
+     *
+     * @return triangle count
+     */
+    public long triangles() {
+        return this.total;
+    }
+
+    /**
+     * Number of wedges (paths of length two) in the graph, the sum of k(k-1)/2 over all vertices.
+     *
+     * @return wedge count
+     */
+    public long wedges() {
+        return this.wedges;
+    }
+
+    /**
+     * Local clustering coefficient of dense vertex v, CC(v) = 2Tv / Kv (Kv -1).
+     *
+     * @param v
+     *         dense vertex id
+     *
+     * @return clustering coefficient of v, 0 if its degree is below 2
+     */
+    public double localClustering(int v) {
+        long k = this.degrees[v];
+        return k < 2 ? 0.0 : (2.0 * this.triangles[v]) / (k * (k - 1));
+    }
+
+    /**
+     * Average of the local clustering coefficients of all vertices.
+     *
+     * @return average clustering coefficient, 0 for a graph without vertices
+     */
+    public double averageClustering() {
+        if ( this.triangles.length == 0 ) {
+            return 0.0;
+        }
+        double sum = 0;
+        for ( int v = 0 ; v < this.triangles.length ; v++ ) {
+            sum += localClustering (v);
+        }
+        return sum / this.triangles.length;
+    }
+
+    /**
+     * Global clustering coefficient (transitivity), 3 * triangles / wedges.
+     *
+     * @return transitivity, 0 for a graph without wedges
+     */
+    public double transitivity() {
+        return this.wedges == 0 ? 0.0 : (3.0 * this.total) / this.wedges;
+    }
+}
@@ -0,0 +1,268 @@
+package edu.uncc.algos.topology;
+
+import edu.uncc.algos.graph.weighted.CsrGraph;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
+
+/**
+ * Approximate clustering coefficients by wedge sampling.
+ * A wedge is a path u - v - w of length two centred at v, it is closed when u and w are adjacent.
+ * - Transitivity is the fraction of closed wedges, estimated from wedges drawn uniformly: the centre is drawn with
+ * probability proportional to its number of wedges k(k-1)/2, then two distinct neighbours uniformly.
+ * - Average clustering is the mean over vertices of the fraction of closed wedges at each vertex, estimated by
+ * drawing a vertex uniformly and then one wedge at it (vertices of degree below 2 contribute 0).
+ * Every sample is a 0/1 outcome, so by Hoeffding's inequality ln(2 / (1 - confidence)) / (2 epsilon^2) samples put
+ * the exact value within epsilon of the estimate with the given confidence. A closure check is a binary search in a
+ * sorted CSR row, so the runtime depends on the number of samples, not on the sum of k^2.
+ * Samples are drawn in blocks of BLOCK, each from its own generator split off the seed in block order, and with a
+ * pool the blocks run in parallel, so for a fixed seed the estimate is the same for any number of threads.
+ * Runtime - O(v + samples * log d)
+ *
+ * @author venky
+ */
+public class WedgeSampler {
+    /**
+     * samples drawn from one generator by one task.
+     */
+    private static final int BLOCK = 1 << 12;
+
+    /**
+     * pool for parallel sampling, null to sample on the calling thread.
+     */
+    private final ForkJoinPool pool;
+    private final SplittableRandom random;
+
+    /**
+     * Instantiates a new WedgeSampler with a random seed.
+     */
+    public WedgeSampler() {
+        this (null);
+    }
+
+    /**
+     * Instantiates a new parallel WedgeSampler with a random seed.
+     *
+     * @param pool
+     *         the pool to sample on, null to sample on the calling thread
+     */
+    public WedgeSampler(ForkJoinPool pool) {
+        this (pool, new SplittableRandom ().nextLong ());
+    }
+
+    /**
+     * Instantiates a new WedgeSampler with a fixed seed, for reproducible estimates.
+     *
+     * @param seed
+     *         the seed
+     */
+    public WedgeSampler(long seed) {
+        this (null, seed);
+    }
+
+    /**
+     * Instantiates a new parallel WedgeSampler with a fixed seed.
+     *
+     * @param pool
+     *         the pool to sample on, null to sample on the calling thread
+     * @param seed
+     *         the seed
+     */
+    public WedgeSampler(ForkJoinPool pool, long seed) {
+        this.pool = pool;
+        this.random = new SplittableRandom (seed);
+    }
+
+    /**
+     * Number of 0/1 samples that bounds the error of their mean by epsilon with the given confidence.
+     * Throws IllegalArgumentException if epsilon or confidence is not in (0, 1).
+     *
+     * @param epsilon
+     *         the target error
+     * @param confidence
+     *         the confidence level, such as 0.95
+     *
+     * @return the sample size
+     */
+    public static long sampleSize(double epsilon, double confidence) {
+        if ( !(epsilon > 0 && epsilon < 1) || !(confidence > 0 && confidence < 1) ) {
+            throw new IllegalArgumentException ("Epsilon and confidence must be between 0 and 1");
+        }
+        return ( long ) Math.ceil (Math.log (2 / (1 - confidence)) / (2 * epsilon * epsilon));
+    }
+
+    /**
+     * Estimates the average clustering coefficient.
+     *
+     * @param graph
+     *         the graph
+     * @param epsilon
+     *         the target error
+     * @param confidence
+     *         the confidence level
+     *
+     * @return the estimate, within epsilon of the exact value with the given confidence, exactly 0 with confidence 1
+     *         if no vertex has two neighbours
+     */
+    public Estimate averageClustering(CsrGraph<?> graph, double epsilon, double confidence) {
+        long samples = sampleSize (epsilon, confidence);
+        int n = graph.verticesCount ();
+        boolean wedges = false;
+        for ( int v = 0 ; v < n && !wedges ; v++ ) {
+            wedges = graph.degree (v) > 1;
+        }
+        if ( !wedges ) {
+            return new Estimate (0, 0, 0, 1, 0); // exact, also for a graph without vertices
+        }
+        long closed = count (samples, random -> {
+            int v = random.nextInt (n);
+            return graph.degree (v) > 1 && closedWedgeAt (graph, v, random);
+        });
+        return estimate (closed, samples, epsilon, confidence);
+    }
+
+    /**
+     * Estimates the global clustering coefficient (transitivity).
+     *
+     * @param graph
+     *         the graph
+     * @param epsilon
+     *         the target error
+     * @param confidence
+     *         the confidence level
+     *
+     * @return the estimate, within epsilon of the exact value with the given confidence, exactly 0 with confidence 1
+     *         if there are no wedges
+     */
+    public Estimate transitivity(CsrGraph<?> graph, double epsilon, double confidence) {
+        long samples = sampleSize (epsilon, confidence);
+        int n = graph.verticesCount ();
+        // cumulative wedge counts, to draw centres proportional to their wedges
+        long[] cumulative = new long[n];
+        long wedges = 0;
+        for ( int v = 0 ; v < n ; v++ ) {
+            long k = graph.degree (v);
+            wedges += k * (k - 1) / 2;
+            cumulative[v] = wedges;
+        }
+        if ( wedges == 0 ) {
+            return new Estimate (0, 0, 0, 1, 0); // exact, also for a graph without vertices
+        }
+        long total = wedges;
+        long closed = count (samples, random -> closedWedgeAt (graph, centre (cumulative, random.nextLong (total)),
+                random));
+        return estimate (closed, samples, epsilon, confidence);
+    }
+
+    /**
+     * Number of samples out of samples for which closed is true.
+     */
+    private long count(long samples, Predicate<SplittableRandom> closed) {
+        int blocks = ( int ) ((samples + BLOCK - 1) / BLOCK);
+        SplittableRandom[] randoms = new SplittableRandom[blocks];
+        for ( int b = 0 ; b < blocks ; b++ ) {
+            randoms[b] = this.random.split ();
+        }
+        long[] counts = new long[blocks];
+        if ( this.pool == null ) {
+            for ( int b = 0 ; b < blocks ; b++ ) {
+                counts[b] = block (closed, randoms[b], samples, b);
+            }
+        } else {
+            this.pool.invoke (new Blocks (closed, randoms, counts, samples, 0, blocks));
+        }
+        long sum = 0;
+        for ( long c : counts ) {
+            sum += c;
+        }
+        return sum;
+    }
+
+    /**
+     * Draws the samples of block b out of samples, the number of them for which closed is true.
+     */
+    private static long block(Predicate<SplittableRandom> closed, SplittableRandom random, long samples, int b) {
+        long size = Math.min (BLOCK, samples - ( long ) b * BLOCK);
+        long count = 0;
+        for ( long s = 0 ; s < size ; s++ ) {
+            if ( closed.test (random) ) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Fork/join task drawing the samples of the blocks [from, to), one task per block.
+     */
+    private static class Blocks extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Predicate<SplittableRandom> closed;
+        private final SplittableRandom[] randoms;
+        private final long[] counts;
+        private final long samples;
+        private final int from;
+        private final int to;
+
+        Blocks(Predicate<SplittableRandom> closed, SplittableRandom[] randoms, long[] counts, long samples, int from,
+               int to) {
+            this.closed = closed;
+            this.randoms = randoms;
+            this.counts = counts;
+            this.samples = samples;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override protected void compute() {
+            if ( to - from <= 1 ) {
+                for ( int b = from ; b < to ; b++ ) {
+                    counts[b] = block (closed, randoms[b], samples, b);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll (new Blocks (closed, randoms, counts, samples, from, mid),
+                    new Blocks (closed, randoms, counts, samples, mid, to));
+        }
+    }
+
+    /**
+     * First vertex whose cumulative wedge count is above r.
+     */
+    private static int centre(long[] cumulative, long r) {
+        int lo = 0, hi = cumulative.length - 1;
+        while ( lo < hi ) {
+            int mid = (lo + hi) >>> 1;
+            if ( cumulative[mid] > r ) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Draws a uniform wedge centred at v, which must have degree 2 or more, and checks if it is closed.
+     */
+    private static boolean closedWedgeAt(CsrGraph<?> graph, int v, SplittableRandom random) {
+        int k = graph.degree (v);
+        int i = random.nextInt (k);
+        int j = random.nextInt (k - 1);
+        if ( j >= i ) {
+            j++;
+        }
+        int[] targets = graph.targets ();
+        int start = graph.offsets ()[v];
+        return graph.hasEdge (targets[start + i], targets[start + j]);
+    }
+
+    private static Estimate estimate(long closed, long samples, double epsilon, double confidence) {
+        double value = ( double ) closed / samples;
+        return new Estimate (value, Math.max (0, value - epsilon), Math.min (1, value + epsilon), confidence,
+                samples);
+    }
+}
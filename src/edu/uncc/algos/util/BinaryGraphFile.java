@@ -0,0 +1,190 @@
+package edu.uncc.algos.util;
+
+import edu.uncc.algos.graph.IntIds;
+import edu.uncc.algos.graph.weighted.CsrGraph;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compact binary file format for CSR snapshots with integer vertices, and its memory-mapped loader.
+ * All values are little endian, the doubles come right after the header so they are 8-byte aligned:
+ * header    magic "NTCSR" 0x4E544353 (int), version (int), n (int), edges (int), entries (long), reserved (long)
+ * weights   double[entries]
+ * offsets   int[n + 1]
+ * targets   int[entries]
+ * labels    int[n], the vertex id of every dense id
+ * where entries is the number of adjacency entries, twice the number of edges.
+ * Loading maps the file with FileChannel.map and transfers every section into its array with one bulk get, there is
+ * no text parsing, only one linear pass that checks the offsets and targets describe a valid CSR.
+ *
+ * @author venky
+ */
+public class BinaryGraphFile {
+    public static final int MAGIC = 0x4E544353;
+    public static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    /**
+     * largest region mapped at once.
+     */
+    private static final long MAP_CHUNK = 1L << 30;
+
+    private BinaryGraphFile() {
+    }
+
+    /**
+     * Converts a text node / edge file pair, as read by TopologyUtil.loadGraph, to the binary format.
+     *
+     * @param nodeFile
+     *         file with one vertex per line
+     * @param edgeFile
+     *         file with one "src dest [weight]" edge per line
+     * @param out
+     *         the binary file to write
+     *
+     * @throws IOException
+     *         if a file can't be read or written
+     */
+    public static void convert(Path nodeFile, Path edgeFile, Path out) throws IOException {
+        write (TopologyUtil.loadGraph (nodeFile.toFile (), edgeFile.toFile ()).freeze (), out);
+    }
+
+    /**
+     * Writes a snapshot in the binary format.
+     *
+     * @param graph
+     *         the snapshot
+     * @param out
+     *         the file to write
+     *
+     * @throws IOException
+     *         if the file can't be written
+     */
+    public static void write(CsrGraph<Integer> graph, Path out) throws IOException {
+        int n = graph.verticesCount ();
+        int[] targets = graph.targets ();
+        long entries = targets.length;
+        try ( FileChannel ch = FileChannel.open (out, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.READ, StandardOpenOption.TRUNCATE_EXISTING) ) {
+            MappedByteBuffer header = map (ch, FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            header.putInt (MAGIC).putInt (VERSION).putInt (n).putInt (graph.edgesCount ()).putLong (entries)
+                    .putLong (0);
+            long pos = HEADER_BYTES;
+            double[] weights = graph.weights ();
+            for ( int from = 0 ; from < weights.length ; ) {
+                int len = ( int ) Math.min (weights.length - from, MAP_CHUNK / Double.BYTES);
+                map (ch, FileChannel.MapMode.READ_WRITE, pos, ( long ) len * Double.BYTES).asDoubleBuffer ()
+                        .put (weights, from, len);
+                pos += ( long ) len * Double.BYTES;
+                from += len;
+            }
+            pos = writeInts (ch, pos, graph.offsets ());
+            pos = writeInts (ch, pos, targets);
+            int[] labels = new int[n];
+            for ( int v = 0 ; v < n ; v++ ) {
+                labels[v] = graph.label (v);
+            }
+            writeInts (ch, pos, labels);
+        }
+    }
+
+    /**
+     * Loads a snapshot from a binary file.
+     * Throws IOException if the file is not in the binary format, or if its offsets don't start at 0, decrease or
+     * don't end at entries, or a target is not a dense vertex id, so a corrupt file fails here and not later with an
+     * ArrayIndexOutOfBoundsException in some property.
+     *
+     * @param file
+     *         the binary file
+     *
+     * @return the snapshot, its vertices are the stored vertex ids
+     *
+     * @throws IOException
+     *         if the file can't be read
+     */
+    public static CsrGraph<Integer> load(Path file) throws IOException {
+        if ( !file.toFile ().isFile () ) {
+            throw new FileNotFoundException ("Invalid file path");
+        }
+        try ( FileChannel ch = FileChannel.open (file, StandardOpenOption.READ) ) {
+            MappedByteBuffer header = map (ch, FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if ( header.getInt () != MAGIC || header.getInt () != VERSION ) {
+                throw new IOException ("Not a binary graph file - " + file);
+            }
+            int n = header.getInt ();
+            int edges = header.getInt ();
+            long entries = header.getLong ();
+            if ( n < 0 || entries < 0 || entries > Integer.MAX_VALUE - 8 ) {
+                throw new IOException ("Corrupt binary graph file - " + file);
+            }
+            long expected = HEADER_BYTES + entries * Double.BYTES + (n + 1 + entries + n) * Integer.BYTES;
+            if ( ch.size () < expected ) {
+                throw new IOException ("Truncated binary graph file - " + file);
+            }
+
+            double[] weights = new double[( int ) entries];
+            long pos = HEADER_BYTES;
+            for ( int from = 0 ; from < weights.length ; ) {
+                int len = ( int ) Math.min (weights.length - from, MAP_CHUNK / Double.BYTES);
+                map (ch, FileChannel.MapMode.READ_ONLY, pos, ( long ) len * Double.BYTES).asDoubleBuffer ()
+                        .get (weights, from, len);
+                pos += ( long ) len * Double.BYTES;
+                from += len;
+            }
+            int[] offsets = new int[n + 1];
+            pos = readInts (ch, pos, offsets);
+            int[] targets = new int[( int ) entries];
+            pos = readInts (ch, pos, targets);
+            if ( offsets[0] != 0 || offsets[n] != entries ) {
+                throw new IOException ("Corrupt binary graph file - " + file);
+            }
+            for ( int v = 0 ; v < n ; v++ ) {
+                if ( offsets[v + 1] < offsets[v] ) {
+                    throw new IOException ("Corrupt binary graph file - " + file);
+                }
+            }
+            for ( int t : targets ) {
+                if ( t < 0 || t >= n ) {
+                    throw new IOException ("Corrupt binary graph file - " + file);
+                }
+            }
+            int[] labels = new int[n];
+            readInts (ch, pos, labels);
+            return CsrGraph.wrap (offsets, targets, weights, edges, IntIds.of (labels));
+        }
+    }
+
+    private static long writeInts(FileChannel ch, long pos, int[] values) throws IOException {
+        for ( int from = 0 ; from < values.length ; ) {
+            int len = ( int ) Math.min (values.length - from, MAP_CHUNK / Integer.BYTES);
+            map (ch, FileChannel.MapMode.READ_WRITE, pos, ( long ) len * Integer.BYTES).asIntBuffer ()
+                    .put (values, from, len);
+            pos += ( long ) len * Integer.BYTES;
+            from += len;
+        }
+        return pos;
+    }
+
+    private static long readInts(FileChannel ch, long pos, int[] values) throws IOException {
+        for ( int from = 0 ; from < values.length ; ) {
+            int len = ( int ) Math.min (values.length - from, MAP_CHUNK / Integer.BYTES);
+            map (ch, FileChannel.MapMode.READ_ONLY, pos, ( long ) len * Integer.BYTES).asIntBuffer ()
+                    .get (values, from, len);
+            pos += ( long ) len * Integer.BYTES;
+            from += len;
+        }
+        return pos;
+    }
+
+    private static MappedByteBuffer map(FileChannel ch, FileChannel.MapMode mode, long pos, long size)
+            throws IOException {
+        MappedByteBuffer buffer = ch.map (mode, pos, size);
+        buffer.order (ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+}
@@ -0,0 +1,312 @@
+package edu.uncc.algos.util;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.LogarithmicAxis;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.chart.title.TextTitle;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Renders distribution charts straight to PNG or SVG files, without a window.
+ * No Swing component is created, so the AWT event thread never starts and no display is needed: java.awt.headless is
+ * set when this class loads, unless it was set already. A PNG is drawn by a JFreeChart, in the style of the
+ * interactive LineChart, into an image and encoded with ImageIO. Every thread keeps one chart, its axes and one image
+ * for all the charts it renders, only the data, title and labels are swapped, so rendering many charts creates no
+ * chart objects after the first. An SVG is written as text from the same points: a polyline over a grid with the
+ * same axes, a few kilobytes per chart, without the AWT at all.
+ * Log-log charts leave out points that are not positive.
+ * A ChartRenderer can be shared between threads.
+ *
+ * @author venky
+ */
+public class ChartRenderer {
+    public static final int DEFAULT_WIDTH = 800;
+    public static final int DEFAULT_HEIGHT = 600;
+
+    static {
+        if ( System.getProperty ("java.awt.headless") == null ) {
+            System.setProperty ("java.awt.headless", "true");
+        }
+    }
+
+    /**
+     * Output format of a chart.
+     */
+    public enum Format {
+        PNG, SVG;
+
+        /**
+         * File name extension, without the dot.
+         *
+         * @return the extension
+         */
+        public String extension() {
+            return name ().toLowerCase (Locale.ROOT);
+        }
+    }
+
+    private final int width;
+    private final int height;
+    private final ThreadLocal<Canvas> canvases;
+
+    /**
+     * Instantiates a new ChartRenderer of DEFAULT_WIDTH x DEFAULT_HEIGHT charts.
+     */
+    public ChartRenderer() {
+        this (DEFAULT_WIDTH, DEFAULT_HEIGHT);
+    }
+
+    /**
+     * Instantiates a new ChartRenderer.
+     * Throws IllegalArgumentException if a dimension is not positive.
+     *
+     * @param width
+     *         chart width in pixels
+     * @param height
+     *         chart height in pixels
+     */
+    public ChartRenderer(int width, int height) {
+        if ( width <= 0 || height <= 0 ) {
+            throw new IllegalArgumentException ("Chart size must be positive");
+        }
+        this.width = width;
+        this.height = height;
+        this.canvases = ThreadLocal.withInitial (Canvas::new);
+    }
+
+    /**
+     * Renders the points (x[i], y[i]) as a line chart, in the order given.
+     * Throws IllegalArgumentException if x and y differ in length.
+     *
+     * @param file
+     *         file to write
+     * @param format
+     *         PNG or SVG
+     * @param title
+     *         chart title
+     * @param xLabel
+     *         label of the x axis
+     * @param yLabel
+     *         label of the y axis
+     * @param x
+     *         x values
+     * @param y
+     *         y values
+     * @param logLog
+     *         log scale on both axes
+     *
+     * @throws IOException
+     *         if the file can't be written
+     */
+    public void render(Path file, Format format, String title, String xLabel, String yLabel, double[] x, double[] y,
+                       boolean logLog) throws IOException {
+        if ( x.length != y.length ) {
+            throw new IllegalArgumentException ("Expected as many x as y values");
+        }
+        if ( format == Format.PNG ) {
+            try ( OutputStream out = Files.newOutputStream (file) ) {
+                this.canvases.get ().png (out, title, xLabel, yLabel, x, y, logLog);
+            }
+        } else {
+            try ( Writer out = Files.newBufferedWriter (file, StandardCharsets.UTF_8) ) {
+                svg (out, title, xLabel, yLabel, x, y, logLog);
+            }
+        }
+    }
+
+    /**
+     * The chart, axes and image of one thread.
+     */
+    private class Canvas {
+        private final JFreeChart chart;
+        private final XYPlot plot;
+        private final NumberAxis linearX = new NumberAxis ();
+        private final NumberAxis linearY = new NumberAxis ();
+        private final LogarithmicAxis logX = new LogarithmicAxis (null);
+        private final LogarithmicAxis logY = new LogarithmicAxis (null);
+        private final BufferedImage image;
+
+        Canvas() {
+            this.chart = ChartFactory.createXYLineChart (null, null, null, new XYSeriesCollection (),
+                    PlotOrientation.VERTICAL, false, false, false);
+            this.chart.setBackgroundPaint (Color.white);
+            this.plot = this.chart.getXYPlot ();
+            XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer ();
+            renderer.setSeriesPaint (0, Color.RED);
+            renderer.setSeriesStroke (0, new BasicStroke (2.0f));
+            this.plot.setRenderer (renderer);
+            this.plot.setBackgroundPaint (Color.white);
+            this.plot.setRangeGridlinesVisible (true);
+            this.plot.setRangeGridlinePaint (Color.BLACK);
+            this.plot.setDomainGridlinesVisible (true);
+            this.plot.setDomainGridlinePaint (Color.BLACK);
+            this.linearX.setAutoRangeIncludesZero (false);
+            this.linearY.setAutoRangeIncludesZero (false);
+            this.logX.setStrictValuesFlag (false);
+            this.logY.setStrictValuesFlag (false);
+            this.image = new BufferedImage (width, height, BufferedImage.TYPE_INT_RGB);
+        }
+
+        void png(OutputStream out, String title, String xLabel, String yLabel, double[] x, double[] y,
+                 boolean logLog) throws IOException {
+            // no change events while the chart is set up, it is drawn once at the end
+            this.chart.setNotify (false);
+            XYSeries series = new XYSeries ("Nodes", false);
+            for ( int i = 0 ; i < x.length ; i++ ) {
+                if ( !logLog || (x[i] > 0 && y[i] > 0) ) {
+                    series.add (x[i], y[i]);
+                }
+            }
+            this.chart.setTitle (new TextTitle (title, new Font ("Serif", Font.BOLD, 18)));
+            ValueAxis domain = logLog ? this.logX : this.linearX;
+            ValueAxis range = logLog ? this.logY : this.linearY;
+            domain.setLabel (xLabel);
+            range.setLabel (yLabel);
+            this.plot.setDomainAxis (domain);
+            this.plot.setRangeAxis (range);
+            this.plot.setDataset (new XYSeriesCollection (series));
+            domain.configure ();
+            range.configure ();
+
+            Graphics2D g = this.image.createGraphics ();
+            try {
+                this.chart.draw (g, new Rectangle2D.Double (0, 0, width, height));
+            } finally {
+                g.dispose ();
+            }
+            ImageIO.write (this.image, "png", out);
+        }
+    }
+
+    /**
+     * Writes the chart as an SVG document. Axes get 5 linear ticks with round steps, or a tick per power of 10.
+     */
+    private void svg(Writer writer, String title, String xLabel, String yLabel, double[] x, double[] y,
+                     boolean logLog) throws IOException {
+        int left = 80, right = 30, top = 50, bottom = 60;
+        double plotWidth = this.width - left - right, plotHeight = this.height - top - bottom;
+        int count = 0;
+        double[] px = new double[x.length];
+        double[] py = new double[y.length];
+        for ( int i = 0 ; i < x.length ; i++ ) {
+            if ( !logLog || (x[i] > 0 && y[i] > 0) ) {
+                px[count] = logLog ? Math.log10 (x[i]) : x[i];
+                py[count++] = logLog ? Math.log10 (y[i]) : y[i];
+            }
+        }
+        double[] xRange = range (px, count, logLog);
+        double[] yRange = range (py, count, logLog);
+
+        BufferedWriter out = new BufferedWriter (writer);
+        out.write ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        out.write ("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + this.width + "\" height=\"" + this.height
+                + "\" viewBox=\"0 0 " + this.width + " " + this.height + "\" font-family=\"sans-serif\">\n");
+        out.write ("<rect width=\"100%\" height=\"100%\" fill=\"white\"/>\n");
+        out.write ("<text x=\"" + this.width / 2 + "\" y=\"30\" text-anchor=\"middle\" font-family=\"serif\" "
+                + "font-size=\"18\" font-weight=\"bold\">" + escape (title) + "</text>\n");
+        out.write ("<g stroke=\"black\" stroke-width=\"0.5\" font-size=\"11\">\n");
+        for ( double t = xRange[0] ; t <= xRange[1] + xRange[2] / 2 ; t += xRange[2] ) {
+            double sx = left + (t - xRange[0]) / (xRange[1] - xRange[0]) * plotWidth;
+            out.write ("<line x1=\"" + format (sx) + "\" y1=\"" + top + "\" x2=\"" + format (sx) + "\" y2=\""
+                    + format (top + plotHeight) + "\"/>");
+            out.write ("<text stroke=\"none\" x=\"" + format (sx) + "\" y=\"" + format (top + plotHeight + 16)
+                    + "\" text-anchor=\"middle\">" + tickLabel (t, logLog) + "</text>\n");
+        }
+        for ( double t = yRange[0] ; t <= yRange[1] + yRange[2] / 2 ; t += yRange[2] ) {
+            double sy = top + plotHeight - (t - yRange[0]) / (yRange[1] - yRange[0]) * plotHeight;
+            out.write ("<line x1=\"" + left + "\" y1=\"" + format (sy) + "\" x2=\"" + format (left + plotWidth)
+                    + "\" y2=\"" + format (sy) + "\"/>");
+            out.write ("<text stroke=\"none\" x=\"" + (left - 6) + "\" y=\"" + format (sy + 4)
+                    + "\" text-anchor=\"end\">" + tickLabel (t, logLog) + "</text>\n");
+        }
+        out.write ("<rect x=\"" + left + "\" y=\"" + top + "\" width=\"" + format (plotWidth) + "\" height=\""
+                + format (plotHeight) + "\" fill=\"none\" stroke-width=\"1\"/>\n</g>\n");
+        out.write ("<text x=\"" + format (left + plotWidth / 2) + "\" y=\"" + (this.height - 15)
+                + "\" text-anchor=\"middle\" font-size=\"13\">" + escape (xLabel) + "</text>\n");
+        out.write ("<text x=\"20\" y=\"" + format (top + plotHeight / 2) + "\" text-anchor=\"middle\" font-size=\"13\""
+                + " transform=\"rotate(-90 20 " + format (top + plotHeight / 2) + ")\">" + escape (yLabel)
+                + "</text>\n");
+        out.write ("<g fill=\"red\">\n<polyline fill=\"none\" stroke=\"red\" stroke-width=\"2\" points=\"");
+        for ( int i = 0 ; i < count ; i++ ) {
+            px[i] = left + (px[i] - xRange[0]) / (xRange[1] - xRange[0]) * plotWidth;
+            py[i] = top + plotHeight - (py[i] - yRange[0]) / (yRange[1] - yRange[0]) * plotHeight;
+            out.write ((i > 0 ? " " : "") + format (px[i]) + "," + format (py[i]));
+        }
+        out.write ("\"/>\n");
+        for ( int i = 0 ; i < count ; i++ ) {
+            out.write ("<circle cx=\"" + format (px[i]) + "\" cy=\"" + format (py[i]) + "\" r=\"3\"/>\n");
+        }
+        out.write ("</g>\n</svg>\n");
+        out.flush ();
+    }
+
+    /**
+     * Axis range and tick step {low, high, step} for the values, whole decades in log space, or round steps.
+     */
+    private static double[] range(double[] values, int count, boolean log) {
+        double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+        for ( int i = 0 ; i < count ; i++ ) {
+            min = Math.min (min, values[i]);
+            max = Math.max (max, values[i]);
+        }
+        if ( count == 0 ) {
+            min = 0;
+            max = 1;
+        }
+        if ( log ) {
+            double low = Math.floor (min), high = Math.ceil (max);
+            return new double[]{low, high > low ? high : low + 1, 1};
+        }
+        if ( max == min ) {
+            min -= 1;
+            max += 1;
+        }
+        double step = Math.pow (10, Math.floor (Math.log10 ((max - min) / 5)));
+        for ( double factor : new double[]{2, 5, 10} ) {
+            if ( (max - min) / step <= 5 ) {
+                break;
+            }
+            step = Math.pow (10, Math.floor (Math.log10 ((max - min) / 5))) * factor;
+        }
+        return new double[]{Math.floor (min / step) * step, Math.ceil (max / step) * step, step};
+    }
+
+    private static String tickLabel(double t, boolean log) {
+        if ( log ) {
+            return t >= 0 && t < 7 ? format (Math.pow (10, t)) : "1e" + ( int ) Math.round (t);
+        }
+        return format (t);
+    }
+
+    /**
+     * Number with at most 2 decimals and no exponent, the way SVG coordinates and labels are written.
+     */
+    private static String format(double d) {
+        String s = String.format (Locale.ROOT, "%.2f", d);
+        s = s.indexOf ('.') >= 0 ? s.replaceAll ("0+$", "") : s;
+        return s.endsWith (".") ? s.substring (0, s.length () - 1) : s;
+    }
+
+    private static String escape(String text) {
+        return text == null ? "" : text.replace ("&", "&amp;").replace ("<", "&lt;").replace (">", "&gt;");
+    }
+}
@@ -0,0 +1,93 @@
+package edu.uncc.algos.util;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * EdgeSink that writes the node / edge file pair read by TopologyUtil.loadGraph and EdgeListParser.
+ * The node file lists the vertices 0..n-1 and is written up front, the edge file gets one "src dest weight" line per
+ * edge. Weights are written as integers, which is all the loaders read. Digits are formatted straight into the output
+ * buffer, so no String is created per edge.
+ *
+ * @author venky
+ */
+public class EdgeFileWriter implements EdgeSink, Closeable {
+    private static final int BUFFER = 1 << 16;
+
+    private final OutputStream out;
+    private final byte[] line = new byte[3 * 21];
+
+    /**
+     * Instantiates a new EdgeFileWriter and writes the node file.
+     *
+     * @param nodeFile
+     *         node file to write
+     * @param edgeFile
+     *         edge file to write
+     * @param n
+     *         number of vertices
+     *
+     * @throws IOException
+     *         if a file can't be written
+     */
+    public EdgeFileWriter(Path nodeFile, Path edgeFile, int n) throws IOException {
+        try ( OutputStream nodes = new BufferedOutputStream (Files.newOutputStream (nodeFile), BUFFER) ) {
+            for ( int v = 0 ; v < n ; v++ ) {
+                int len = format (v, this.line, 0);
+                this.line[len++] = '\n';
+                nodes.write (this.line, 0, len);
+            }
+        }
+        this.out = new BufferedOutputStream (Files.newOutputStream (edgeFile), BUFFER);
+    }
+
+    /**
+     * Appends a block of edges to the edge file.
+     * Throws UncheckedIOException if the file can't be written.
+     */
+    @Override public void addEdges(int[] u, int[] v, double[] w, int count) {
+        try {
+            for ( int i = 0 ; i < count ; i++ ) {
+                int len = format (u[i], this.line, 0);
+                this.line[len++] = ' ';
+                len = format (v[i], this.line, len);
+                this.line[len++] = ' ';
+                len = format (( long ) w[i], this.line, len);
+                this.line[len++] = '\n';
+                this.out.write (this.line, 0, len);
+            }
+        } catch ( IOException e ) {
+            throw new UncheckedIOException (e);
+        }
+    }
+
+    @Override public void close() throws IOException {
+        this.out.close ();
+    }
+
+    /**
+     * Writes the decimal digits of value at pos, returns the position after the last digit.
+     */
+    private static int format(long value, byte[] buffer, int pos) {
+        if ( value < 0 ) {
+            buffer[pos++] = '-';
+            value = -value;
+        }
+        int start = pos;
+        do {
+            buffer[pos++] = ( byte ) ('0' + value % 10);
+            value /= 10;
+        } while ( value != 0 );
+        for ( int i = start, j = pos - 1 ; i < j ; i++, j-- ) {
+            byte t = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = t;
+        }
+        return pos;
+    }
+}
@@ -0,0 +1,412 @@
+package edu.uncc.algos.util;
+
+import edu.uncc.algos.graph.IntIds;
+import edu.uncc.algos.graph.LongIds;
+import edu.uncc.algos.graph.VertexIds;
+import edu.uncc.algos.graph.weighted.CsrBuilder;
+import edu.uncc.algos.graph.weighted.CsrGraph;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.function.LongToIntFunction;
+
+/**
+ * High-throughput loader for the text node / edge file pair read by TopologyUtil.loadGraph.
+ * Both files are memory mapped and split into line-aligned chunks that are parsed on a fork/join pool. Integers are
+ * parsed straight from the mapped bytes, no String, Scanner or split is involved. Every chunk collects its edges in
+ * primitive arrays, already translated to dense ids, and the blocks are handed to a CsrBuilder in file order, so the
+ * result is the same as TopologyUtil.loadGraph(...).freeze().
+ * Lines are whitespace separated integers: a vertex per line in the node file, "src dest [weight]" per line in the
+ * edge file, a missing weight is 0. Blank lines are skipped.
+ * Vertex ids are interned to dense ids through an IntIds table, or a LongIds table for loadLong, which also serves
+ * indexOf and label on the snapshot, so sparse ids cost no more than compact ones.
+ * The load methods that take a UnionFind also union every edge block as it is added, so the connected components
+ * come with the graph without another pass over the edges.
+ *
+ * @author venky
+ */
+public class EdgeListParser {
+    /**
+     * largest chunk parsed by one task.
+     */
+    private static final long MAX_CHUNK = 64L << 20;
+    private static final long MIN_CHUNK = 1L << 20;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Instantiates a new EdgeListParser on the common pool.
+     */
+    public EdgeListParser() {
+        this (ForkJoinPool.commonPool ());
+    }
+
+    /**
+     * Instantiates a new EdgeListParser.
+     *
+     * @param pool
+     *         the pool to parse on
+     */
+    public EdgeListParser(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Loads a graph with int vertex ids.
+     * Throws IllegalArgumentException if a line is malformed, a vertex is listed twice or doesn't fit an int, and
+     * IndexOutOfBoundsException if an edge has a vertex that is not in the node file.
+     *
+     * @param nodeFile
+     *         file with one vertex per line
+     * @param edgeFile
+     *         file with one "src dest [weight]" edge per line
+     *
+     * @return CSR snapshot of the graph, vertices numbered in ascending order
+     *
+     * @throws IOException
+     *         if a file can't be read
+     */
+    public CsrGraph<Integer> load(Path nodeFile, Path edgeFile) throws IOException {
+        return load (nodeFile, edgeFile, null);
+    }
+
+    /**
+     * Loads a graph with int vertex ids, and its connected components into components, over the dense ids of the
+     * snapshot. The UnionFind is grown to the number of vertices, it should be empty.
+     * Throws the same exceptions as load(nodeFile, edgeFile).
+     *
+     * @param nodeFile
+     *         file with one vertex per line
+     * @param edgeFile
+     *         file with one "src dest [weight]" edge per line
+     * @param components
+     *         union-find to add the edges to, null for none
+     *
+     * @return CSR snapshot of the graph, vertices numbered in ascending order
+     *
+     * @throws IOException
+     *         if a file can't be read
+     */
+    public CsrGraph<Integer> load(Path nodeFile, Path edgeFile, UnionFind components) throws IOException {
+        long[] labels = nodes (nodeFile);
+        int[] ints = new int[labels.length];
+        for ( int i = 0 ; i < labels.length ; i++ ) {
+            if ( labels[i] != ( int ) labels[i] ) {
+                throw new IllegalArgumentException ("Vertex " + labels[i] + " is out of int range");
+            }
+            ints[i] = ( int ) labels[i];
+        }
+        IntIds ids = IntIds.of (ints);
+        return edges (edgeFile, ids, v -> v == ( int ) v ? ids.indexOf (( int ) v) : -1, components);
+    }
+
+    /**
+     * Loads a graph with 64-bit vertex ids, such as device ids that don't fit an int.
+     * Throws IllegalArgumentException if a line is malformed or a vertex is listed twice, and
+     * IndexOutOfBoundsException if an edge has a vertex that is not in the node file.
+     *
+     * @param nodeFile
+     *         file with one vertex per line
+     * @param edgeFile
+     *         file with one "src dest [weight]" edge per line
+     *
+     * @return CSR snapshot of the graph, vertices numbered in ascending order
+     *
+     * @throws IOException
+     *         if a file can't be read
+     */
+    public CsrGraph<Long> loadLong(Path nodeFile, Path edgeFile) throws IOException {
+        return loadLong (nodeFile, edgeFile, null);
+    }
+
+    /**
+     * Loads a graph with 64-bit vertex ids, and its connected components into components, see
+     * load(nodeFile, edgeFile, components).
+     *
+     * @param nodeFile
+     *         file with one vertex per line
+     * @param edgeFile
+     *         file with one "src dest [weight]" edge per line
+     * @param components
+     *         union-find to add the edges to, null for none
+     *
+     * @return CSR snapshot of the graph, vertices numbered in ascending order
+     *
+     * @throws IOException
+     *         if a file can't be read
+     */
+    public CsrGraph<Long> loadLong(Path nodeFile, Path edgeFile, UnionFind components) throws IOException {
+        LongIds ids = LongIds.of (nodes (nodeFile));
+        return edges (edgeFile, ids, ids::indexOf, components);
+    }
+
+    /**
+     * Parses the node file into sorted, distinct vertex ids.
+     */
+    private long[] nodes(Path nodeFile) throws IOException {
+        long[] labels = concat (parse (nodeFile, 1, c -> c));
+        Arrays.sort (labels);
+        for ( int i = 1 ; i < labels.length ; i++ ) {
+            if ( labels[i] == labels[i - 1] ) {
+                throw new IllegalArgumentException ("Vertex already exists in this graph - " + labels[i]);
+            }
+        }
+        return labels;
+    }
+
+    /**
+     * Parses the edge file, every chunk translated to dense ids by its own task, and adds the blocks in file order.
+     */
+    private <E> CsrGraph<E> edges(Path edgeFile, VertexIds<E> ids, LongToIntFunction indexOf, UnionFind components)
+            throws IOException {
+        List<Block> blocks = parse (edgeFile, 3, c -> new Block (c, indexOf));
+        int total = 0;
+        for ( Block b : blocks ) {
+            total += b.u.length;
+        }
+        CsrBuilder builder = new CsrBuilder (ids.size (), total);
+        if ( components != null ) {
+            components.grow (ids.size ());
+        }
+        for ( Block b : blocks ) {
+            builder.addEdges (b.u, b.v, b.w, b.u.length);
+            if ( components != null ) {
+                components.addEdges (b.u, b.v, b.w, b.u.length);
+            }
+        }
+        return builder.build (ids);
+    }
+
+    /**
+     * Maps a file, cuts it into line-aligned chunks and parses them in parallel, in file order. Each task hands its
+     * chunk to then, so the raw values of a chunk don't outlive its task.
+     */
+    private <T> List<T> parse(Path file, int columns, Function<Chunk, T> then) throws IOException {
+        if ( !file.toFile ().isFile () ) {
+            throw new FileNotFoundException ("Invalid file path");
+        }
+        List<ForkJoinTask<T>> tasks = new ArrayList<> ();
+        List<Long> starts = new ArrayList<> ();
+        try ( FileChannel ch = FileChannel.open (file, StandardOpenOption.READ) ) {
+            long size = ch.size ();
+            long chunk = Math.max (MIN_CHUNK, Math.min (MAX_CHUNK, size / (this.pool.getParallelism () * 4L) + 1));
+            long start = 0;
+            while ( start < size ) {
+                long end = Math.min (size, start + chunk);
+                if ( end < size ) {
+                    // extend to the end of the line
+                    MappedByteBuffer tail = ch.map (FileChannel.MapMode.READ_ONLY, end, Math.min (size - end, 4096));
+                    int i = 0;
+                    while ( i < tail.limit () && tail.get (i) != '\n' ) {
+                        i++;
+                    }
+                    end = i < tail.limit () ? end + i + 1 : extendToLineEnd (ch, end, size);
+                }
+                MappedByteBuffer buffer = ch.map (FileChannel.MapMode.READ_ONLY, start, end - start);
+                tasks.add (this.pool.submit (() -> then.apply (parseChunk (buffer, columns))));
+                starts.add (start);
+                start = end;
+            }
+        }
+        List<T> results = new ArrayList<> (tasks.size ());
+        for ( int i = 0 ; i < tasks.size () ; i++ ) {
+            try {
+                results.add (join (tasks.get (i)));
+            } catch ( MalformedLine e ) {
+                throw new IllegalArgumentException (e.getMessage () + " in line "
+                        + (countLines (file, starts.get (i)) + e.line));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Number of lines before offset, which is the start of a line. Only used to report an error, chunks are parsed
+     * in parallel and don't know their first line.
+     */
+    private static long countLines(Path file, long offset) throws IOException {
+        long lines = 0;
+        try ( FileChannel ch = FileChannel.open (file, StandardOpenOption.READ) ) {
+            for ( long pos = 0 ; pos < offset ; pos += 1 << 20 ) {
+                MappedByteBuffer buffer = ch.map (FileChannel.MapMode.READ_ONLY, pos, Math.min (offset - pos, 1 << 20));
+                for ( int i = 0 ; i < buffer.limit () ; i++ ) {
+                    if ( buffer.get (i) == '\n' ) {
+                        lines++;
+                    }
+                }
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Joins a task, rethrowing the original exception of a failed task rather than the copy fork/join creates for
+     * the joining thread.
+     */
+    private static <T> T join(ForkJoinTask<T> task) {
+        try {
+            return task.join ();
+        } catch ( RuntimeException e ) {
+            throw e.getCause () instanceof RuntimeException ? ( RuntimeException ) e.getCause () : e;
+        }
+    }
+
+    private static long extendToLineEnd(FileChannel ch, long pos, long size) throws IOException {
+        while ( pos < size ) {
+            MappedByteBuffer tail = ch.map (FileChannel.MapMode.READ_ONLY, pos, Math.min (size - pos, 1 << 20));
+            for ( int i = 0 ; i < tail.limit () ; i++ ) {
+                if ( tail.get (i) == '\n' ) {
+                    return pos + i + 1;
+                }
+            }
+            pos += tail.limit ();
+        }
+        return size;
+    }
+
+    /**
+     * Parses the lines of a chunk into rows of columns longs, a missing last column of a 3 column row is 0.
+     */
+    private static Chunk parseChunk(MappedByteBuffer buffer, int columns) {
+        int limit = buffer.limit ();
+        long[] values = new long[Math.max (16, limit / 4)];
+        int rows = 0;
+        int pos = 0;
+        int line = 0;
+        while ( pos < limit ) {
+            int fields = 0;
+            line++;
+            int row = rows * columns;
+            if ( row + columns > values.length ) {
+                values = Arrays.copyOf (values, Math.max (row + columns, values.length * 2));
+            }
+            // parse one line
+            while ( pos < limit ) {
+                byte b = buffer.get (pos);
+                if ( b == '\n' ) {
+                    pos++;
+                    break;
+                } else if ( b == ' ' || b == '\t' || b == '\r' || b == ',' ) {
+                    pos++;
+                    continue;
+                }
+                boolean negative = b == '-';
+                if ( negative || b == '+' ) {
+                    pos++;
+                }
+                long value = 0;
+                int digits = 0;
+                while ( pos < limit ) {
+                    b = buffer.get (pos);
+                    if ( b < '0' || b > '9' ) {
+                        break;
+                    }
+                    if ( value > (Long.MAX_VALUE - (b - '0')) / 10 ) {
+                        throw new MalformedLine ("Number out of range", line);
+                    }
+                    value = value * 10 + (b - '0');
+                    digits++;
+                    pos++;
+                }
+                if ( digits == 0 || (pos < limit && !isSeparator (buffer.get (pos))) ) {
+                    throw new MalformedLine ("Malformed number", line);
+                }
+                if ( fields >= columns ) {
+                    throw new MalformedLine ("Too many values", line);
+                }
+                values[row + fields++] = negative ? -value : value;
+            }
+            if ( fields == 0 ) {
+                continue; // blank line
+            } else if ( fields < columns - (columns == 3 ? 1 : 0) ) {
+                throw new MalformedLine ("Missing values", line);
+            } else if ( fields < columns ) {
+                values[row + fields] = 0;
+            }
+            rows++;
+        }
+        return new Chunk (values, rows);
+    }
+
+    private static boolean isSeparator(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n' || b == ',';
+    }
+
+    private static long[] concat(List<Chunk> chunks) {
+        int total = 0;
+        for ( Chunk c : chunks ) {
+            total += c.rows;
+        }
+        long[] all = new long[total];
+        int pos = 0;
+        for ( Chunk c : chunks ) {
+            System.arraycopy (c.values, 0, all, pos, c.rows);
+            pos += c.rows;
+        }
+        return all;
+    }
+
+    /**
+     * A malformed line, numbered from the start of its chunk.
+     */
+    private static class MalformedLine extends IllegalArgumentException {
+        private static final long serialVersionUID = 1L;
+        private final int line;
+
+        MalformedLine(String message, int line) {
+            super (message);
+            this.line = line;
+        }
+    }
+
+    /**
+     * Parsed rows of one chunk, row-major.
+     */
+    private static class Chunk {
+        final long[] values;
+        final int rows;
+
+        Chunk(long[] values, int rows) {
+            this.values = values;
+            this.rows = rows;
+        }
+    }
+
+    /**
+     * Edges of one chunk in dense ids.
+     */
+    private static class Block {
+        final int[] u;
+        final int[] v;
+        final double[] w;
+
+        Block(Chunk c, LongToIntFunction ids) {
+            this.u = new int[c.rows];
+            this.v = new int[c.rows];
+            this.w = new double[c.rows];
+            for ( int i = 0 ; i < c.rows ; i++ ) {
+                this.u[i] = indexOf (ids, c.values[3 * i]);
+                this.v[i] = indexOf (ids, c.values[3 * i + 1]);
+                this.w[i] = c.values[3 * i + 2];
+            }
+        }
+
+        private static int indexOf(LongToIntFunction ids, long label) {
+            int i = ids.applyAsInt (label);
+            if ( i < 0 ) {
+                throw new IndexOutOfBoundsException ("Invalid source or destination vertex");
+            }
+            return i;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package edu.uncc.algos.util;
+
+/**
+ * Consumer of a stream of edges over dense vertex ids, fed one block at a time in a fixed order.
+ * CsrBuilder::addEdges is an EdgeSink, so is an EdgeFileWriter.
+ *
+ * @author venky
+ */
+public interface EdgeSink {
+    /**
+     * Accepts the first count edges of a block. The arrays belong to the caller and may be reused after this
+     * returns.
+     *
+     * @param u
+     *         dense source ids
+     * @param v
+     *         dense destination ids
+     * @param w
+     *         weights
+     * @param count
+     *         number of edges in the block
+     */
+    void addEdges(int[] u, int[] v, double[] w, int count);
+}
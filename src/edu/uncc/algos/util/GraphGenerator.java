@@ -0,0 +1,377 @@
+package edu.uncc.algos.util;
+
+import edu.uncc.algos.graph.weighted.CsrBuilder;
+import edu.uncc.algos.graph.weighted.CsrGraph;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Seeded generators of large synthetic topologies over the vertices 0..n-1.
+ * - erdosRenyi - G(n, p), every pair is an edge with probability p. Geometric skipping jumps straight from one edge to
+ * the next, so the work is O(n + e) rather than O(n^2).
+ * - barabasiAlbert - preferential attachment, every vertex links to m earlier vertices picked in proportion to their
+ * degree. Uses the edge copy model: endpoint slot i copies a uniformly chosen earlier slot, so a slot is resolved
+ * on its own by hashing, without the shared endpoint array.
+ * - wattsStrogatz - ring lattice where every vertex links to its k / 2 next neighbours, each edge rewired to a uniform
+ * random vertex with probability beta.
+ * Edges are produced in fixed blocks of vertices on a fork/join pool, and handed to the sink in block order with a
+ * bounded number of blocks in flight. Block boundaries and block seeds depend only on the model and the seed, so the
+ * same seed gives the same edge stream for any number of threads. Every edge gets an integer weight drawn uniformly
+ * from 1..maxWeight, 1 by default.
+ * The streams have no self loops. erdosRenyi and barabasiAlbert have no duplicate edges, rewired wattsStrogatz edges
+ * may repeat an edge, which the builder and the loaders keep once.
+ *
+ * @author venky
+ */
+public class GraphGenerator {
+    /**
+     * expected edges produced by one task.
+     */
+    private static final int BLOCK_EDGES = 1 << 18;
+
+    private final ForkJoinPool pool;
+    private final long seed;
+    private int maxWeight = 1;
+
+    /**
+     * Instantiates a new GraphGenerator on the common pool.
+     *
+     * @param seed
+     *         seed of the edge stream
+     */
+    public GraphGenerator(long seed) {
+        this (ForkJoinPool.commonPool (), seed);
+    }
+
+    /**
+     * Instantiates a new GraphGenerator.
+     *
+     * @param pool
+     *         the pool to generate on
+     * @param seed
+     *         seed of the edge stream
+     */
+    public GraphGenerator(ForkJoinPool pool, long seed) {
+        this.pool = pool;
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the largest edge weight, weights are uniform in 1..maxWeight.
+     * Throws IllegalArgumentException if maxWeight is less than 1.
+     *
+     * @param maxWeight
+     *         the largest weight
+     */
+    public void setMaxWeight(int maxWeight) {
+        if ( maxWeight < 1 ) {
+            throw new IllegalArgumentException ("Weight must be at least 1");
+        }
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Builds G(n, p).
+     * Runtime - O(n + e)
+     *
+     * @param n
+     *         number of vertices
+     * @param p
+     *         edge probability
+     *
+     * @return CSR snapshot of the graph
+     */
+    public CsrGraph<Integer> erdosRenyi(int n, double p) {
+        CsrBuilder builder = new CsrBuilder (n, capacity (p * pairs (n)));
+        erdosRenyi (n, p, builder::addEdges);
+        return builder.build (identity (n));
+    }
+
+    /**
+     * Streams G(n, p) to a sink, every edge as (v, w) with w less than v.
+     * Throws IllegalArgumentException if n is negative or p is not in [0, 1].
+     * Runtime - O(n + e)
+     *
+     * @param n
+     *         number of vertices
+     * @param p
+     *         edge probability
+     * @param sink
+     *         receives the edges
+     */
+    public void erdosRenyi(int n, double p, EdgeSink sink) {
+        if ( n < 0 || !(p >= 0 && p <= 1) ) {
+            throw new IllegalArgumentException ("Invalid vertex count or edge probability");
+        }
+        if ( p == 0 || n < 2 ) {
+            return;
+        }
+        // cut the rows so that every block holds about BLOCK_EDGES expected edges, row v has v pairs
+        double blockPairs = Math.max (1, BLOCK_EDGES / p);
+        IntArray bounds = new IntArray ();
+        bounds.add (1);
+        long row = 1;
+        while ( row < n ) {
+            double target = ( double ) row * (row - 1) + 2 * blockPairs;
+            long next = ( long ) Math.ceil ((1 + Math.sqrt (1 + 4 * target)) / 2);
+            row = Math.min (n, Math.max (row + 1, next));
+            bounds.add (( int ) row);
+        }
+        double logQ = Math.log1p (-p);
+        stream (bounds.size - 1, (block, random, out) -> {
+            long last = bounds.values[block + 1];
+            long v = bounds.values[block];
+            long w = -1;
+            while ( true ) {
+                // gap to the next edge is geometric
+                long skip = p == 1 ? 0 : ( long ) Math.min (Math.log1p (-random.nextDouble ()) / logQ, 1L << 62);
+                w += 1 + skip;
+                while ( w >= v && v < last ) {
+                    w -= v;
+                    v++;
+                }
+                if ( v >= last ) {
+                    break;
+                }
+                out.add (( int ) v, ( int ) w, weight (random));
+            }
+        }, sink);
+    }
+
+    /**
+     * Builds a Barabasi-Albert graph.
+     * Runtime - O(n * m log m)
+     *
+     * @param n
+     *         number of vertices
+     * @param m
+     *         edges added with every vertex
+     *
+     * @return CSR snapshot of the graph
+     */
+    public CsrGraph<Integer> barabasiAlbert(int n, int m) {
+        CsrBuilder builder = new CsrBuilder (n, capacity (( double ) n * m));
+        barabasiAlbert (n, m, builder::addEdges);
+        return builder.build (identity (n));
+    }
+
+    /**
+     * Streams a Barabasi-Albert graph to a sink, every edge as (v, w) with w less than v.
+     * Vertex v draws m endpoint slots. Slots that land on v itself or repeat an earlier pick of v are dropped, so the
+     * first vertices get fewer than m edges and the edge count is a little under n * m.
+     * Throws IllegalArgumentException if n is negative, m is less than 1 or n * m doesn't fit an int.
+     * Runtime - O(n * m log m)
+     *
+     * @param n
+     *         number of vertices
+     * @param m
+     *         edges added with every vertex
+     * @param sink
+     *         receives the edges
+     */
+    public void barabasiAlbert(int n, int m, EdgeSink sink) {
+        if ( n < 0 || m < 1 || ( long ) n * m > Integer.MAX_VALUE ) {
+            throw new IllegalArgumentException ("Invalid vertex count or edges per vertex");
+        }
+        int blockVertices = Math.max (1, BLOCK_EDGES / m);
+        int blocks = ( int ) ((n + ( long ) blockVertices - 1) / blockVertices);
+        stream (blocks, (block, random, out) -> {
+            int[] picks = new int[m];
+            int last = ( int ) Math.min (n, ( long ) (block + 1) * blockVertices);
+            for ( int v = block * blockVertices ; v < last ; v++ ) {
+                int count = 0;
+                for ( int j = 0 ; j < m ; j++ ) {
+                    int target = endpoint (2 * (( long ) v * m + j) + 1, m);
+                    if ( target != v ) {
+                        picks[count++] = target;
+                    }
+                }
+                Arrays.sort (picks, 0, count);
+                for ( int j = 0 ; j < count ; j++ ) {
+                    if ( j == 0 || picks[j] != picks[j - 1] ) {
+                        out.add (v, picks[j], weight (random));
+                    }
+                }
+            }
+        }, sink);
+    }
+
+    /**
+     * Builds a Watts-Strogatz graph.
+     * Runtime - O(n * k)
+     *
+     * @param n
+     *         number of vertices
+     * @param k
+     *         lattice degree
+     * @param beta
+     *         rewiring probability
+     *
+     * @return CSR snapshot of the graph
+     */
+    public CsrGraph<Integer> wattsStrogatz(int n, int k, double beta) {
+        CsrBuilder builder = new CsrBuilder (n, capacity (( double ) n * (k / 2)));
+        wattsStrogatz (n, k, beta, builder::addEdges);
+        return builder.build (identity (n));
+    }
+
+    /**
+     * Streams a Watts-Strogatz graph to a sink. Vertex v links to v + 1 .. v + k / 2 around the ring, and every such
+     * edge independently moves its far end to a uniform random vertex other than v with probability beta.
+     * Throws IllegalArgumentException if k is odd or not in [2, n) or beta is not in [0, 1].
+     * Runtime - O(n * k)
+     *
+     * @param n
+     *         number of vertices
+     * @param k
+     *         lattice degree
+     * @param beta
+     *         rewiring probability
+     * @param sink
+     *         receives the edges
+     */
+    public void wattsStrogatz(int n, int k, double beta, EdgeSink sink) {
+        if ( k < 2 || k % 2 != 0 || k >= n || ( long ) n * (k / 2) > Integer.MAX_VALUE || !(beta >= 0 && beta <= 1) ) {
+            throw new IllegalArgumentException ("Invalid lattice degree or rewiring probability");
+        }
+        int half = k / 2;
+        int blockVertices = Math.max (1, BLOCK_EDGES / half);
+        int blocks = ( int ) ((n + ( long ) blockVertices - 1) / blockVertices);
+        stream (blocks, (block, random, out) -> {
+            int last = ( int ) Math.min (n, ( long ) (block + 1) * blockVertices);
+            for ( int v = block * blockVertices ; v < last ; v++ ) {
+                for ( int j = 1 ; j <= half ; j++ ) {
+                    int target = ( int ) ((( long ) v + j) % n);
+                    if ( beta > 0 && random.nextDouble () < beta ) {
+                        target = random.nextInt (n - 1);
+                        if ( target >= v ) {
+                            target++;
+                        }
+                    }
+                    out.add (v, target, weight (random));
+                }
+            }
+        }, sink);
+    }
+
+    private double weight(SplittableRandom random) {
+        return this.maxWeight == 1 ? 1 : 1 + random.nextInt (this.maxWeight);
+    }
+
+    /**
+     * Vertex in endpoint slot pos of the copy model. Slot 2i holds the source of edge i, vertex i / m, slot 2i + 1
+     * copies a uniform slot below it, chosen by hashing the slot.
+     */
+    private int endpoint(long pos, int m) {
+        while ( (pos & 1) == 1 ) {
+            long h = mix (this.seed + pos * 0x9E3779B97F4A7C15L);
+            pos = ((h >>> 32) * pos) >>> 32;
+        }
+        return ( int ) (pos / 2 / m);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Generates the blocks on the pool and feeds them to the sink in order, with at most a few blocks per thread
+     * held in memory.
+     */
+    private void stream(int blocks, BlockGenerator generator, EdgeSink sink) {
+        SplittableRandom root = new SplittableRandom (this.seed);
+        int window = this.pool.getParallelism () * 4;
+        ArrayDeque<ForkJoinTask<EdgeBlock>> inFlight = new ArrayDeque<> ();
+        for ( int b = 0 ; b < blocks ; b++ ) {
+            int block = b;
+            SplittableRandom random = root.split ();
+            inFlight.add (this.pool.submit (() -> {
+                EdgeBlock out = new EdgeBlock ();
+                generator.generate (block, random, out);
+                return out;
+            }));
+            if ( inFlight.size () >= window ) {
+                flush (inFlight.poll (), sink);
+            }
+        }
+        while ( !inFlight.isEmpty () ) {
+            flush (inFlight.poll (), sink);
+        }
+    }
+
+    private static void flush(ForkJoinTask<EdgeBlock> task, EdgeSink sink) {
+        EdgeBlock edges;
+        try {
+            edges = task.join ();
+        } catch ( RuntimeException e ) {
+            throw e.getCause () instanceof RuntimeException ? ( RuntimeException ) e.getCause () : e;
+        }
+        sink.addEdges (edges.u, edges.v, edges.w, edges.size);
+    }
+
+    private static long pairs(int n) {
+        return ( long ) n * (n - 1) / 2;
+    }
+
+    private static int capacity(double expectedEdges) {
+        return ( int ) Math.min (Integer.MAX_VALUE - 8, expectedEdges);
+    }
+
+    private static IntList identity(int n) {
+        int[] ids = new int[n];
+        for ( int i = 0 ; i < n ; i++ ) {
+            ids[i] = i;
+        }
+        return new IntList (ids);
+    }
+
+    /**
+     * Produces the edges of one block.
+     */
+    private interface BlockGenerator {
+        void generate(int block, SplittableRandom random, EdgeBlock out);
+    }
+
+    /**
+     * Growable int array.
+     */
+    private static class IntArray {
+        int[] values = new int[16];
+        int size = 0;
+
+        void add(int value) {
+            if ( this.size == this.values.length ) {
+                this.values = Arrays.copyOf (this.values, this.size * 2);
+            }
+            this.values[this.size++] = value;
+        }
+
+    }
+
+    /**
+     * Growable block of weighted edges.
+     */
+    private static class EdgeBlock {
+        int[] u = new int[1024];
+        int[] v = new int[1024];
+        double[] w = new double[1024];
+        int size = 0;
+
+        void add(int src, int dest, double weight) {
+            if ( this.size == this.u.length ) {
+                this.u = Arrays.copyOf (this.u, this.size * 2);
+                this.v = Arrays.copyOf (this.v, this.size * 2);
+                this.w = Arrays.copyOf (this.w, this.size * 2);
+            }
+            this.u[this.size] = src;
+            this.v[this.size] = dest;
+            this.w[this.size++] = weight;
+        }
+    }
+}
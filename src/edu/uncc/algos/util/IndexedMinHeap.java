@@ -0,0 +1,185 @@
+package edu.uncc.algos.util;
+
+import java.util.Arrays;
+
+/**
+ * A 4-ary indexed min-heap of int items 0..capacity-1 with double keys.
+ * Every item is in the heap at most once, its slot is tracked so that decreaseKey moves it in place instead of
+ * inserting a duplicate. Items, keys and slots live in primitive arrays allocated once, so no operation allocates.
+ * Keys are compared with Double.compare semantics for non-negative values, fractional keys are ordered exactly.
+ * This implementation is not thread safe.
+ *
+ * Instance Methods -
+ * 1. public void insert(int item, double key) - Adds an item, IllegalArgumentException if it is already queued.
+ * 2. public void decreaseKey(int item, double key) - Lowers the key of a queued item.
+ * 3. public int poll() - Removes and returns the item with the smallest key.
+ * 4. public boolean contains(int item) / public boolean isEmpty() / public int size()
+ *
+ * @author venky
+ */
+public class IndexedMinHeap {
+    private static final int ARITY = 4;
+
+    /**
+     * heap[i] is the item in slot i.
+     */
+    private final int[] heap;
+    /**
+     * slot[item] is the slot of item, -1 when it is not queued.
+     */
+    private final int[] slot;
+    private final double[] keys;
+    private int size = 0;
+
+    /**
+     * Instantiates a new IndexedMinHeap.
+     *
+     * @param capacity
+     *         items are 0..capacity-1
+     */
+    public IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.slot = new int[capacity];
+        this.keys = new double[capacity];
+        Arrays.fill (this.slot, -1);
+    }
+
+    /**
+     * Adds an item.
+     * Throws IllegalArgumentException if item is already queued.
+     * Runtime - O(log n)
+     *
+     * @param item
+     *         the item
+     * @param key
+     *         its key
+     */
+    public void insert(int item, double key) {
+        if ( this.slot[item] >= 0 ) {
+            throw new IllegalArgumentException ("Item " + item + " is already queued");
+        }
+        this.keys[item] = key;
+        this.heap[this.size] = item;
+        this.slot[item] = this.size;
+        siftUp (this.size++);
+    }
+
+    /**
+     * Lowers the key of a queued item. A key that is not lower is ignored.
+     * Runtime - O(log n)
+     *
+     * @param item
+     *         the item
+     * @param key
+     *         its new key
+     */
+    public void decreaseKey(int item, double key) {
+        if ( key < this.keys[item] ) {
+            this.keys[item] = key;
+            siftUp (this.slot[item]);
+        }
+    }
+
+    /**
+     * Removes the item with the smallest key.
+     * Throws IllegalStateException if the heap is empty.
+     * Runtime - O(log n)
+     *
+     * @return the item
+     */
+    public int poll() {
+        if ( this.size == 0 ) {
+            throw new IllegalStateException ("Heap is empty");
+        }
+        int top = this.heap[0];
+        this.slot[top] = -1;
+        int last = this.heap[--this.size];
+        if ( this.size > 0 ) {
+            this.heap[0] = last;
+            this.slot[last] = 0;
+            siftDown (0);
+        }
+        return top;
+    }
+
+    /**
+     * Key of an item, valid while it is queued and right after it is polled.
+     *
+     * @param item
+     *         the item
+     *
+     * @return its key
+     */
+    public double key(int item) {
+        return this.keys[item];
+    }
+
+    public boolean contains(int item) {
+        return this.slot[item] >= 0;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Removes every item.
+     * Runtime - O(size)
+     */
+    public void clear() {
+        for ( int i = 0 ; i < this.size ; i++ ) {
+            this.slot[this.heap[i]] = -1;
+        }
+        this.size = 0;
+    }
+
+    private void siftUp(int i) {
+        int item = this.heap[i];
+        double key = this.keys[item];
+        while ( i > 0 ) {
+            int parent = (i - 1) / ARITY;
+            int p = this.heap[parent];
+            if ( this.keys[p] <= key ) {
+                break;
+            }
+            this.heap[i] = p;
+            this.slot[p] = i;
+            i = parent;
+        }
+        this.heap[i] = item;
+        this.slot[item] = i;
+    }
+
+    private void siftDown(int i) {
+        int item = this.heap[i];
+        double key = this.keys[item];
+        while ( true ) {
+            int first = i * ARITY + 1;
+            if ( first >= this.size ) {
+                break;
+            }
+            int last = Math.min (first + ARITY, this.size);
+            int min = first;
+            double minKey = this.keys[this.heap[first]];
+            for ( int c = first + 1 ; c < last ; c++ ) {
+                double k = this.keys[this.heap[c]];
+                if ( k < minKey ) {
+                    min = c;
+                    minKey = k;
+                }
+            }
+            if ( minKey >= key ) {
+                break;
+            }
+            this.heap[i] = this.heap[min];
+            this.slot[this.heap[i]] = i;
+            i = min;
+        }
+        this.heap[i] = item;
+        this.slot[item] = i;
+    }
+}
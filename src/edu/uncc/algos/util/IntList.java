@@ -0,0 +1,25 @@
+package edu.uncc.algos.util;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list view of an int array of vertex ids, boxes on access only.
+ *
+ * @author venky
+ */
+class IntList extends AbstractList<Integer> implements RandomAccess {
+    private final int[] values;
+
+    IntList(int[] values) {
+        this.values = values;
+    }
+
+    @Override public Integer get(int index) {
+        return this.values[index];
+    }
+
+    @Override public int size() {
+        return this.values.length;
+    }
+}
@@ -1,5 +1,6 @@
 package edu.uncc.algos.util;
 
+import edu.uncc.algos.graph.weighted.CsrGraph;
 import edu.uncc.algos.graph.weighted.Graph;
 import edu.uncc.algos.graph.weighted.UndirectedGraph;
 import org.jfree.chart.ChartFactory;
@@ -17,6 +18,8 @@ import javax.swing.*;
 import java.awt.*;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.text.DecimalFormat;
 import java.util.HashMap;
 import java.util.Scanner;
@@ -32,6 +35,10 @@ public class TopologyUtil {
         return result;
     }
 
+    /**
+     * Shows the degree -> node count chart in a window, on the Swing event thread. Needs a display, see
+     * ChartRenderer to write charts to files instead.
+     */
     public static void scaleFreeRandomGraph(HashMap<Integer, Integer> degreeNodes, String title, String xLabel,
                                        String yLabel){
         SwingUtilities.invokeLater(() -> {
@@ -42,8 +49,6 @@ public class TopologyUtil {
     }
 
     public static UndirectedGraph<Integer> loadGraph(int graphId) throws FileNotFoundException{
-        UndirectedGraph<Integer> graph = new UndirectedGraph<> ();
-
         // construct file url
         //String fileUrl = "resources/graph"+1+".txt";
 
@@ -54,21 +59,52 @@ public class TopologyUtil {
         String fileUrlNode = "resources/GraphNodes"+graphId+".txt";
         String fileUrlEdge = "resources/GraphEdges"+graphId+".txt";
 
+        return loadGraph (new File (fileUrlNode), new File (fileUrlEdge));
+    }
+
+    /**
+     * Loads graph graphId straight into a CSR snapshot with the parallel EdgeListParser. The snapshot is the same as
+     * loadGraph(graphId).freeze(), without building the hash based graph first.
+     *
+     * @param graphId
+     *         id of the graph in resources
+     *
+     * @return the snapshot
+     *
+     * @throws IOException
+     *         if a file can't be read
+     */
+    public static CsrGraph<Integer> loadCsrGraph(int graphId) throws IOException {
+        return new EdgeListParser ().load (Paths.get ("resources/GraphNodes" + graphId + ".txt"),
+                Paths.get ("resources/GraphEdges" + graphId + ".txt"));
+    }
+
+    /**
+     * Loads a graph from a node file, one vertex per line, and an edge file, one "src dest [weight]" per line.
+     *
+     * @param nodeFile
+     *         the node file
+     * @param edgeFile
+     *         the edge file
+     *
+     * @return the graph
+     *
+     * @throws FileNotFoundException
+     *         if either file doesn't exist
+     */
+    public static UndirectedGraph<Integer> loadGraph(File nodeFile, File edgeFile) throws FileNotFoundException{
+        UndirectedGraph<Integer> graph = new UndirectedGraph<> ();
 
-        File graphFile = new File (fileUrlNode);
-        String filePath = graphFile.getPath ();
         Scanner sc = null;
         try {
-            sc= new Scanner (graphFile);
+            sc= new Scanner (nodeFile);
         }catch ( FileNotFoundException e ){
             throw new FileNotFoundException ("Invalid file path");
         }
 
-        File graphFile1 = new File (fileUrlEdge);
-        String filePath1 = graphFile.getPath ();
         Scanner sc1 = null;
         try {
-            sc1= new Scanner (graphFile1);
+            sc1= new Scanner (edgeFile);
         }catch ( FileNotFoundException e ){
             throw new FileNotFoundException ("Invalid file path");
         }
@@ -0,0 +1,192 @@
+package edu.uncc.algos.util;
+
+import java.util.Arrays;
+
+/**
+ * Disjoint-set forest over the dense ids 0..n-1, for connected components.
+ * Union by rank keeps every tree O(log n) deep and find compresses the path it walks, so a sequence of m unions and
+ * finds takes O(m alpha(n)), constant time per edge in practice. Parents are an int array and ranks a byte array, five
+ * bytes per vertex and nothing per edge.
+ * A UnionFind is an EdgeSink, so it can be fed the edge blocks of a loader or a generator as they stream past, and
+ * the components are known as soon as the last edge is in. Edge directions and weights are ignored.
+ * This implementation is not thread safe.
+ *
+ * Instance Methods -
+ * 1. public int find(int x) - Returns the representative of the set of x.
+ * 2. public boolean union(int a, int b) - Merges the sets of a and b.
+ * 3. public boolean connected(int a, int b) - Checks if a and b are in the same set.
+ * 4. public int count() - Returns the number of sets.
+ * 5. public int[] labels() - Returns a dense set id for every element.
+ *
+ * @author venky
+ */
+public class UnionFind implements EdgeSink {
+    private int[] parent;
+    private byte[] rank;
+    private int size;
+    private int count;
+
+    /**
+     * Instantiates a new empty UnionFind, see grow.
+     */
+    public UnionFind() {
+        this (0);
+    }
+
+    /**
+     * Instantiates a new UnionFind of n singleton sets.
+     *
+     * @param n
+     *         number of elements
+     */
+    public UnionFind(int n) {
+        this.parent = new int[0];
+        this.rank = new byte[0];
+        grow (n);
+    }
+
+    /**
+     * Adds singleton sets until there are n elements, does nothing if there are n or more already.
+     * Runtime - O(n) amortized
+     *
+     * @param n
+     *         number of elements
+     */
+    public void grow(int n) {
+        if ( n <= this.size ) {
+            return;
+        }
+        if ( n > this.parent.length ) {
+            int capacity = ( int ) Math.min (Integer.MAX_VALUE - 8, Math.max (n, this.parent.length * 3L / 2));
+            this.parent = Arrays.copyOf (this.parent, capacity);
+            this.rank = Arrays.copyOf (this.rank, capacity);
+        }
+        for ( int x = this.size ; x < n ; x++ ) {
+            this.parent[x] = x;
+        }
+        this.count += n - this.size;
+        this.size = n;
+    }
+
+    /**
+     * Returns the representative of the set of x, and points every element on the way straight at it.
+     * Throws IndexOutOfBoundsException if x is not an element.
+     *
+     * @param x
+     *         the element
+     *
+     * @return the representative
+     *         runtime O(alpha(n)) amortized
+     */
+    public int find(int x) {
+        if ( x < 0 || x >= this.size ) {
+            throw new IndexOutOfBoundsException ("Invalid vertex " + x);
+        }
+        int root = x;
+        while ( this.parent[root] != root ) {
+            root = this.parent[root];
+        }
+        while ( this.parent[x] != root ) {
+            int next = this.parent[x];
+            this.parent[x] = root;
+            x = next;
+        }
+        return root;
+    }
+
+    /**
+     * Merges the sets of a and b, the root of lower rank goes under the other.
+     *
+     * @param a
+     *         an element
+     * @param b
+     *         another element
+     *
+     * @return true if a and b were in different sets
+     *         runtime O(alpha(n)) amortized
+     */
+    public boolean union(int a, int b) {
+        int x = find (a), y = find (b);
+        if ( x == y ) {
+            return false;
+        }
+        if ( this.rank[x] < this.rank[y] ) {
+            this.parent[x] = y;
+        } else {
+            this.parent[y] = x;
+            if ( this.rank[x] == this.rank[y] ) {
+                this.rank[x]++;
+            }
+        }
+        this.count--;
+        return true;
+    }
+
+    /**
+     * Checks if a and b are in the same set.
+     *
+     * @return true if connected
+     *         runtime O(alpha(n)) amortized
+     */
+    public boolean connected(int a, int b) {
+        return find (a) == find (b);
+    }
+
+    /**
+     * Unions the end points of every edge of a block.
+     *
+     * @param u
+     *         dense source ids
+     * @param v
+     *         dense destination ids
+     * @param w
+     *         weights, ignored
+     * @param count
+     *         number of edges in the block
+     */
+    @Override public void addEdges(int[] u, int[] v, double[] w, int count) {
+        for ( int i = 0 ; i < count ; i++ ) {
+            union (u[i], v[i]);
+        }
+    }
+
+    /**
+     * Number of elements.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Number of disjoint sets.
+     *
+     * @return the count
+     *         runtime O(1)
+     */
+    public int count() {
+        return this.count;
+    }
+
+    /**
+     * Dense set ids 0..count()-1 for every element, sets numbered in the order of their smallest element.
+     * Runtime - O(n alpha(n))
+     *
+     * @return the set id of every element
+     */
+    public int[] labels() {
+        int[] labels = new int[this.size];
+        int[] ids = new int[this.size];
+        Arrays.fill (ids, -1);
+        int next = 0;
+        for ( int x = 0 ; x < this.size ; x++ ) {
+            int root = find (x);
+            if ( ids[root] < 0 ) {
+                ids[root] = next++;
+            }
+            labels[x] = ids[root];
+        }
+        return labels;
+    }
+}